@@ -19,24 +19,46 @@ package io.shardingsphere.shardingjdbc.orchestration.spring.boot;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import io.shardingsphere.shardingjdbc.orchestration.spring.boot.common.SpringBootConfigMapConfigurationProperties;
 import io.shardingsphere.shardingjdbc.orchestration.spring.boot.common.SpringBootPropertiesConfigurationProperties;
 import io.shardingsphere.shardingjdbc.orchestration.spring.boot.masterslave.SpringBootMasterSlaveRuleConfigurationProperties;
+import io.shardingsphere.shardingjdbc.orchestration.spring.boot.orchestration.RegistryRuleTypeProbe;
 import io.shardingsphere.shardingjdbc.orchestration.spring.boot.orchestration.SpringBootOrchestrationConfigurationProperties;
 import io.shardingsphere.shardingjdbc.orchestration.spring.boot.sharding.SpringBootShardingRuleConfigurationProperties;
-import io.shardingsphere.shardingjdbc.orchestration.spring.boot.util.PropertyUtil;
+import io.shardingsphere.shardingjdbc.orchestration.spring.datasource.OrchestrationDataSourceCreator;
+import io.shardingsphere.shardingjdbc.orchestration.spring.datasource.OrchestrationSnapshotDataSource;
+import io.shardingsphere.shardingjdbc.orchestration.spring.datasource.OrchestrationSnapshotDataSourceFactory;
+import io.shardingsphere.shardingjdbc.orchestration.spring.datasource.SpringOrchestrationDataSourceCreator;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.MemoryRegistryCenter;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.RegistryCenterLoader;
+import io.shardingsphere.shardingjdbc.orchestration.spring.snapshot.RegistryConfigurationSnapshot;
+import io.shardingsphere.shardingjdbc.orchestration.spring.snapshot.RegistryConfigurationSnapshotKeeper;
+import io.shardingsphere.spring.boot.util.DataSourceMapFactory;
+import io.shardingsphere.spring.boot.util.DataSourcePoolMetrics;
+import io.shardingsphere.spring.boot.util.LazyInitDataSource;
+import io.shardingsphere.spring.boot.util.PropertyUtil;
+import io.shardingsphere.spring.boot.util.endpoint.ShardingEndpoint;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.shardingsphere.core.constant.ShardingConstant;
-import org.apache.shardingsphere.core.exception.ShardingException;
 import org.apache.shardingsphere.core.rule.ShardingRule;
 import org.apache.shardingsphere.core.util.InlineExpressionParser;
-import org.apache.shardingsphere.orchestration.internal.registry.ShardingOrchestrationFacade;
 import org.apache.shardingsphere.shardingjdbc.jdbc.core.datasource.MasterSlaveDataSource;
 import org.apache.shardingsphere.shardingjdbc.jdbc.core.datasource.ShardingDataSource;
 import org.apache.shardingsphere.shardingjdbc.orchestration.internal.datasource.OrchestrationMasterSlaveDataSource;
 import org.apache.shardingsphere.shardingjdbc.orchestration.internal.datasource.OrchestrationShardingDataSource;
-import org.apache.shardingsphere.shardingjdbc.util.DataSourceUtil;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava.JavaVersion;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -45,6 +67,7 @@ import org.springframework.core.env.StandardEnvironment;
 import org.springframework.util.StringUtils;
 
 import javax.sql.DataSource;
+import java.io.File;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -63,10 +86,17 @@ import java.util.Map;
         SpringBootConfigMapConfigurationProperties.class, SpringBootPropertiesConfigurationProperties.class, 
         SpringBootOrchestrationConfigurationProperties.class})
 @RequiredArgsConstructor
-public class OrchestrationSpringBootConfiguration implements EnvironmentAware {
+@Slf4j
+public class OrchestrationSpringBootConfiguration implements EnvironmentAware, ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+    
+    private static final long DEFAULT_PARALLEL_INIT_TIMEOUT_MILLISECONDS = 60000L;
     
     private final Map<String, DataSource> dataSourceMap = new LinkedHashMap<>();
     
+    private boolean lazyInitWarmUp;
+    
+    private RegistryConfigurationSnapshotKeeper snapshotKeeper;
+    
     private final SpringBootShardingRuleConfigurationProperties shardingProperties;
     
     private final SpringBootMasterSlaveRuleConfigurationProperties masterSlaveProperties;
@@ -86,7 +116,11 @@ public class OrchestrationSpringBootConfiguration implements EnvironmentAware {
     @Bean
     public DataSource dataSource() throws SQLException {
         Preconditions.checkState(isValidConfiguration(), "The orchestration configuration is invalid, please choose one from Sharding rule and Master-slave rule.");
-        return isShardingRule() ? createShardingDataSource() : createMasterSlaveDataSource();
+        try {
+            return isShardingRule() ? createShardingDataSource() : createMasterSlaveDataSource();
+        } finally {
+            finishBootstrap();
+        }
     }
     
     private boolean isValidConfiguration() {
@@ -111,42 +145,132 @@ public class OrchestrationSpringBootConfiguration implements EnvironmentAware {
     }
     
     private boolean isShardingRuleByRegistry() {
-        try (ShardingOrchestrationFacade shardingOrchestrationFacade = new ShardingOrchestrationFacade(
-                orchestrationProperties.getOrchestrationConfiguration(), Collections.singletonList(ShardingConstant.LOGIC_SCHEMA_NAME))) {
-            return shardingOrchestrationFacade.getConfigService().isShardingRule(ShardingConstant.LOGIC_SCHEMA_NAME);
+        if (!Strings.isNullOrEmpty(orchestrationProperties.getRuleType())) {
+            return RegistryRuleTypeProbe.isShardingRuleType(orchestrationProperties.getRuleType());
+        }
+        RegistryConfigurationSnapshot snapshot = loadSnapshot();
+        if (null != snapshot && snapshot.isComplete()) {
+            return snapshot.isShardingRule();
         }
+        log.info("Probe rule type from registry center with an extra connection, set sharding.jdbc.config.orchestration.rule-type to skip it");
+        return RegistryRuleTypeProbe.isShardingRule(orchestrationProperties.getOrchestrationConfiguration(), ShardingConstant.LOGIC_SCHEMA_NAME);
     }
     
     private DataSource createShardingDataSource() throws SQLException {
         if (shardingProperties.getTables().isEmpty()) {
-            return new OrchestrationShardingDataSource(orchestrationProperties.getOrchestrationConfiguration());
+            return createOrchestrationDataSource(new SpringOrchestrationDataSourceCreator(true, null, orchestrationProperties.getOrchestrationConfiguration(), orchestrationProperties.getChangeDebounceMilliseconds()));
         }
         ShardingDataSource shardingDataSource = new ShardingDataSource(
                 dataSourceMap, new ShardingRule(shardingProperties.getShardingRuleConfiguration(), dataSourceMap.keySet()), configMapProperties.getConfigMap(), propProperties.getProps());
-        return new OrchestrationShardingDataSource(shardingDataSource, orchestrationProperties.getOrchestrationConfiguration());
+        return createOrchestrationDataSource(new SpringOrchestrationDataSourceCreator(true, shardingDataSource, orchestrationProperties.getOrchestrationConfiguration(), orchestrationProperties.getChangeDebounceMilliseconds()));
     }
     
     private DataSource createMasterSlaveDataSource() throws SQLException {
         if (Strings.isNullOrEmpty(masterSlaveProperties.getMasterDataSourceName())) {
-            return new OrchestrationMasterSlaveDataSource(orchestrationProperties.getOrchestrationConfiguration());
+            return createOrchestrationDataSource(new SpringOrchestrationDataSourceCreator(false, null, orchestrationProperties.getOrchestrationConfiguration(), orchestrationProperties.getChangeDebounceMilliseconds()));
         }
         MasterSlaveDataSource masterSlaveDataSource = new MasterSlaveDataSource(
                 dataSourceMap, masterSlaveProperties.getMasterSlaveRuleConfiguration(), configMapProperties.getConfigMap(), propProperties.getProps());
-        return new OrchestrationMasterSlaveDataSource(masterSlaveDataSource, orchestrationProperties.getOrchestrationConfiguration());
+        return createOrchestrationDataSource(
+                new SpringOrchestrationDataSourceCreator(false, masterSlaveDataSource, orchestrationProperties.getOrchestrationConfiguration(), orchestrationProperties.getChangeDebounceMilliseconds()));
+    }
+    
+    private DataSource createOrchestrationDataSource(final OrchestrationDataSourceCreator orchestrationDataSourceCreator) throws SQLException {
+        if (Strings.isNullOrEmpty(orchestrationProperties.getSnapshotFile())) {
+            return orchestrationDataSourceCreator.create();
+        }
+        snapshotKeeper = new RegistryConfigurationSnapshotKeeper(orchestrationProperties.getOrchestrationConfiguration(), new File(orchestrationProperties.getSnapshotFile()));
+        return OrchestrationSnapshotDataSourceFactory.createDataSource(orchestrationDataSourceCreator, isValidRuleConfiguration(), snapshotKeeper);
+    }
+    
+    private RegistryConfigurationSnapshot loadSnapshot() {
+        return Strings.isNullOrEmpty(orchestrationProperties.getSnapshotFile()) ? null : RegistryConfigurationSnapshot.load(new File(orchestrationProperties.getSnapshotFile()));
+    }
+    
+    @Override
+    public final void destroy() {
+        if (null != snapshotKeeper) {
+            snapshotKeeper.close();
+        }
     }
     
     @Override
     public final void setEnvironment(final Environment environment) {
+        if (null != orchestrationProperties.getRegistry()) {
+            if (MemoryRegistryCenter.TYPE.equals(environment.getProperty("sharding.jdbc.config.orchestration.registry.type"))) {
+                orchestrationProperties.getRegistry().setServerLists(MemoryRegistryCenter.getServerLists(orchestrationProperties.getRegistry().getServerLists()));
+            }
+            RegistryCenterLoader.checkSelectable(orchestrationProperties.getRegistry().getServerLists());
+        }
         String prefix = "sharding.jdbc.datasource.";
-        for (String each : getDataSourceNames(environment, prefix)) {
-            try {
-                dataSourceMap.put(each, getDataSource(environment, prefix, each));
-            } catch (final ReflectiveOperationException ex) {
-                throw new ShardingException("Can't find datasource type!", ex);
+        boolean defaultLazyInit = environment.getProperty(prefix + LazyInitDataSource.LAZY_INIT_KEY, Boolean.class, false);
+        lazyInitWarmUp = environment.getProperty(prefix + "lazy-init-warm-up", Boolean.class, false);
+        List<String> dataSourceNames = getDataSourceNames(environment, prefix);
+        Map<String, DataSource> lazyInitDataSourceMap = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> allDataSourceProps = PropertyUtil.handleAll(environment, prefix, dataSourceNames);
+        Map<String, Map<String, Object>> dataSourcePropsMap = new LinkedHashMap<>();
+        for (String each : dataSourceNames) {
+            Map<String, Object> dataSourceProps = getDataSourceProps(allDataSourceProps, each);
+            if (LazyInitDataSource.isLazyInit(dataSourceProps, defaultLazyInit)) {
+                lazyInitDataSourceMap.put(each, new LazyInitDataSource(each, dataSourceProps));
+            } else {
+                dataSourcePropsMap.put(each, LazyInitDataSource.removeLazyInit(dataSourceProps));
+            }
+        }
+        Map<String, DataSource> initializedDataSourceMap = environment.getProperty(prefix + "parallel-init.enabled", Boolean.class, false)
+                ? createDataSourceMapInParallel(environment, prefix, dataSourcePropsMap) : DataSourceMapFactory.createDataSourceMap(dataSourcePropsMap);
+        for (String each : dataSourceNames) {
+            dataSourceMap.put(each, lazyInitDataSourceMap.containsKey(each) ? lazyInitDataSourceMap.get(each) : initializedDataSourceMap.get(each));
+        }
+    }
+    
+    /**
+     * Warm up lazy init data sources in background after application is ready if {@code sharding.jdbc.datasource.lazy-init-warm-up} is enabled.
+     * 
+     * @param event application ready event
+     */
+    @Override
+    public final void onApplicationEvent(final ApplicationReadyEvent event) {
+        if (!lazyInitWarmUp) {
+            return;
+        }
+        Thread thread = new Thread(new Runnable() {
+            
+            @Override
+            public void run() {
+                warmUpLazyInitDataSources();
+            }
+        }, "ShardingSphere-datasource-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    private void warmUpLazyInitDataSources() {
+        for (DataSource each : dataSourceMap.values()) {
+            if (each instanceof LazyInitDataSource && !((LazyInitDataSource) each).isInitialized()) {
+                try {
+                    ((LazyInitDataSource) each).warmUp();
+                } catch (final SQLException ex) {
+                    log.warn("Warm up datasource [{}] failed", ((LazyInitDataSource) each).getDataSourceName(), ex);
+                }
+            }
+        }
+    }
+    
+    private void finishBootstrap() {
+        for (DataSource each : dataSourceMap.values()) {
+            if (each instanceof LazyInitDataSource) {
+                ((LazyInitDataSource) each).finishBootstrap();
             }
         }
     }
     
+    private Map<String, DataSource> createDataSourceMapInParallel(final Environment environment, final String prefix, final Map<String, Map<String, Object>> dataSourcePropsMap) {
+        int maxThreads = environment.getProperty(prefix + "parallel-init.max-threads", Integer.class, Runtime.getRuntime().availableProcessors() * 2);
+        long timeoutMilliseconds = environment.getProperty(prefix + "parallel-init.timeout-milliseconds", Long.class, DEFAULT_PARALLEL_INIT_TIMEOUT_MILLISECONDS);
+        return DataSourceMapFactory.createDataSourceMapInParallel(dataSourcePropsMap, maxThreads, timeoutMilliseconds);
+    }
+    
     private List<String> getDataSourceNames(final Environment environment, final String prefix) {
         StandardEnvironment standardEnv = (StandardEnvironment) environment;
         standardEnv.setIgnoreUnresolvableNestedPlaceholders(true);
@@ -157,10 +281,73 @@ public class OrchestrationSpringBootConfiguration implements EnvironmentAware {
         return new InlineExpressionParser(dataSources).splitAndEvaluate();
     }
     
-    @SuppressWarnings("unchecked")
-    private DataSource getDataSource(final Environment environment, final String prefix, final String dataSourceName) throws ReflectiveOperationException {
-        Map<String, Object> dataSourceProps = PropertyUtil.handle(environment, prefix + dataSourceName, Map.class);
-        Preconditions.checkState(!dataSourceProps.isEmpty(), String.format("Wrong datasource [%s] properties!", dataSourceName));
-        return DataSourceUtil.getDataSource(dataSourceProps.get("type").toString(), dataSourceProps);
+    private Map<String, Object> getDataSourceProps(final Map<String, Map<String, Object>> allDataSourceProps, final String dataSourceName) {
+        Map<String, Object> result = allDataSourceProps.get(dataSourceName.trim());
+        Preconditions.checkState(null != result && !result.isEmpty(), String.format("Wrong datasource [%s] properties!", dataSourceName));
+        return result;
+    }
+    
+    /**
+     * Micrometer metrics configuration of connection pools of data sources.
+     */
+    @Configuration
+    @ConditionalOnClass(MeterBinder.class)
+    @ConditionalOnProperty(name = "sharding.jdbc.datasource.metrics.enabled", havingValue = "true", matchIfMissing = true)
+    @RequiredArgsConstructor
+    static class DataSourcePoolMetricsConfiguration {
+        
+        private final OrchestrationSpringBootConfiguration configuration;
+        
+        /**
+         * Get meter binder of connection pools.
+         * 
+         * @return meter binder of connection pools
+         */
+        @Bean
+        public MeterBinder shardingDataSourcePoolMetrics() {
+            return new DataSourcePoolMetrics(configuration.dataSourceMap);
+        }
+    }
+    
+    /**
+     * Actuator endpoint configuration of sharding.
+     */
+    @Configuration
+    @ConditionalOnClass(AbstractEndpoint.class)
+    @ConditionalOnJava(JavaVersion.EIGHT)
+    @RequiredArgsConstructor
+    static class ShardingEndpointConfiguration {
+        
+        private final OrchestrationSpringBootConfiguration configuration;
+        
+        /**
+         * Get actuator endpoint of sharding.
+         * 
+         * @return actuator endpoint of sharding
+         * @throws SQLException SQL Exception
+         */
+        @Bean
+        @ConditionalOnEnabledEndpoint("sharding")
+        public ShardingEndpoint shardingEndpoint() throws SQLException {
+            final DataSource dataSource = configuration.dataSource();
+            return new ShardingEndpoint(configuration.dataSourceMap, new Supplier<DataSource>() {
+                
+                @Override
+                public DataSource get() {
+                    return getActiveDataSource(dataSource);
+                }
+            }, null);
+        }
+        
+        private static DataSource getActiveDataSource(final DataSource dataSource) {
+            DataSource result = dataSource instanceof OrchestrationSnapshotDataSource ? ((OrchestrationSnapshotDataSource) dataSource).getDataSource() : dataSource;
+            if (result instanceof OrchestrationShardingDataSource) {
+                return ((OrchestrationShardingDataSource) result).getDataSource();
+            }
+            if (result instanceof OrchestrationMasterSlaveDataSource) {
+                return ((OrchestrationMasterSlaveDataSource) result).getDataSource();
+            }
+            return result;
+        }
     }
 }
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.boot.orchestration;
+
+import com.google.common.base.Preconditions;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.RegistryCenterLoader;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.RegistryConfigurationNode;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.shardingsphere.orchestration.config.OrchestrationConfiguration;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenter;
+
+
+/**
+ * Read-only probe of rule type persisted in registry center.
+ * 
+ * <p>Unlike {@code ShardingOrchestrationFacade}, probe only initializes a bare registry center and reads rule node once, 
+ * without initializing config service, state service and listeners.</p>
+ *
+ * @author yangyi
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RegistryRuleTypeProbe {
+    
+    public static final String SHARDING_RULE_TYPE = "sharding";
+    
+    public static final String MASTER_SLAVE_RULE_TYPE = "master-slave";
+    
+    /**
+     * Judge whether configured rule type is sharding rule.
+     * 
+     * @param ruleType rule type, {@code sharding} or {@code master-slave}
+     * @return is sharding rule or not
+     * @throws IllegalStateException if rule type is neither sharding nor master-slave
+     */
+    public static boolean isShardingRuleType(final String ruleType) {
+        Preconditions.checkState(SHARDING_RULE_TYPE.equals(ruleType) || MASTER_SLAVE_RULE_TYPE.equals(ruleType), 
+                "Rule type [%s] is invalid, please choose one from [%s] and [%s].", ruleType, SHARDING_RULE_TYPE, MASTER_SLAVE_RULE_TYPE);
+        return SHARDING_RULE_TYPE.equals(ruleType);
+    }
+    
+    /**
+     * Judge whether rule persisted in registry center is sharding rule.
+     * 
+     * @param orchestrationConfig orchestration configuration
+     * @param schemaName schema name
+     * @return is sharding rule or not
+     */
+    public static boolean isShardingRule(final OrchestrationConfiguration orchestrationConfig, final String schemaName) {
+        return isShardingRule(RegistryCenterLoader.load(orchestrationConfig.getRegCenterConfig().getServerLists()), orchestrationConfig, schemaName);
+    }
+    
+    static boolean isShardingRule(final RegistryCenter registryCenter, final OrchestrationConfiguration orchestrationConfig, final String schemaName) {
+        try {
+            registryCenter.init(orchestrationConfig.getRegCenterConfig());
+            return RegistryConfigurationNode.isShardingRule(
+                    registryCenter.getDirectly(RegistryConfigurationNode.getSchemaNodePath(orchestrationConfig.getName(), schemaName, RegistryConfigurationNode.RULE_NODE)));
+        } finally {
+            registryCenter.close();
+        }
+    }
+}
@@ -17,6 +17,8 @@
 
 package io.shardingsphere.shardingjdbc.orchestration.spring.boot.orchestration;
 
+import lombok.Getter;
+import lombok.Setter;
 import org.apache.shardingsphere.orchestration.yaml.YamlOrchestrationConfiguration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -26,5 +28,24 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * @author caohao
  */
 @ConfigurationProperties(prefix = "sharding.jdbc.config.orchestration")
+@Getter
+@Setter
 public class SpringBootOrchestrationConfigurationProperties extends YamlOrchestrationConfiguration {
+    
+    /**
+     * Rule type persisted in registry center, {@code sharding} or {@code master-slave}.
+     * 
+     * <p>If absent and no complete snapshot exists, rule type is probed from registry center with an extra connection at startup.</p>
+     */
+    private String ruleType;
+    
+    /**
+     * Local snapshot file of registry configuration, used to start without registry center if rule is not configured locally.
+     */
+    private String snapshotFile;
+    
+    /**
+     * Window to coalesce registry configuration change events within, change events are applied immediately if not positive.
+     */
+    private long changeDebounceMilliseconds;
 }
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.boot.orchestration;
+
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.MemoryRegistryCenter;
+import org.apache.shardingsphere.orchestration.config.OrchestrationConfiguration;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenter;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenterConfiguration;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class RegistryRuleTypeProbeTest {
+    
+    private static final String RULE_PATH = "/probe_test/config/schema/logic_db/rule";
+    
+    private final OrchestrationConfiguration orchestrationConfig = new OrchestrationConfiguration("probe_test", createRegistryCenterConfiguration(), false);
+    
+    private static RegistryCenterConfiguration createRegistryCenterConfiguration() {
+        RegistryCenterConfiguration result = new RegistryCenterConfiguration();
+        result.setServerLists("memory://probe_test");
+        result.setNamespace("rule_type_probe_test");
+        return result;
+    }
+    
+    @After
+    public void tearDown() {
+        MemoryRegistryCenter.clear();
+    }
+    
+    @Test
+    public void assertIsShardingRule() {
+        persistRule("tables:\n  t_order:\n    actualDataNodes: ds_${0..1}.t_order\n");
+        assertTrue(RegistryRuleTypeProbe.isShardingRule(new MemoryRegistryCenter(), orchestrationConfig, "logic_db"));
+    }
+    
+    @Test
+    public void assertIsNotShardingRuleWithMasterSlaveRule() {
+        persistRule("name: ms_ds\nmasterDataSourceName: master_ds\nslaveDataSourceNames:\n- slave_ds\n");
+        assertFalse(RegistryRuleTypeProbe.isShardingRule(new MemoryRegistryCenter(), orchestrationConfig, "logic_db"));
+    }
+    
+    @Test
+    public void assertIsShardingRuleByServerLists() {
+        persistRule("tables:\n  t_order:\n    actualDataNodes: ds_${0..1}.t_order\n");
+        assertTrue(RegistryRuleTypeProbe.isShardingRule(orchestrationConfig, "logic_db"));
+    }
+    
+    @Test
+    public void assertIsNotShardingRuleWithoutRule() {
+        assertFalse(RegistryRuleTypeProbe.isShardingRule(new MemoryRegistryCenter(), orchestrationConfig, "absent_db"));
+    }
+    
+    @Test
+    public void assertIsShardingRuleType() {
+        assertTrue(RegistryRuleTypeProbe.isShardingRuleType("sharding"));
+        assertFalse(RegistryRuleTypeProbe.isShardingRuleType("master-slave"));
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void assertIsShardingRuleTypeWithInvalidRuleType() {
+        RegistryRuleTypeProbe.isShardingRuleType("sharding-rule");
+    }
+    
+    private void persistRule(final String rule) {
+        RegistryCenter registryCenter = new MemoryRegistryCenter();
+        registryCenter.init(orchestrationConfig.getRegCenterConfig());
+        registryCenter.persist(RULE_PATH, rule);
+        registryCenter.close();
+    }
+}
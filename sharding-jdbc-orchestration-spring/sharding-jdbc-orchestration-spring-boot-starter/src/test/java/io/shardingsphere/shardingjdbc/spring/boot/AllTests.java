@@ -17,6 +17,7 @@
 
 package io.shardingsphere.shardingjdbc.spring.boot;
 
+import io.shardingsphere.shardingjdbc.orchestration.spring.boot.orchestration.RegistryRuleTypeProbeTest;
 import io.shardingsphere.shardingjdbc.spring.boot.type.OrchestrationSpringBootMasterSlaveTest;
 import io.shardingsphere.shardingjdbc.spring.boot.type.OrchestrationSpringBootShardingTest;
 import org.junit.runner.RunWith;
@@ -26,7 +27,8 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         OrchestrationSpringBootMasterSlaveTest.class,
-        OrchestrationSpringBootShardingTest.class 
+        OrchestrationSpringBootShardingTest.class,
+        RegistryRuleTypeProbeTest.class 
     })
 public final class AllTests {
 }
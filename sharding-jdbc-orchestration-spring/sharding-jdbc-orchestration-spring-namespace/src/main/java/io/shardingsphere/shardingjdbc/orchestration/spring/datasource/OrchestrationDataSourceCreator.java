@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.datasource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Creator of orchestration data source.
+ *
+ * @author yangyi
+ */
+public interface OrchestrationDataSourceCreator {
+    
+    /**
+     * Create orchestration data source, which connects to registry center.
+     * 
+     * @return orchestration data source
+     * @throws SQLException SQL exception
+     */
+    DataSource create() throws SQLException;
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.datasource;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalescer of orchestration events.
+ * 
+ * <p>The first event opens a window, and only the latest event of each type received within the window is applied when window closes. 
+ * Events are applied on coalescer thread in the given order of event types, so that registry center event thread is never blocked by rebuild.</p>
+ *
+ * @author yangyi
+ */
+@Slf4j
+public final class OrchestrationEventCoalescer implements AutoCloseable {
+    
+    private final long windowMilliseconds;
+    
+    private final List<Class<?>> eventTypes;
+    
+    private final EventApplier eventApplier;
+    
+    private final Map<Class<?>, Object> pendingEvents = new LinkedHashMap<>();
+    
+    private final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ShardingSphere-orchestration-coalescer-%d").build());
+    
+    public OrchestrationEventCoalescer(final long windowMilliseconds, final Collection<Class<?>> eventTypes, final EventApplier eventApplier) {
+        this.windowMilliseconds = windowMilliseconds;
+        this.eventTypes = new ArrayList<>(eventTypes);
+        this.eventApplier = eventApplier;
+    }
+    
+    /**
+     * Submit event to be applied when window closes.
+     * 
+     * @param event event
+     */
+    public synchronized void submit(final Object event) {
+        boolean windowOpened = !pendingEvents.isEmpty();
+        pendingEvents.put(event.getClass(), event);
+        if (windowOpened) {
+            return;
+        }
+        try {
+            executorService.schedule(new Runnable() {
+                
+                @Override
+                public void run() {
+                    flush();
+                }
+            }, windowMilliseconds, TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException ex) {
+            pendingEvents.clear();
+            log.debug("Orchestration event coalescer is closed, event [{}] is discarded", event.getClass().getSimpleName());
+        }
+    }
+    
+    private void flush() {
+        Map<Class<?>, Object> events;
+        synchronized (this) {
+            events = new LinkedHashMap<>(pendingEvents);
+            pendingEvents.clear();
+        }
+        for (Class<?> each : eventTypes) {
+            Object event = events.remove(each);
+            if (null != event) {
+                apply(event);
+            }
+        }
+        for (Object each : events.values()) {
+            apply(each);
+        }
+    }
+    
+    private void apply(final Object event) {
+        try {
+            eventApplier.apply(event);
+        // CHECKSTYLE:OFF
+        } catch (final RuntimeException ex) {
+            // CHECKSTYLE:ON
+            log.error("Apply orchestration event [{}] failed", event.getClass().getSimpleName(), ex);
+        }
+    }
+    
+    @Override
+    public synchronized void close() {
+        executorService.shutdownNow();
+        pendingEvents.clear();
+    }
+    
+    /**
+     * Applier of orchestration event.
+     */
+    public interface EventApplier {
+        
+        /**
+         * Apply event.
+         * 
+         * @param event event
+         */
+        void apply(Object event);
+    }
+}
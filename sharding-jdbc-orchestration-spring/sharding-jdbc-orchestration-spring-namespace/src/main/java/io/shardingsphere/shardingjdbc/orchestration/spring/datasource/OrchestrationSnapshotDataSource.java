@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.datasource;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.shardingsphere.shardingjdbc.orchestration.spring.snapshot.RegistryConfigurationSnapshot;
+import io.shardingsphere.shardingjdbc.orchestration.spring.snapshot.RegistryConfigurationSnapshotKeeper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Orchestration data source which starts from local snapshot of registry configuration.
+ * 
+ * <p>Data source serves from complete snapshot immediately and reconciles with registry center in background, 
+ * retrying until registry center is available. Snapshot file is refreshed by snapshot keeper after reconciled.</p>
+ * 
+ * <p>Pools created from snapshot are retired when reconciled, and are closed after a drain period of 30 seconds, 
+ * so in-flight connections can finish. Within the drain period both the pools of snapshot and the pools of orchestration data source are open, 
+ * each database may hold up to twice of its configured pool size, size pools and database connection limits for that.</p>
+ * 
+ * <p>Data source created by a reconcile which finishes after {@link #close()} is closed immediately instead of being served.</p>
+ * 
+ * <p>It is only used while serving from snapshot, so it is not an orchestration sharding or master-slave data source itself. 
+ * {@code unwrap} returns the orchestration data source after reconciled.</p>
+ *
+ * @author yangyi
+ */
+@Slf4j
+public final class OrchestrationSnapshotDataSource implements DataSource, AutoCloseable {
+    
+    private static final long RECONCILE_RETRY_INTERVAL_MILLISECONDS = 10000L;
+    
+    private static final long DRAIN_MILLISECONDS = 30000L;
+    
+    private final OrchestrationDataSourceCreator orchestrationDataSourceCreator;
+    
+    private final RegistryConfigurationSnapshotKeeper snapshotKeeper;
+    
+    private final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ShardingSphere-orchestration-snapshot-%d").build());
+    
+    private final Collection<DataSource> retiredDataSources = new CopyOnWriteArrayList<>();
+    
+    private final Object lock = new Object();
+    
+    private boolean closed;
+    
+    @Getter
+    private volatile DataSource dataSource;
+    
+    @Getter
+    private volatile boolean reconciled;
+    
+    public OrchestrationSnapshotDataSource(final OrchestrationDataSourceCreator orchestrationDataSourceCreator, 
+                                           final RegistryConfigurationSnapshot snapshot, final RegistryConfigurationSnapshotKeeper snapshotKeeper) throws SQLException {
+        Preconditions.checkArgument(snapshot.isComplete(), "Registry configuration snapshot is incomplete.");
+        this.orchestrationDataSourceCreator = orchestrationDataSourceCreator;
+        this.snapshotKeeper = snapshotKeeper;
+        dataSource = snapshot.createDataSource();
+        log.info("Orchestration datasource is started from registry configuration snapshot");
+        executorService.execute(new Runnable() {
+            
+            @Override
+            public void run() {
+                reconcile();
+            }
+        });
+    }
+    
+    private void reconcile() {
+        DataSource orchestrationDataSource;
+        try {
+            orchestrationDataSource = orchestrationDataSourceCreator.create();
+        // CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            // CHECKSTYLE:ON
+            log.warn("Reconcile with registry center failed, keep serving from snapshot", ex);
+            scheduleReconcile();
+            return;
+        }
+        if (!swap(orchestrationDataSource)) {
+            log.info("Orchestration datasource is closed while reconciling, close reconciled datasource");
+            closeQuietly(orchestrationDataSource);
+            return;
+        }
+        log.info("Orchestration datasource is reconciled with registry center, datasource of snapshot is closed after {} milliseconds", DRAIN_MILLISECONDS);
+        snapshotKeeper.refresh();
+    }
+    
+    private boolean swap(final DataSource orchestrationDataSource) {
+        synchronized (lock) {
+            if (closed) {
+                return false;
+            }
+            DataSource snapshotDataSource = dataSource;
+            dataSource = orchestrationDataSource;
+            reconciled = true;
+            retire(snapshotDataSource);
+            return true;
+        }
+    }
+    
+    private void scheduleReconcile() {
+        synchronized (lock) {
+            if (!closed) {
+                executorService.schedule(new Runnable() {
+                    
+                    @Override
+                    public void run() {
+                        reconcile();
+                    }
+                }, RECONCILE_RETRY_INTERVAL_MILLISECONDS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+    
+    private void retire(final DataSource retiredDataSource) {
+        retiredDataSources.add(retiredDataSource);
+        executorService.schedule(new Runnable() {
+            
+            @Override
+            public void run() {
+                if (retiredDataSources.remove(retiredDataSource)) {
+                    closeQuietly(retiredDataSource);
+                }
+            }
+        }, DRAIN_MILLISECONDS, TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return dataSource.getConnection(username, password);
+    }
+    
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+    
+    @Override
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+    
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+    
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+    
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("getParentLogger");
+    }
+    
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : dataSource.unwrap(iface);
+    }
+    
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || dataSource.isWrapperFor(iface);
+    }
+    
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        executorService.shutdownNow();
+        for (DataSource each : retiredDataSources) {
+            closeQuietly(each);
+        }
+        retiredDataSources.clear();
+        closeQuietly(dataSource);
+    }
+    
+    private void closeQuietly(final DataSource closedDataSource) {
+        try {
+            if (closedDataSource instanceof DisposableBean) {
+                ((DisposableBean) closedDataSource).destroy();
+            } else if (closedDataSource instanceof AutoCloseable) {
+                ((AutoCloseable) closedDataSource).close();
+            }
+        // CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            // CHECKSTYLE:ON
+            log.warn("Close datasource failed", ex);
+        }
+    }
+}
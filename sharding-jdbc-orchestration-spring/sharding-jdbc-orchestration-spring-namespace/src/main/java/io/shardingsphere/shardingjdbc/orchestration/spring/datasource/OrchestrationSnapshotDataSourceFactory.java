@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.datasource;
+
+import io.shardingsphere.shardingjdbc.orchestration.spring.snapshot.RegistryConfigurationSnapshot;
+import io.shardingsphere.shardingjdbc.orchestration.spring.snapshot.RegistryConfigurationSnapshotKeeper;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Factory of orchestration data source with registry configuration snapshot.
+ * 
+ * <p>Snapshot is only used if rule is not configured locally, otherwise actual data sources would be created twice. 
+ * If snapshot is used, {@link OrchestrationSnapshotDataSource} is returned, 
+ * otherwise orchestration data source is created synchronously and returned as is.</p>
+ *
+ * @author yangyi
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class OrchestrationSnapshotDataSourceFactory {
+    
+    /**
+     * Create orchestration data source.
+     * 
+     * @param orchestrationDataSourceCreator creator of orchestration data source
+     * @param localRuleConfigured rule is configured locally or not
+     * @param snapshotKeeper keeper of registry configuration snapshot
+     * @return orchestration data source, or data source serving from snapshot
+     * @throws SQLException SQL exception
+     */
+    public static DataSource createDataSource(final OrchestrationDataSourceCreator orchestrationDataSourceCreator, 
+                                              final boolean localRuleConfigured, final RegistryConfigurationSnapshotKeeper snapshotKeeper) throws SQLException {
+        RegistryConfigurationSnapshot snapshot = localRuleConfigured ? null : snapshotKeeper.load();
+        if (null != snapshot && snapshot.isComplete()) {
+            return new OrchestrationSnapshotDataSource(orchestrationDataSourceCreator, snapshot, snapshotKeeper);
+        }
+        DataSource result = orchestrationDataSourceCreator.create();
+        snapshotKeeper.refresh();
+        return result;
+    }
+}
@@ -17,26 +17,131 @@
 
 package io.shardingsphere.shardingjdbc.orchestration.spring.datasource;
 
+import com.google.common.eventbus.Subscribe;
 import org.apache.shardingsphere.orchestration.config.OrchestrationConfiguration;
+import org.apache.shardingsphere.orchestration.internal.eventbus.ShardingOrchestrationEventBus;
+import org.apache.shardingsphere.orchestration.internal.registry.config.event.DataSourceChangedEvent;
+import org.apache.shardingsphere.orchestration.internal.registry.config.event.MasterSlaveRuleChangedEvent;
+import org.apache.shardingsphere.orchestration.internal.registry.config.event.PropertiesChangedEvent;
+import org.apache.shardingsphere.orchestration.internal.registry.state.event.CircuitStateChangedEvent;
+import org.apache.shardingsphere.orchestration.internal.registry.state.event.DisabledStateChangedEvent;
 import org.apache.shardingsphere.shardingjdbc.jdbc.core.datasource.MasterSlaveDataSource;
 import org.apache.shardingsphere.shardingjdbc.orchestration.internal.datasource.OrchestrationMasterSlaveDataSource;
+import org.springframework.beans.factory.DisposableBean;
 
 import javax.sql.DataSource;
 import java.sql.SQLException;
+import java.util.Arrays;
 
 /**
  * Orchestration master slave datasource for spring namespace.
+ * 
+ * <p>If change debounce milliseconds is positive, registry config change events are coalesced within the window, 
+ * and only the latest data source, rule and properties are applied off the event thread.</p>
+ * 
+ * <p>Spring destroys it by {@link #destroy()}, which stops receiving change events before closing the data source.</p>
  *
  * @author panjuan
  */
-public final class OrchestrationSpringMasterSlaveDataSource extends OrchestrationMasterSlaveDataSource {
+public final class OrchestrationSpringMasterSlaveDataSource extends OrchestrationMasterSlaveDataSource implements DisposableBean {
+    
+    private final ChangeEventSubscriber changeEventSubscriber;
     
     public OrchestrationSpringMasterSlaveDataSource(final DataSource dataSource, final OrchestrationConfiguration orchestrationConfig) throws SQLException {
-        super((MasterSlaveDataSource) dataSource, orchestrationConfig);
+        this(dataSource, orchestrationConfig, 0L);
     }
     
     public OrchestrationSpringMasterSlaveDataSource(final OrchestrationConfiguration orchestrationConfig) throws SQLException {
+        this(orchestrationConfig, 0L);
+    }
+    
+    public OrchestrationSpringMasterSlaveDataSource(final DataSource dataSource, final OrchestrationConfiguration orchestrationConfig, final long changeDebounceMilliseconds) throws SQLException {
+        super((MasterSlaveDataSource) dataSource, orchestrationConfig);
+        changeEventSubscriber = subscribeChangeEvents(changeDebounceMilliseconds);
+    }
+    
+    public OrchestrationSpringMasterSlaveDataSource(final OrchestrationConfiguration orchestrationConfig, final long changeDebounceMilliseconds) throws SQLException {
         super(orchestrationConfig);
+        changeEventSubscriber = subscribeChangeEvents(changeDebounceMilliseconds);
+    }
+    
+    private ChangeEventSubscriber subscribeChangeEvents(final long changeDebounceMilliseconds) {
+        OrchestrationEventCoalescer coalescer = changeDebounceMilliseconds <= 0 ? null : new OrchestrationEventCoalescer(changeDebounceMilliseconds, 
+                Arrays.<Class<?>>asList(DataSourceChangedEvent.class, MasterSlaveRuleChangedEvent.class, PropertiesChangedEvent.class), new OrchestrationEventCoalescer.EventApplier() {
+                    
+                    @Override
+                    public void apply(final Object event) {
+                        applyChangeEvent(event);
+                    }
+                });
+        ChangeEventSubscriber result = new ChangeEventSubscriber(coalescer);
+        ShardingOrchestrationEventBus.getInstance().unregister(this);
+        ShardingOrchestrationEventBus.getInstance().register(result);
+        return result;
+    }
+    
+    private void applyChangeEvent(final Object event) {
+        if (event instanceof DataSourceChangedEvent) {
+            renew((DataSourceChangedEvent) event);
+        } else if (event instanceof MasterSlaveRuleChangedEvent) {
+            renew((MasterSlaveRuleChangedEvent) event);
+        } else if (event instanceof PropertiesChangedEvent) {
+            renew((PropertiesChangedEvent) event);
+        }
+    }
+    
+    @Override
+    public void destroy() throws Exception {
+        ShardingOrchestrationEventBus.getInstance().unregister(changeEventSubscriber);
+        changeEventSubscriber.close();
+        close();
+    }
+    
+    private final class ChangeEventSubscriber {
+        
+        private final OrchestrationEventCoalescer coalescer;
+        
+        ChangeEventSubscriber(final OrchestrationEventCoalescer coalescer) {
+            this.coalescer = coalescer;
+        }
+        
+        @Subscribe
+        public void onDataSourceChanged(final DataSourceChangedEvent event) {
+            submit(event);
+        }
+        
+        @Subscribe
+        public void onMasterSlaveRuleChanged(final MasterSlaveRuleChangedEvent event) {
+            submit(event);
+        }
+        
+        @Subscribe
+        public void onPropertiesChanged(final PropertiesChangedEvent event) {
+            submit(event);
+        }
+        
+        @Subscribe
+        public void onCircuitStateChanged(final CircuitStateChangedEvent event) {
+            renew(event);
+        }
+        
+        @Subscribe
+        public void onDisabledStateChanged(final DisabledStateChangedEvent event) {
+            renew(event);
+        }
+        
+        private void submit(final Object event) {
+            if (null == coalescer) {
+                applyChangeEvent(event);
+            } else {
+                coalescer.submit(event);
+            }
+        }
+        
+        private void close() {
+            if (null != coalescer) {
+                coalescer.close();
+            }
+        }
     }
 }
-
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.shardingsphere.orchestration.config.OrchestrationConfiguration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Creator of orchestration sharding or master-slave data source for spring.
+ *
+ * @author yangyi
+ */
+@RequiredArgsConstructor
+public final class SpringOrchestrationDataSourceCreator implements OrchestrationDataSourceCreator {
+    
+    private final boolean shardingRule;
+    
+    private final DataSource dataSource;
+    
+    private final OrchestrationConfiguration orchestrationConfig;
+    
+    private final long changeDebounceMilliseconds;
+    
+    public SpringOrchestrationDataSourceCreator(final boolean shardingRule, final DataSource dataSource, final OrchestrationConfiguration orchestrationConfig) {
+        this(shardingRule, dataSource, orchestrationConfig, 0L);
+    }
+    
+    @Override
+    public DataSource create() throws SQLException {
+        if (shardingRule) {
+            return null == dataSource ? new OrchestrationSpringShardingDataSource(orchestrationConfig, changeDebounceMilliseconds)
+                    : new OrchestrationSpringShardingDataSource(dataSource, orchestrationConfig, changeDebounceMilliseconds);
+        }
+        return null == dataSource ? new OrchestrationSpringMasterSlaveDataSource(orchestrationConfig, changeDebounceMilliseconds)
+                : new OrchestrationSpringMasterSlaveDataSource(dataSource, orchestrationConfig, changeDebounceMilliseconds);
+    }
+}
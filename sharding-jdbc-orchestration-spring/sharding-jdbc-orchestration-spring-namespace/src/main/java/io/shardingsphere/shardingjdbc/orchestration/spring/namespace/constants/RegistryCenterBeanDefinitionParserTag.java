@@ -43,4 +43,6 @@ public final class RegistryCenterBeanDefinitionParserTag {
     public static final String RETRY_INTERVAL_MILLISECONDS_TAG = "retry-interval-milliseconds";
     
     public static final String TIME_TO_LIVE_SECONDS_TAG = "time-to-live-seconds";
+    
+    public static final String TYPE_TAG = "type";
 }
@@ -35,4 +35,8 @@ public final class ShardingDataSourceBeanDefinitionParserTag {
     public static final String REG_REF_TAG = "registry-center-ref";
     
     public static final String OVERWRITE_TAG = "overwrite";
+    
+    public static final String SNAPSHOT_FILE_TAG = "snapshot-file";
+    
+    public static final String CHANGE_DEBOUNCE_MILLISECONDS_TAG = "change-debounce-milliseconds";
 }
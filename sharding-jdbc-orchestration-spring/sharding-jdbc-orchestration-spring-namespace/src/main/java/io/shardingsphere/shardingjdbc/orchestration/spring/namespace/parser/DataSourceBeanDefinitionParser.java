@@ -18,9 +18,12 @@
 package io.shardingsphere.shardingjdbc.orchestration.spring.namespace.parser;
 
 import com.google.common.base.Strings;
+import io.shardingsphere.shardingjdbc.orchestration.spring.datasource.OrchestrationSnapshotDataSourceFactory;
 import io.shardingsphere.shardingjdbc.orchestration.spring.datasource.OrchestrationSpringMasterSlaveDataSource;
 import io.shardingsphere.shardingjdbc.orchestration.spring.datasource.OrchestrationSpringShardingDataSource;
+import io.shardingsphere.shardingjdbc.orchestration.spring.datasource.SpringOrchestrationDataSourceCreator;
 import io.shardingsphere.shardingjdbc.orchestration.spring.namespace.constants.ShardingDataSourceBeanDefinitionParserTag;
+import io.shardingsphere.shardingjdbc.orchestration.spring.snapshot.RegistryConfigurationSnapshotKeeper;
 import org.apache.shardingsphere.orchestration.config.OrchestrationConfiguration;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
@@ -38,18 +41,53 @@ public final class DataSourceBeanDefinitionParser extends AbstractBeanDefinition
     
     @Override
     protected AbstractBeanDefinition parseInternal(final Element element, final ParserContext parserContext) {
+        String snapshotFile = element.getAttribute(ShardingDataSourceBeanDefinitionParserTag.SNAPSHOT_FILE_TAG);
+        if (!Strings.isNullOrEmpty(snapshotFile)) {
+            BeanDefinitionBuilder factory = BeanDefinitionBuilder.rootBeanDefinition(OrchestrationSnapshotDataSourceFactory.class, "createDataSource");
+            factory.addConstructorArgValue(getOrchestrationDataSourceCreator(element));
+            factory.addConstructorArgValue(!Strings.isNullOrEmpty(element.getAttribute(ShardingDataSourceBeanDefinitionParserTag.DATA_SOURCE_REF_TAG)));
+            factory.addConstructorArgValue(getSnapshotKeeper(element, snapshotFile));
+            return factory.getBeanDefinition();
+        }
         BeanDefinitionBuilder factory = ShardingDataSourceBeanDefinitionParserTag.ROOT_TAG.equals(element.getLocalName())
                 ? BeanDefinitionBuilder.rootBeanDefinition(OrchestrationSpringShardingDataSource.class) : BeanDefinitionBuilder.rootBeanDefinition(OrchestrationSpringMasterSlaveDataSource.class);
         configureFactory(element, factory);
         return factory.getBeanDefinition();
     }
     
+    private BeanDefinition getOrchestrationDataSourceCreator(final Element element) {
+        BeanDefinitionBuilder factory = BeanDefinitionBuilder.rootBeanDefinition(SpringOrchestrationDataSourceCreator.class);
+        factory.addConstructorArgValue(ShardingDataSourceBeanDefinitionParserTag.ROOT_TAG.equals(element.getLocalName()));
+        String dataSourceName = element.getAttribute(ShardingDataSourceBeanDefinitionParserTag.DATA_SOURCE_REF_TAG);
+        if (Strings.isNullOrEmpty(dataSourceName)) {
+            factory.addConstructorArgValue(null);
+        } else {
+            factory.addConstructorArgReference(dataSourceName);
+        }
+        factory.addConstructorArgValue(getOrchestrationConfiguration(element));
+        factory.addConstructorArgValue(getChangeDebounceMilliseconds(element));
+        return factory.getBeanDefinition();
+    }
+    
+    private BeanDefinition getSnapshotKeeper(final Element element, final String snapshotFile) {
+        BeanDefinitionBuilder factory = BeanDefinitionBuilder.rootBeanDefinition(RegistryConfigurationSnapshotKeeper.class);
+        factory.addConstructorArgValue(getOrchestrationConfiguration(element));
+        factory.addConstructorArgValue(snapshotFile);
+        return factory.getBeanDefinition();
+    }
+    
     private void configureFactory(final Element element, final BeanDefinitionBuilder factory) {
         String dataSourceName = element.getAttribute(ShardingDataSourceBeanDefinitionParserTag.DATA_SOURCE_REF_TAG);
         if (!Strings.isNullOrEmpty(dataSourceName)) {
             factory.addConstructorArgReference(dataSourceName);
         }
         factory.addConstructorArgValue(getOrchestrationConfiguration(element));
+        factory.addConstructorArgValue(getChangeDebounceMilliseconds(element));
+    }
+    
+    private long getChangeDebounceMilliseconds(final Element element) {
+        String changeDebounceMilliseconds = element.getAttribute(ShardingDataSourceBeanDefinitionParserTag.CHANGE_DEBOUNCE_MILLISECONDS_TAG);
+        return Strings.isNullOrEmpty(changeDebounceMilliseconds) ? 0L : Long.parseLong(changeDebounceMilliseconds);
     }
     
     private BeanDefinition getOrchestrationConfiguration(final Element element) {
@@ -19,6 +19,8 @@ package io.shardingsphere.shardingjdbc.orchestration.spring.namespace.parser;
 
 import com.google.common.base.Strings;
 import io.shardingsphere.shardingjdbc.orchestration.spring.namespace.constants.RegistryCenterBeanDefinitionParserTag;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.MemoryRegistryCenter;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.RegistryCenterLoader;
 import org.apache.shardingsphere.orchestration.reg.api.RegistryCenterConfiguration;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
@@ -36,7 +38,14 @@ public final class RegBeanDefinitionParser extends AbstractBeanDefinitionParser
     @Override
     protected AbstractBeanDefinition parseInternal(final Element element, final ParserContext parserContext) {
         BeanDefinitionBuilder factory = BeanDefinitionBuilder.rootBeanDefinition(RegistryCenterConfiguration.class);
-        addPropertyValueIfNotEmpty(RegistryCenterBeanDefinitionParserTag.SERVER_LISTS_TAG, "serverLists", element, factory);
+        String serverLists = element.getAttribute(RegistryCenterBeanDefinitionParserTag.SERVER_LISTS_TAG);
+        if (MemoryRegistryCenter.TYPE.equals(element.getAttribute(RegistryCenterBeanDefinitionParserTag.TYPE_TAG))) {
+            serverLists = MemoryRegistryCenter.getServerLists(serverLists);
+        }
+        RegistryCenterLoader.checkSelectable(serverLists);
+        if (!Strings.isNullOrEmpty(serverLists)) {
+            factory.addPropertyValue("serverLists", serverLists);
+        }
         addPropertyValueIfNotEmpty(RegistryCenterBeanDefinitionParserTag.NAMESPACE_TAG, "namespace", element, factory);
         addPropertyValueIfNotEmpty(RegistryCenterBeanDefinitionParserTag.DIGEST_TAG, "digest", element, factory);
         addPropertyValueIfNotEmpty(RegistryCenterBeanDefinitionParserTag.OPERATION_TIMEOUT_MILLISECONDS_TAG, "operationTimeoutMilliseconds", element, factory);
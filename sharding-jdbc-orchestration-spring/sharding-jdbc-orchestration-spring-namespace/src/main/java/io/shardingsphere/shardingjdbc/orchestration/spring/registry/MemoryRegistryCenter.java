@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.registry;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenter;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenterConfiguration;
+import org.apache.shardingsphere.orchestration.reg.listener.DataChangedEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory registry center.
+ * 
+ * <p>Server lists is in format of {@code memory://name?latency-milliseconds=n}. 
+ * Registry centers with same name and namespace share one store in JVM, so that many simulated instances can watch each other. 
+ * Ephemeral nodes are removed when the registry center which persisted them is closed. 
+ * Latency is injected into every operation and every data changed event dispatch. 
+ * Stores live until {@link #clear()} is called, which discards their data and stops their dispatch threads.</p>
+ * 
+ * <p>It ships with the namespace, which the spring boot starter depends on, so that applications can test and benchmark orchestration 
+ * with registry center type {@code memory} without ZooKeeper. It is never registered as SPI, 
+ * and is only used with {@link SelectiveRegistryCenter} registered in {@code META-INF/services}.</p>
+ *
+ * @author yangyi
+ */
+public final class MemoryRegistryCenter implements RegistryCenter {
+    
+    public static final String TYPE = "memory";
+    
+    public static final String SERVER_LISTS_PREFIX = TYPE + "://";
+    
+    private static final String LATENCY_MILLISECONDS_PARAMETER = "latency-milliseconds";
+    
+    private static final Map<String, MemoryRegistryStore> STORES = new HashMap<>();
+    
+    private final Collection<String> ephemeralKeys = new CopyOnWriteArrayList<>();
+    
+    private MemoryRegistryStore store;
+    
+    private long latencyMilliseconds;
+    
+    /**
+     * Judge whether server lists is of in-memory registry center.
+     * 
+     * @param serverLists server lists
+     * @return is in-memory registry center or not
+     */
+    public static boolean isMemoryServerLists(final String serverLists) {
+        return null != serverLists && serverLists.startsWith(SERVER_LISTS_PREFIX);
+    }
+    
+    /**
+     * Get server lists of in-memory registry center.
+     * 
+     * @param name name of store, server lists of other registry center is also acceptable
+     * @return server lists of in-memory registry center
+     */
+    public static String getServerLists(final String name) {
+        return isMemoryServerLists(name) ? name : SERVER_LISTS_PREFIX + Strings.nullToEmpty(name);
+    }
+    
+    /**
+     * Clear all stores in JVM, and stop their dispatch threads.
+     * 
+     * <p>Registry centers initialized before clearing must not be used afterwards.</p>
+     */
+    public static void clear() {
+        synchronized (STORES) {
+            for (MemoryRegistryStore each : STORES.values()) {
+                each.close();
+            }
+            STORES.clear();
+        }
+    }
+    
+    @Override
+    public void init(final RegistryCenterConfiguration config) {
+        Preconditions.checkArgument(isMemoryServerLists(config.getServerLists()), "Server lists of in-memory registry center must start with `%s`.", SERVER_LISTS_PREFIX);
+        String location = config.getServerLists().substring(SERVER_LISTS_PREFIX.length());
+        int index = location.indexOf('?');
+        String name = (-1 == index ? location : location.substring(0, index)) + "/" + Strings.nullToEmpty(config.getNamespace());
+        if (-1 != index) {
+            Map<String, String> parameters = Splitter.on('&').omitEmptyStrings().withKeyValueSeparator('=').split(location.substring(index + 1));
+            if (parameters.containsKey(LATENCY_MILLISECONDS_PARAMETER)) {
+                latencyMilliseconds = Long.parseLong(parameters.get(LATENCY_MILLISECONDS_PARAMETER));
+            }
+        }
+        store = getStore(name);
+    }
+    
+    private static MemoryRegistryStore getStore(final String name) {
+        synchronized (STORES) {
+            MemoryRegistryStore result = STORES.get(name);
+            if (null == result) {
+                result = new MemoryRegistryStore(name);
+                STORES.put(name, result);
+            }
+            return result;
+        }
+    }
+    
+    @Override
+    public String get(final String key) {
+        simulateLatency();
+        return store.get(key);
+    }
+    
+    @Override
+    public String getDirectly(final String key) {
+        simulateLatency();
+        return store.get(key);
+    }
+    
+    @Override
+    public boolean isExisted(final String key) {
+        simulateLatency();
+        return store.isExisted(key);
+    }
+    
+    @Override
+    public List<String> getChildrenKeys(final String key) {
+        simulateLatency();
+        return store.getChildrenKeys(key);
+    }
+    
+    @Override
+    public void persist(final String key, final String value) {
+        simulateLatency();
+        store.put(key, value, latencyMilliseconds);
+    }
+    
+    @Override
+    public void update(final String key, final String value) {
+        simulateLatency();
+        store.put(key, value, latencyMilliseconds);
+    }
+    
+    @Override
+    public void persistEphemeral(final String key, final String value) {
+        simulateLatency();
+        store.put(key, value, latencyMilliseconds);
+        ephemeralKeys.add(key);
+    }
+    
+    @Override
+    public void watch(final String key, final DataChangedEventListener dataChangedEventListener) {
+        store.watch(this, key, dataChangedEventListener);
+    }
+    
+    private void simulateLatency() {
+        if (latencyMilliseconds <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(latencyMilliseconds);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Override
+    public void close() {
+        if (null == store) {
+            return;
+        }
+        store.unwatch(this);
+        for (String each : ephemeralKeys) {
+            store.remove(each, latencyMilliseconds);
+        }
+        ephemeralKeys.clear();
+    }
+}
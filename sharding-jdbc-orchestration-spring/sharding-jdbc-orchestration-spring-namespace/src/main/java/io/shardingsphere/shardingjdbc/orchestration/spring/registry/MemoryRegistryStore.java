@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.registry;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shardingsphere.orchestration.reg.listener.DataChangedEvent;
+import org.apache.shardingsphere.orchestration.reg.listener.DataChangedEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store of in-memory registry center, which is shared by all registry center instances with same name in one JVM.
+ * 
+ * <p>Data changed events are dispatched on store thread, after latency of the registry center which changes data. 
+ * An event is never dispatched before events of earlier changes, so a change with shorter latency waits for earlier changes with longer latency, 
+ * and watchers always receive events in the order data is changed.</p>
+ *
+ * @author yangyi
+ */
+@Slf4j
+final class MemoryRegistryStore {
+    
+    private static final String PATH_SEPARATOR = "/";
+    
+    private final ConcurrentNavigableMap<String, String> data = new ConcurrentSkipListMap<>();
+    
+    private final Collection<Watcher> watchers = new CopyOnWriteArrayList<>();
+    
+    private final ScheduledExecutorService dispatchExecutor;
+    
+    private long lastDispatchNanoTime;
+    
+    MemoryRegistryStore(final String name) {
+        dispatchExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ShardingSphere-memory-registry-" + name + "-%d").build());
+        lastDispatchNanoTime = System.nanoTime();
+    }
+    
+    String get(final String key) {
+        return data.get(key);
+    }
+    
+    boolean isExisted(final String key) {
+        return data.containsKey(key) || !getDescendants(key).isEmpty();
+    }
+    
+    List<String> getChildrenKeys(final String key) {
+        String prefix = key.endsWith(PATH_SEPARATOR) ? key : key + PATH_SEPARATOR;
+        Collection<String> children = new LinkedHashSet<>();
+        for (String each : getDescendants(key).keySet()) {
+            int index = each.indexOf(PATH_SEPARATOR, prefix.length());
+            children.add(-1 == index ? each.substring(prefix.length()) : each.substring(prefix.length(), index));
+        }
+        List<String> result = new ArrayList<>(children);
+        Collections.reverse(result);
+        return result;
+    }
+    
+    private ConcurrentNavigableMap<String, String> getDescendants(final String key) {
+        String prefix = key.endsWith(PATH_SEPARATOR) ? key : key + PATH_SEPARATOR;
+        return data.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+    
+    synchronized void put(final String key, final String value, final long latencyMilliseconds) {
+        data.put(key, value);
+        dispatch(new DataChangedEvent(key, value, DataChangedEvent.ChangedType.UPDATED), latencyMilliseconds);
+    }
+    
+    synchronized void remove(final String key, final long latencyMilliseconds) {
+        if (null != data.remove(key)) {
+            dispatch(new DataChangedEvent(key, null, DataChangedEvent.ChangedType.DELETED), latencyMilliseconds);
+        }
+    }
+    
+    private void dispatch(final DataChangedEvent event, final long latencyMilliseconds) {
+        long now = System.nanoTime();
+        long dispatchNanoTime = now + TimeUnit.MILLISECONDS.toNanos(Math.max(latencyMilliseconds, 0L));
+        if (dispatchNanoTime - lastDispatchNanoTime > 0) {
+            lastDispatchNanoTime = dispatchNanoTime;
+        }
+        dispatchExecutor.schedule(new Runnable() {
+            
+            @Override
+            public void run() {
+                for (Watcher each : watchers) {
+                    if (each.isWatched(event.getKey())) {
+                        notify(each, event);
+                    }
+                }
+            }
+        }, lastDispatchNanoTime - now, TimeUnit.NANOSECONDS);
+    }
+    
+    private void notify(final Watcher watcher, final DataChangedEvent event) {
+        try {
+            watcher.listener.onChange(event);
+        // CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            // CHECKSTYLE:ON
+            log.warn("Notify data changed event of key [{}] failed", event.getKey(), ex);
+        }
+    }
+    
+    void watch(final Object owner, final String key, final DataChangedEventListener listener) {
+        watchers.add(new Watcher(owner, key, listener));
+    }
+    
+    void unwatch(final Object owner) {
+        for (Watcher each : watchers) {
+            if (each.owner == owner) {
+                watchers.remove(each);
+            }
+        }
+    }
+    
+    void close() {
+        watchers.clear();
+        dispatchExecutor.shutdownNow();
+    }
+    
+    @RequiredArgsConstructor
+    private static final class Watcher {
+        
+        private final Object owner;
+        
+        private final String key;
+        
+        private final DataChangedEventListener listener;
+        
+        boolean isWatched(final String changedKey) {
+            return changedKey.equals(key) || changedKey.startsWith(key.endsWith(PATH_SEPARATOR) ? key : key + PATH_SEPARATOR);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.registry;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.shardingsphere.core.exception.ShardingException;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenter;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * Loader of registry center.
+ * 
+ * <p>In-memory registry center is selected by server lists in format of {@code memory://name}, 
+ * other server lists are served by the first registry center loaded by SPI which is neither in-memory nor selective registry center, 
+ * so that selection does not depend on the order of registry centers in class path.</p>
+ *
+ * @author yangyi
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RegistryCenterLoader {
+    
+    /**
+     * Load registry center by server lists.
+     * 
+     * @param serverLists server lists of registry center
+     * @return registry center, which is not initialized
+     */
+    public static RegistryCenter load(final String serverLists) {
+        if (MemoryRegistryCenter.isMemoryServerLists(serverLists)) {
+            return new MemoryRegistryCenter();
+        }
+        for (RegistryCenter each : ServiceLoader.load(RegistryCenter.class)) {
+            if (!(each instanceof SelectiveRegistryCenter) && !(each instanceof MemoryRegistryCenter)) {
+                return each;
+            }
+        }
+        throw new ShardingException("Can't find registry center implementation other than `%s`", MemoryRegistryCenter.TYPE);
+    }
+    
+    /**
+     * Check whether registry center selected by server lists is used by orchestration.
+     * 
+     * <p>Orchestration uses the first registry center loaded by SPI, so in-memory server lists only work 
+     * if selective or in-memory registry center is the first registry center in {@code META-INF/services}.</p>
+     * 
+     * @param serverLists server lists of registry center
+     * @throws ShardingException if server lists is of in-memory registry center but orchestration uses other registry center
+     */
+    public static void checkSelectable(final String serverLists) {
+        if (!MemoryRegistryCenter.isMemoryServerLists(serverLists)) {
+            return;
+        }
+        Iterator<RegistryCenter> registryCenters = ServiceLoader.load(RegistryCenter.class).iterator();
+        RegistryCenter registryCenter = registryCenters.hasNext() ? registryCenters.next() : null;
+        if (!(registryCenter instanceof SelectiveRegistryCenter) && !(registryCenter instanceof MemoryRegistryCenter)) {
+            throw new ShardingException("Registry center type `%s` requires `%s` as the first line of `META-INF/services/%s`, but orchestration uses `%s`.", 
+                    MemoryRegistryCenter.TYPE, SelectiveRegistryCenter.class.getName(), RegistryCenter.class.getName(), null == registryCenter ? null : registryCenter.getClass().getName());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.registry;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Configuration node of registry center.
+ * 
+ * <p>Paths and rule type judgement are the same as {@code ConfigurationNode} and {@code ConfigService} of orchestration, 
+ * so that configuration can be read directly from registry center without initializing orchestration facade.</p>
+ *
+ * @author yangyi
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RegistryConfigurationNode {
+    
+    public static final String RULE_NODE = "rule";
+    
+    public static final String DATA_SOURCE_NODE = "datasource";
+    
+    public static final String CONFIG_MAP_NODE = "configmap";
+    
+    public static final String PROPS_NODE = "props";
+    
+    /**
+     * Get path of schema node.
+     * 
+     * @param name name of orchestration instance
+     * @param schemaName schema name
+     * @param node node name of schema
+     * @return path of schema node
+     */
+    public static String getSchemaNodePath(final String name, final String schemaName, final String node) {
+        return String.format("/%s/config/schema/%s/%s", name, schemaName, node);
+    }
+    
+    /**
+     * Get path of config node.
+     * 
+     * @param name name of orchestration instance
+     * @param node node name of config
+     * @return path of config node
+     */
+    public static String getConfigNodePath(final String name, final String node) {
+        return String.format("/%s/config/%s", name, node);
+    }
+    
+    /**
+     * Judge whether rule is sharding rule.
+     * 
+     * @param rule rule persisted in registry center
+     * @return is sharding rule or not
+     */
+    public static boolean isShardingRule(final String rule) {
+        return null != rule && (rule.contains("tables:\n") || rule.contains("tables:\r\n"));
+    }
+}
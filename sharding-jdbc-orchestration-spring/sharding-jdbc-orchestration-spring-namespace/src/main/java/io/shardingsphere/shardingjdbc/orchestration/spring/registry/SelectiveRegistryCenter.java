@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.registry;
+
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenter;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenterConfiguration;
+import org.apache.shardingsphere.orchestration.reg.listener.DataChangedEventListener;
+
+import java.util.List;
+
+/**
+ * Registry center which selects in-memory registry center or other registry center by server lists.
+ * 
+ * <p>Registry center SPI has no type, so in-memory registry center is selected by server lists in format of {@code memory://name}, 
+ * other server lists are delegated to registry center loaded by {@link RegistryCenterLoader}.</p>
+ * 
+ * <p>It is not registered as SPI by default, because orchestration uses the first registry center in class path. 
+ * Register it as the first registry center in {@code META-INF/services} of tests or benchmarks which use in-memory registry center, 
+ * otherwise registry center type {@code memory} fails when it is parsed.</p>
+ *
+ * @author yangyi
+ */
+public final class SelectiveRegistryCenter implements RegistryCenter {
+    
+    private RegistryCenter delegate;
+    
+    @Override
+    public void init(final RegistryCenterConfiguration config) {
+        delegate = RegistryCenterLoader.load(config.getServerLists());
+        delegate.init(config);
+    }
+    
+    @Override
+    public String get(final String key) {
+        return delegate.get(key);
+    }
+    
+    @Override
+    public String getDirectly(final String key) {
+        return delegate.getDirectly(key);
+    }
+    
+    @Override
+    public boolean isExisted(final String key) {
+        return delegate.isExisted(key);
+    }
+    
+    @Override
+    public List<String> getChildrenKeys(final String key) {
+        return delegate.getChildrenKeys(key);
+    }
+    
+    @Override
+    public void persist(final String key, final String value) {
+        delegate.persist(key, value);
+    }
+    
+    @Override
+    public void update(final String key, final String value) {
+        delegate.update(key, value);
+    }
+    
+    @Override
+    public void persistEphemeral(final String key, final String value) {
+        delegate.persistEphemeral(key, value);
+    }
+    
+    @Override
+    public void watch(final String key, final DataChangedEventListener dataChangedEventListener) {
+        delegate.watch(key, dataChangedEventListener);
+    }
+    
+    @Override
+    public void close() {
+        if (null != delegate) {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.snapshot;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.RegistryCenterLoader;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.RegistryConfigurationNode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shardingsphere.core.exception.ShardingException;
+import org.apache.shardingsphere.core.rule.ShardingRule;
+import org.apache.shardingsphere.core.yaml.masterslave.YamlMasterSlaveRuleConfiguration;
+import org.apache.shardingsphere.core.yaml.sharding.YamlShardingRuleConfiguration;
+import org.apache.shardingsphere.orchestration.config.OrchestrationConfiguration;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenter;
+import org.apache.shardingsphere.shardingjdbc.jdbc.core.datasource.MasterSlaveDataSource;
+import org.apache.shardingsphere.shardingjdbc.jdbc.core.datasource.ShardingDataSource;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyBatchUpdateException;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.AbstractConstruct;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+
+import javax.sql.DataSource;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+
+/**
+ * Snapshot of configuration persisted in registry center.
+ * 
+ * <p>Snapshot keeps raw values of rule, data source, config map and properties nodes of registry center, 
+ * and is saved as versioned binary file to start orchestration data source without registry center. 
+ * Data source node contains credentials of actual data sources, so snapshot file is only readable and writable by owner.</p>
+ *
+ * @author yangyi
+ */
+@RequiredArgsConstructor
+@Getter
+@Slf4j
+public final class RegistryConfigurationSnapshot {
+    
+    public static final String RULE_NODE = RegistryConfigurationNode.RULE_NODE;
+    
+    public static final String DATA_SOURCE_NODE = RegistryConfigurationNode.DATA_SOURCE_NODE;
+    
+    public static final String CONFIG_MAP_NODE = RegistryConfigurationNode.CONFIG_MAP_NODE;
+    
+    public static final String PROPS_NODE = RegistryConfigurationNode.PROPS_NODE;
+    
+    private static final int MAGIC = 0x52435331;
+    
+    private static final int VERSION = 1;
+    
+    private final Map<String, String> nodes;
+    
+    /**
+     * Read snapshot from registry center.
+     * 
+     * @param orchestrationConfig orchestration configuration
+     * @param schemaName schema name
+     * @return snapshot of configuration persisted in registry center
+     */
+    public static RegistryConfigurationSnapshot read(final OrchestrationConfiguration orchestrationConfig, final String schemaName) {
+        RegistryCenter registryCenter = RegistryCenterLoader.load(orchestrationConfig.getRegCenterConfig().getServerLists());
+        try {
+            registryCenter.init(orchestrationConfig.getRegCenterConfig());
+            String name = orchestrationConfig.getName();
+            Map<String, String> nodes = new LinkedHashMap<>(4, 1);
+            nodes.put(RULE_NODE, Strings.nullToEmpty(registryCenter.getDirectly(RegistryConfigurationNode.getSchemaNodePath(name, schemaName, RULE_NODE))));
+            nodes.put(DATA_SOURCE_NODE, Strings.nullToEmpty(registryCenter.getDirectly(RegistryConfigurationNode.getSchemaNodePath(name, schemaName, DATA_SOURCE_NODE))));
+            nodes.put(CONFIG_MAP_NODE, Strings.nullToEmpty(registryCenter.getDirectly(RegistryConfigurationNode.getConfigNodePath(name, CONFIG_MAP_NODE))));
+            nodes.put(PROPS_NODE, Strings.nullToEmpty(registryCenter.getDirectly(RegistryConfigurationNode.getConfigNodePath(name, PROPS_NODE))));
+            return new RegistryConfigurationSnapshot(nodes);
+        } finally {
+            registryCenter.close();
+        }
+    }
+    
+    /**
+     * Load snapshot from file.
+     * 
+     * @param file snapshot file
+     * @return snapshot of configuration persisted in registry center, or null if file is absent, unreadable or of other version
+     */
+    public static RegistryConfigurationSnapshot load(final File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream inputStream = new DataInputStream(new FileInputStream(file))) {
+            if (MAGIC != inputStream.readInt() || VERSION != inputStream.readInt()) {
+                log.warn("Registry configuration snapshot [{}] is not of version {}, ignored", file, VERSION);
+                return null;
+            }
+            int size = inputStream.readInt();
+            Map<String, String> nodes = new LinkedHashMap<>(size * 4 / 3 + 1, 1);
+            for (int i = 0; i < size; i++) {
+                nodes.put(readString(inputStream), readString(inputStream));
+            }
+            return new RegistryConfigurationSnapshot(nodes);
+        } catch (final IOException ex) {
+            log.warn("Registry configuration snapshot [{}] is unreadable, ignored", file, ex);
+            return null;
+        }
+    }
+    
+    private static String readString(final DataInputStream inputStream) throws IOException {
+        byte[] result = new byte[inputStream.readInt()];
+        inputStream.readFully(result);
+        return new String(result, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Save snapshot to file atomically, file is only readable and writable by owner.
+     * 
+     * @param file snapshot file
+     * @throws IOException IO exception
+     */
+    public void save(final File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        parent.mkdirs();
+        File tempFile = createOwnerOnlyTempFile(file.getName(), parent);
+        try {
+            try (DataOutputStream outputStream = new DataOutputStream(new FileOutputStream(tempFile))) {
+                outputStream.writeInt(MAGIC);
+                outputStream.writeInt(VERSION);
+                outputStream.writeInt(nodes.size());
+                for (Entry<String, String> entry : nodes.entrySet()) {
+                    writeString(outputStream, entry.getKey());
+                    writeString(outputStream, entry.getValue());
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+    
+    private File createOwnerOnlyTempFile(final String prefix, final File directory) throws IOException {
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return Files.createTempFile(directory.toPath(), prefix, ".tmp", PosixFilePermissions.asFileAttribute(EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE))).toFile();
+        }
+        File result = File.createTempFile(prefix, ".tmp", directory);
+        boolean restricted = result.setReadable(false, false) && result.setReadable(true, true) && result.setWritable(false, false) && result.setWritable(true, true);
+        if (!restricted) {
+            log.warn("Can not restrict permissions of registry configuration snapshot [{}] to owner", result);
+        }
+        return result;
+    }
+    
+    private void writeString(final DataOutputStream outputStream, final String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        outputStream.writeInt(bytes.length);
+        outputStream.write(bytes);
+    }
+    
+    /**
+     * Judge whether snapshot is complete to create data source.
+     * 
+     * @return snapshot is complete or not
+     */
+    public boolean isComplete() {
+        return !Strings.isNullOrEmpty(nodes.get(RULE_NODE)) && !Strings.isNullOrEmpty(nodes.get(DATA_SOURCE_NODE));
+    }
+    
+    /**
+     * Judge whether rule of snapshot is sharding rule.
+     * 
+     * @return is sharding rule or not
+     */
+    public boolean isShardingRule() {
+        return RegistryConfigurationNode.isShardingRule(nodes.get(RULE_NODE));
+    }
+    
+    /**
+     * Create sharding or master-slave data source from snapshot.
+     * 
+     * @return sharding or master-slave data source
+     * @throws SQLException SQL exception
+     */
+    public DataSource createDataSource() throws SQLException {
+        Preconditions.checkState(isComplete(), "Registry configuration snapshot is incomplete.");
+        Map<String, DataSource> dataSourceMap = createDataSourceMap();
+        Map<String, Object> configMap = loadAsMap(nodes.get(CONFIG_MAP_NODE));
+        Properties props = new Properties();
+        props.putAll(loadAsMap(nodes.get(PROPS_NODE)));
+        if (isShardingRule()) {
+            YamlShardingRuleConfiguration ruleConfig = new Yaml().loadAs(nodes.get(RULE_NODE), YamlShardingRuleConfiguration.class);
+            return new ShardingDataSource(dataSourceMap, new ShardingRule(ruleConfig.getShardingRuleConfiguration(), dataSourceMap.keySet()), configMap, props);
+        }
+        YamlMasterSlaveRuleConfiguration ruleConfig = new Yaml().loadAs(nodes.get(RULE_NODE), YamlMasterSlaveRuleConfiguration.class);
+        return new MasterSlaveDataSource(dataSourceMap, ruleConfig.getMasterSlaveRuleConfiguration(), configMap, props);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<String, DataSource> createDataSourceMap() {
+        Map<String, DataSource> result = new LinkedHashMap<>();
+        for (Entry<String, Object> entry : loadAsMap(nodes.get(DATA_SOURCE_NODE)).entrySet()) {
+            Map<String, Object> dataSourceConfig = (Map<String, Object>) entry.getValue();
+            result.put(entry.getKey(), createDataSource(entry.getKey(), (String) dataSourceConfig.get("dataSourceClassName"), (Map<String, Object>) dataSourceConfig.get("properties")));
+        }
+        return result;
+    }
+    
+    private DataSource createDataSource(final String dataSourceName, final String dataSourceClassName, final Map<String, Object> props) {
+        DataSource result;
+        try {
+            result = (DataSource) Class.forName(dataSourceClassName).newInstance();
+        } catch (final ReflectiveOperationException ex) {
+            throw new ShardingException(String.format("Can't create datasource [%s] of type [%s]", dataSourceName, dataSourceClassName), ex);
+        }
+        if (null == props) {
+            return result;
+        }
+        BeanWrapper beanWrapper = new BeanWrapperImpl(result);
+        try {
+            beanWrapper.setPropertyValues(new MutablePropertyValues(props), true, true);
+        } catch (final PropertyBatchUpdateException ex) {
+            log.warn("Some properties of datasource [{}] are ignored: {}", dataSourceName, ex.getMessage());
+        }
+        return result;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> loadAsMap(final String yaml) {
+        if (Strings.isNullOrEmpty(yaml)) {
+            return new LinkedHashMap<>();
+        }
+        Object result = new Yaml(new UntypedConstructor()).load(yaml);
+        return result instanceof Map ? (Map<String, Object>) result : Collections.<String, Object>emptyMap();
+    }
+    
+    /**
+     * Constructor of YAML which constructs nodes with global class tags as untyped maps, sequences and scalars.
+     */
+    private static final class UntypedConstructor extends SafeConstructor {
+        
+        UntypedConstructor() {
+            yamlConstructors.put(null, new AbstractConstruct() {
+                
+                @Override
+                public Object construct(final Node node) {
+                    if (node instanceof MappingNode) {
+                        return constructMapping((MappingNode) node);
+                    }
+                    if (node instanceof SequenceNode) {
+                        return constructSequence((SequenceNode) node);
+                    }
+                    return constructScalar((ScalarNode) node);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.snapshot;
+
+import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shardingsphere.core.constant.ShardingConstant;
+import org.apache.shardingsphere.orchestration.config.OrchestrationConfiguration;
+import org.apache.shardingsphere.orchestration.internal.eventbus.ShardingOrchestrationEventBus;
+import org.apache.shardingsphere.orchestration.internal.registry.config.event.DataSourceChangedEvent;
+import org.apache.shardingsphere.orchestration.internal.registry.config.event.MasterSlaveRuleChangedEvent;
+import org.apache.shardingsphere.orchestration.internal.registry.config.event.PropertiesChangedEvent;
+import org.apache.shardingsphere.orchestration.internal.registry.config.event.ShardingRuleChangedEvent;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Keeper of registry configuration snapshot.
+ * 
+ * <p>Snapshot file is refreshed with last-known-good configuration of registry center in background, 
+ * whenever data source, rule or properties are changed in registry center.</p>
+ *
+ * @author yangyi
+ */
+@Slf4j
+public final class RegistryConfigurationSnapshotKeeper implements AutoCloseable {
+    
+    private final OrchestrationConfiguration orchestrationConfig;
+    
+    private final File snapshotFile;
+    
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ShardingSphere-orchestration-snapshot-keeper-%d").build());
+    
+    public RegistryConfigurationSnapshotKeeper(final OrchestrationConfiguration orchestrationConfig, final File snapshotFile) {
+        this.orchestrationConfig = orchestrationConfig;
+        this.snapshotFile = snapshotFile;
+        ShardingOrchestrationEventBus.getInstance().register(this);
+    }
+    
+    /**
+     * Refresh snapshot file when data source changed.
+     * 
+     * @param event data source changed event
+     */
+    @Subscribe
+    public void onDataSourceChanged(final DataSourceChangedEvent event) {
+        refresh();
+    }
+    
+    /**
+     * Refresh snapshot file when sharding rule changed.
+     * 
+     * @param event sharding rule changed event
+     */
+    @Subscribe
+    public void onShardingRuleChanged(final ShardingRuleChangedEvent event) {
+        refresh();
+    }
+    
+    /**
+     * Refresh snapshot file when master-slave rule changed.
+     * 
+     * @param event master-slave rule changed event
+     */
+    @Subscribe
+    public void onMasterSlaveRuleChanged(final MasterSlaveRuleChangedEvent event) {
+        refresh();
+    }
+    
+    /**
+     * Refresh snapshot file when properties changed.
+     * 
+     * @param event properties changed event
+     */
+    @Subscribe
+    public void onPropertiesChanged(final PropertiesChangedEvent event) {
+        refresh();
+    }
+    
+    /**
+     * Load snapshot from snapshot file.
+     * 
+     * @return snapshot of configuration persisted in registry center, or null if snapshot file is absent, unreadable or of other version
+     */
+    public RegistryConfigurationSnapshot load() {
+        return RegistryConfigurationSnapshot.load(snapshotFile);
+    }
+    
+    /**
+     * Refresh snapshot file with configuration of registry center in background.
+     */
+    public void refresh() {
+        try {
+            executorService.execute(new Runnable() {
+                
+                @Override
+                public void run() {
+                    save();
+                }
+            });
+        } catch (final RejectedExecutionException ex) {
+            log.debug("Registry configuration snapshot keeper is closed, snapshot [{}] is not refreshed", snapshotFile);
+        }
+    }
+    
+    private void save() {
+        try {
+            RegistryConfigurationSnapshot snapshot = RegistryConfigurationSnapshot.read(orchestrationConfig, ShardingConstant.LOGIC_SCHEMA_NAME);
+            if (snapshot.isComplete()) {
+                snapshot.save(snapshotFile);
+            }
+        // CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            // CHECKSTYLE:ON
+            log.warn("Save registry configuration snapshot [{}] failed", snapshotFile, ex);
+        }
+    }
+    
+    @Override
+    public void close() {
+        ShardingOrchestrationEventBus.getInstance().unregister(this);
+        executorService.shutdownNow();
+    }
+}
@@ -17,6 +17,11 @@
 
 package io.shardingsphere.shardingjdbc.orchestration.spring;
 
+import io.shardingsphere.shardingjdbc.orchestration.spring.datasource.OrchestrationEventCoalescerTest;
+import io.shardingsphere.shardingjdbc.orchestration.spring.datasource.OrchestrationSnapshotDataSourceTest;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.MemoryRegistryCenterTest;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.RegistryCenterLoaderTest;
+import io.shardingsphere.shardingjdbc.orchestration.spring.snapshot.RegistryConfigurationSnapshotTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
@@ -25,7 +30,13 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({
         OrchestrationMasterSlaveNamespaceTest.class,
         OrchestrationShardingNamespaceTest.class,
-        OrchestrationShardingMasterSlaveNamespaceTest.class
+        OrchestrationShardingMasterSlaveNamespaceTest.class,
+        OrchestrationMemoryRegistryNamespaceTest.class,
+        RegistryConfigurationSnapshotTest.class,
+        OrchestrationSnapshotDataSourceTest.class,
+        OrchestrationEventCoalescerTest.class,
+        MemoryRegistryCenterTest.class,
+        RegistryCenterLoaderTest.class
     })
 public final class AllTests {
 }
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring;
+
+import io.shardingsphere.shardingjdbc.orchestration.spring.datasource.OrchestrationSpringMasterSlaveDataSource;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.MemoryRegistryCenter;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.RegistryConfigurationNode;
+import io.shardingsphere.shardingjdbc.orchestration.spring.util.FieldValueUtil;
+import org.apache.shardingsphere.core.constant.ShardingConstant;
+import org.apache.shardingsphere.core.constant.properties.ShardingPropertiesConstant;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenter;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenterConfiguration;
+import org.apache.shardingsphere.shardingjdbc.jdbc.core.datasource.MasterSlaveDataSource;
+import org.junit.Test;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.AbstractJUnit4SpringContextTests;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+@ContextConfiguration(locations = "classpath:META-INF/rdb/memoryRegistryOrchestration.xml")
+public class OrchestrationMemoryRegistryNamespaceTest extends AbstractJUnit4SpringContextTests {
+    
+    private static final String ORCHESTRATION_NAME = "memoryMasterSlaveDataSourceOrchestration";
+    
+    @Test
+    public void assertPersistRuleToMemoryRegistryCenter() {
+        assertTrue(null != applicationContext.getBean(ORCHESTRATION_NAME, OrchestrationSpringMasterSlaveDataSource.class));
+        RegistryCenter registryCenter = createRegistryCenter();
+        try {
+            assertThat(registryCenter.getDirectly(RegistryConfigurationNode.getSchemaNodePath(ORCHESTRATION_NAME, ShardingConstant.LOGIC_SCHEMA_NAME, RegistryConfigurationNode.RULE_NODE)), 
+                    containsString("dbtbl_0_master"));
+        } finally {
+            registryCenter.close();
+        }
+    }
+    
+    @Test
+    public void assertRenewPropertiesChangedInMemoryRegistryCenter() throws InterruptedException {
+        RegistryCenter registryCenter = createRegistryCenter();
+        try {
+            registryCenter.persist(RegistryConfigurationNode.getConfigNodePath(ORCHESTRATION_NAME, RegistryConfigurationNode.PROPS_NODE), "sql.show: false\n");
+            for (int i = 0; i < 100 && isSQLShow(); i++) {
+                Thread.sleep(50L);
+            }
+            assertFalse(isSQLShow());
+        } finally {
+            registryCenter.close();
+        }
+    }
+    
+    private RegistryCenter createRegistryCenter() {
+        RegistryCenterConfiguration config = new RegistryCenterConfiguration();
+        config.setServerLists(MemoryRegistryCenter.getServerLists("namespace_e2e"));
+        config.setNamespace("orchestration-spring-memory-test");
+        RegistryCenter result = new MemoryRegistryCenter();
+        result.init(config);
+        return result;
+    }
+    
+    private boolean isSQLShow() {
+        OrchestrationSpringMasterSlaveDataSource masterSlaveDataSource = applicationContext.getBean(ORCHESTRATION_NAME, OrchestrationSpringMasterSlaveDataSource.class);
+        MasterSlaveDataSource dataSource = (MasterSlaveDataSource) FieldValueUtil.getFieldValue(masterSlaveDataSource, "dataSource", true);
+        return dataSource.getShardingProperties().<Boolean>getValue(ShardingPropertiesConstant.SQL_SHOW);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.datasource;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class OrchestrationEventCoalescerTest {
+    
+    private final List<Object> appliedEvents = new CopyOnWriteArrayList<>();
+    
+    @Test
+    public void assertSubmitKeepsLatestEventOfEachTypeInOrder() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        OrchestrationEventCoalescer coalescer = new OrchestrationEventCoalescer(200L, Arrays.<Class<?>>asList(Integer.class, String.class), createEventApplier(latch));
+        coalescer.submit("rule_0");
+        coalescer.submit(0);
+        coalescer.submit("rule_1");
+        coalescer.submit(1);
+        assertTrue(latch.await(5L, TimeUnit.SECONDS));
+        Thread.sleep(100L);
+        assertThat(appliedEvents, is(Arrays.<Object>asList(1, "rule_1")));
+    }
+    
+    @Test
+    public void assertSubmitAfterWindowClosedOpensNewWindow() throws InterruptedException {
+        CountDownLatch firstLatch = new CountDownLatch(1);
+        OrchestrationEventCoalescer coalescer = new OrchestrationEventCoalescer(50L, Arrays.<Class<?>>asList(String.class), createEventApplier(firstLatch));
+        coalescer.submit("rule_0");
+        assertTrue(firstLatch.await(5L, TimeUnit.SECONDS));
+        coalescer.submit("rule_1");
+        for (int i = 0; i < 100 && 2 > appliedEvents.size(); i++) {
+            Thread.sleep(50L);
+        }
+        assertThat(appliedEvents, is(Arrays.<Object>asList("rule_0", "rule_1")));
+    }
+    
+    @Test
+    public void assertFailedEventDoesNotStopOthers() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        OrchestrationEventCoalescer coalescer = new OrchestrationEventCoalescer(50L, Arrays.<Class<?>>asList(Integer.class, String.class), new OrchestrationEventCoalescer.EventApplier() {
+            
+            @Override
+            public void apply(final Object event) {
+                if (event instanceof Integer) {
+                    throw new IllegalStateException("Mock apply failed");
+                }
+                appliedEvents.add(event);
+                latch.countDown();
+            }
+        });
+        coalescer.submit(0);
+        coalescer.submit("rule_0");
+        assertTrue(latch.await(5L, TimeUnit.SECONDS));
+        assertThat(appliedEvents, is(Arrays.<Object>asList("rule_0")));
+    }
+    
+    @Test
+    public void assertSubmitAfterClosedDiscardsEvent() throws InterruptedException {
+        OrchestrationEventCoalescer coalescer = new OrchestrationEventCoalescer(50L, Arrays.<Class<?>>asList(String.class), createEventApplier(new CountDownLatch(1)));
+        coalescer.close();
+        coalescer.submit("rule_0");
+        Thread.sleep(200L);
+        assertTrue(appliedEvents.isEmpty());
+    }
+    
+    @Test
+    public void assertCloseDiscardsPendingEvents() throws InterruptedException {
+        OrchestrationEventCoalescer coalescer = new OrchestrationEventCoalescer(50L, Arrays.<Class<?>>asList(String.class), createEventApplier(new CountDownLatch(1)));
+        coalescer.submit("rule_0");
+        coalescer.close();
+        Thread.sleep(200L);
+        assertTrue(appliedEvents.isEmpty());
+    }
+    
+    private OrchestrationEventCoalescer.EventApplier createEventApplier(final CountDownLatch latch) {
+        return new OrchestrationEventCoalescer.EventApplier() {
+            
+            @Override
+            public void apply(final Object event) {
+                appliedEvents.add(event);
+                latch.countDown();
+            }
+        };
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.datasource;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.shardingsphere.shardingjdbc.orchestration.spring.snapshot.RegistryConfigurationSnapshot;
+import io.shardingsphere.shardingjdbc.orchestration.spring.snapshot.RegistryConfigurationSnapshotKeeper;
+import io.shardingsphere.shardingjdbc.orchestration.spring.snapshot.RegistryConfigurationSnapshotTest;
+import org.apache.shardingsphere.orchestration.config.OrchestrationConfiguration;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenterConfiguration;
+import org.apache.shardingsphere.shardingjdbc.jdbc.core.datasource.MasterSlaveDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public final class OrchestrationSnapshotDataSourceTest {
+    
+    private final OrchestrationConfiguration orchestrationConfig = new OrchestrationConfiguration("snapshot_test", new RegistryCenterConfiguration(), false);
+    
+    private final DataSource orchestrationDataSource = mock(DataSource.class);
+    
+    private OrchestrationDataSourceCreator orchestrationDataSourceCreator;
+    
+    private RegistryConfigurationSnapshotKeeper snapshotKeeper;
+    
+    private File snapshotFile;
+    
+    @Before
+    public void setUp() throws IOException, SQLException {
+        orchestrationDataSourceCreator = mock(OrchestrationDataSourceCreator.class);
+        when(orchestrationDataSourceCreator.create()).thenReturn(orchestrationDataSource);
+        snapshotFile = File.createTempFile("registry", ".snapshot");
+        snapshotFile.delete();
+        snapshotFile.deleteOnExit();
+        snapshotKeeper = new RegistryConfigurationSnapshotKeeper(orchestrationConfig, snapshotFile);
+    }
+    
+    @After
+    public void tearDown() {
+        snapshotKeeper.close();
+    }
+    
+    @Test
+    public void assertCreateWithoutSnapshot() throws SQLException {
+        assertThat(OrchestrationSnapshotDataSourceFactory.createDataSource(orchestrationDataSourceCreator, false, snapshotKeeper), is(orchestrationDataSource));
+        verify(orchestrationDataSourceCreator).create();
+    }
+    
+    @Test
+    public void assertCreateWithLocalRuleIgnoresSnapshot() throws IOException, SQLException {
+        RegistryConfigurationSnapshotTest.createMasterSlaveSnapshot().save(snapshotFile);
+        assertThat(OrchestrationSnapshotDataSourceFactory.createDataSource(orchestrationDataSourceCreator, true, snapshotKeeper), is(orchestrationDataSource));
+        verify(orchestrationDataSourceCreator).create();
+    }
+    
+    @Test
+    public void assertCreateFromSnapshotAndReconcile() throws IOException, SQLException, InterruptedException {
+        RegistryConfigurationSnapshotTest.createMasterSlaveSnapshot().save(snapshotFile);
+        DataSource dataSource = OrchestrationSnapshotDataSourceFactory.createDataSource(orchestrationDataSourceCreator, false, snapshotKeeper);
+        assertThat(dataSource, instanceOf(OrchestrationSnapshotDataSource.class));
+        OrchestrationSnapshotDataSource actual = (OrchestrationSnapshotDataSource) dataSource;
+        DataSource snapshotDataSource = actual.getDataSource();
+        for (int i = 0; i < 100 && !actual.isReconciled(); i++) {
+            Thread.sleep(50L);
+        }
+        assertThat(snapshotDataSource, instanceOf(MasterSlaveDataSource.class));
+        assertTrue(actual.isReconciled());
+        assertThat(actual.getDataSource(), is(orchestrationDataSource));
+        verify(orchestrationDataSourceCreator, times(1)).create();
+        actual.close();
+    }
+    
+    @Test
+    public void assertServeFromSnapshotWhenRegistryCenterUnavailable() throws SQLException, InterruptedException {
+        when(orchestrationDataSourceCreator.create()).thenThrow(new IllegalStateException("Registry center is unavailable"));
+        OrchestrationSnapshotDataSource actual = new OrchestrationSnapshotDataSource(orchestrationDataSourceCreator, RegistryConfigurationSnapshotTest.createMasterSlaveSnapshot(), snapshotKeeper);
+        Thread.sleep(200L);
+        assertFalse(actual.isReconciled());
+        assertThat(actual.getDataSource(), instanceOf(MasterSlaveDataSource.class));
+        actual.close();
+    }
+    
+    @Test
+    public void assertCloseDataSourceReconciledAfterClose() throws Exception {
+        final DataSource reconciledDataSource = mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+        final CountDownLatch createLatch = new CountDownLatch(1);
+        when(orchestrationDataSourceCreator.create()).thenAnswer(new Answer<DataSource>() {
+            
+            @Override
+            public DataSource answer(final InvocationOnMock invocation) {
+                Uninterruptibles.awaitUninterruptibly(createLatch);
+                return reconciledDataSource;
+            }
+        });
+        OrchestrationSnapshotDataSource actual = new OrchestrationSnapshotDataSource(orchestrationDataSourceCreator, RegistryConfigurationSnapshotTest.createMasterSlaveSnapshot(), snapshotKeeper);
+        DataSource snapshotDataSource = actual.getDataSource();
+        actual.close();
+        createLatch.countDown();
+        verify((AutoCloseable) reconciledDataSource, timeout(5000L)).close();
+        assertFalse(actual.isReconciled());
+        assertThat(actual.getDataSource(), is(snapshotDataSource));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertCreateWithIncompleteSnapshot() throws SQLException {
+        new OrchestrationSnapshotDataSource(orchestrationDataSourceCreator, new RegistryConfigurationSnapshot(Collections.<String, String>emptyMap()), snapshotKeeper);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.registry;
+
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenter;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenterConfiguration;
+import org.apache.shardingsphere.orchestration.reg.listener.DataChangedEvent;
+import org.apache.shardingsphere.orchestration.reg.listener.DataChangedEventListener;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class MemoryRegistryCenterTest {
+    
+    @After
+    public void tearDown() {
+        MemoryRegistryCenter.clear();
+    }
+    
+    @Test
+    public void assertPersistAndGet() {
+        RegistryCenter registryCenter = createRegistryCenter("memory://persist_test");
+        registryCenter.persist("/test/config/props", "sql.show: true");
+        registryCenter.persist("/test/config/schema/logic_db/rule", "tables:");
+        registryCenter.update("/test/config/props", "sql.show: false");
+        assertThat(registryCenter.get("/test/config/props"), is("sql.show: false"));
+        assertThat(registryCenter.getDirectly("/test/config/schema/logic_db/rule"), is("tables:"));
+        assertTrue(registryCenter.isExisted("/test/config/schema"));
+        assertFalse(registryCenter.isExisted("/test/state"));
+        assertThat(registryCenter.getChildrenKeys("/test/config"), is(Arrays.asList("schema", "props")));
+        registryCenter.close();
+    }
+    
+    @Test
+    public void assertShareStoreAndWatch() throws InterruptedException {
+        RegistryCenter watchingRegistryCenter = createRegistryCenter("memory://watch_test");
+        RegistryCenter changingRegistryCenter = createRegistryCenter("memory://watch_test");
+        RegistryCenter otherRegistryCenter = createRegistryCenter("memory://other_watch_test");
+        BlockingQueue<DataChangedEvent> events = new LinkedBlockingQueue<>();
+        watchingRegistryCenter.watch("/test/config", createListener(events));
+        otherRegistryCenter.watch("/test/config", createListener(events));
+        changingRegistryCenter.persist("/test/config/props", "sql.show: true");
+        changingRegistryCenter.persist("/test/state/instances/127.0.0.1", "");
+        DataChangedEvent actual = events.poll(5L, TimeUnit.SECONDS);
+        assertThat(actual.getKey(), is("/test/config/props"));
+        assertThat(actual.getValue(), is("sql.show: true"));
+        assertThat(actual.getChangedType(), is(DataChangedEvent.ChangedType.UPDATED));
+        assertNull(events.poll(200L, TimeUnit.MILLISECONDS));
+        assertNull(otherRegistryCenter.get("/test/config/props"));
+        watchingRegistryCenter.close();
+        changingRegistryCenter.close();
+        otherRegistryCenter.close();
+    }
+    
+    @Test
+    public void assertRemoveEphemeralOnClose() throws InterruptedException {
+        RegistryCenter watchingRegistryCenter = createRegistryCenter("memory://ephemeral_test");
+        RegistryCenter instanceRegistryCenter = createRegistryCenter("memory://ephemeral_test");
+        BlockingQueue<DataChangedEvent> events = new LinkedBlockingQueue<>();
+        watchingRegistryCenter.watch("/test/state/instances", createListener(events));
+        instanceRegistryCenter.persistEphemeral("/test/state/instances/127.0.0.1@-@1", "");
+        assertThat(events.poll(5L, TimeUnit.SECONDS).getChangedType(), is(DataChangedEvent.ChangedType.UPDATED));
+        instanceRegistryCenter.close();
+        DataChangedEvent actual = events.poll(5L, TimeUnit.SECONDS);
+        assertThat(actual.getKey(), is("/test/state/instances/127.0.0.1@-@1"));
+        assertThat(actual.getChangedType(), is(DataChangedEvent.ChangedType.DELETED));
+        assertFalse(watchingRegistryCenter.isExisted("/test/state/instances/127.0.0.1@-@1"));
+        watchingRegistryCenter.close();
+    }
+    
+    @Test
+    public void assertInjectLatency() {
+        RegistryCenter registryCenter = createRegistryCenter("memory://latency_test?latency-milliseconds=50");
+        long startTime = System.nanoTime();
+        registryCenter.persist("/test/config/props", "sql.show: true");
+        registryCenter.get("/test/config/props");
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) >= 100L);
+        registryCenter.close();
+    }
+    
+    @Test
+    public void assertKeepEventOrderOfWritersWithDifferentLatency() throws InterruptedException {
+        RegistryCenter watchingRegistryCenter = createRegistryCenter("memory://order_test");
+        RegistryCenter slowRegistryCenter = createRegistryCenter("memory://order_test?latency-milliseconds=200");
+        RegistryCenter fastRegistryCenter = createRegistryCenter("memory://order_test");
+        BlockingQueue<DataChangedEvent> events = new LinkedBlockingQueue<>();
+        watchingRegistryCenter.watch("/test/config", createListener(events));
+        slowRegistryCenter.persist("/test/config/props", "sql.show: true");
+        fastRegistryCenter.persist("/test/config/props", "sql.show: false");
+        assertThat(events.poll(5L, TimeUnit.SECONDS).getValue(), is("sql.show: true"));
+        assertThat(events.poll(5L, TimeUnit.SECONDS).getValue(), is("sql.show: false"));
+        watchingRegistryCenter.close();
+        slowRegistryCenter.close();
+        fastRegistryCenter.close();
+    }
+    
+    @Test
+    public void assertClear() {
+        RegistryCenter registryCenter = createRegistryCenter("memory://clear_test");
+        registryCenter.persist("/test/config/props", "sql.show: true");
+        registryCenter.close();
+        MemoryRegistryCenter.clear();
+        RegistryCenter actual = createRegistryCenter("memory://clear_test");
+        assertNull(actual.get("/test/config/props"));
+        actual.close();
+    }
+    
+    @Test
+    public void assertSelectRegistryCenterByServerLists() {
+        SelectiveRegistryCenter memoryRegistryCenter = createRegistryCenter("memory://select_test");
+        memoryRegistryCenter.persist("/test/config/props", "sql.show: true");
+        assertThat(memoryRegistryCenter.get("/test/config/props"), is("sql.show: true"));
+        memoryRegistryCenter.close();
+        SelectiveRegistryCenter otherRegistryCenter = createRegistryCenter("localhost:3181");
+        otherRegistryCenter.persist("/test/config/props", "sql.show: true");
+        assertThat(otherRegistryCenter.get("/test/config/props"), is(""));
+        otherRegistryCenter.close();
+    }
+    
+    @Test
+    public void assertGetServerLists() {
+        assertThat(MemoryRegistryCenter.getServerLists("localhost:3181"), is("memory://localhost:3181"));
+        assertThat(MemoryRegistryCenter.getServerLists("memory://test"), is("memory://test"));
+    }
+    
+    private SelectiveRegistryCenter createRegistryCenter(final String serverLists) {
+        RegistryCenterConfiguration config = new RegistryCenterConfiguration();
+        config.setServerLists(serverLists);
+        config.setNamespace("memory_registry_test");
+        SelectiveRegistryCenter result = new SelectiveRegistryCenter();
+        result.init(config);
+        return result;
+    }
+    
+    private DataChangedEventListener createListener(final BlockingQueue<DataChangedEvent> events) {
+        return new DataChangedEventListener() {
+            
+            @Override
+            public void onChange(final DataChangedEvent dataChangedEvent) {
+                events.add(dataChangedEvent);
+            }
+        };
+    }
+}
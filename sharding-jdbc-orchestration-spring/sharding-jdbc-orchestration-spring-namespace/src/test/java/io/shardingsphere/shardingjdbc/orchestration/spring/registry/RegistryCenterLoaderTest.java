@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.registry;
+
+import org.apache.shardingsphere.core.exception.ShardingException;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenter;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Enumeration;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertThat;
+
+public final class RegistryCenterLoaderTest {
+    
+    @Test
+    public void assertLoadMemoryRegistryCenter() {
+        assertThat(RegistryCenterLoader.load("memory://loader_test"), instanceOf(MemoryRegistryCenter.class));
+    }
+    
+    @Test
+    public void assertLoadOtherRegistryCenter() {
+        assertThat(RegistryCenterLoader.load("localhost:3181"), instanceOf(TestRegistryCenter.class));
+    }
+    
+    @Test
+    public void assertCheckSelectable() {
+        RegistryCenterLoader.checkSelectable("memory://loader_test");
+        RegistryCenterLoader.checkSelectable("localhost:3181");
+    }
+    
+    @Test(expected = ShardingException.class)
+    public void assertCheckSelectableWithoutSelectiveRegistryCenter() throws IOException {
+        final String servicesName = "META-INF/services/" + RegistryCenter.class.getName();
+        File servicesFile = File.createTempFile("registry", ".services");
+        servicesFile.deleteOnExit();
+        Files.write(servicesFile.toPath(), TestRegistryCenter.class.getName().getBytes(StandardCharsets.UTF_8));
+        final URL servicesURL = servicesFile.toURI().toURL();
+        Thread thread = Thread.currentThread();
+        ClassLoader classLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(new ClassLoader(classLoader) {
+            
+            @Override
+            public Enumeration<URL> getResources(final String name) throws IOException {
+                return servicesName.equals(name) ? Collections.enumeration(Collections.singleton(servicesURL)) : super.getResources(name);
+            }
+        });
+        try {
+            RegistryCenterLoader.checkSelectable("memory://loader_test");
+        } finally {
+            thread.setContextClassLoader(classLoader);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.orchestration.spring.snapshot;
+
+import org.apache.shardingsphere.shardingjdbc.jdbc.core.datasource.MasterSlaveDataSource;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class RegistryConfigurationSnapshotTest {
+    
+    public static final String MASTER_SLAVE_RULE = "name: ms_ds\nmasterDataSourceName: master_ds\nslaveDataSourceNames:\n- slave_ds\n";
+    
+    public static final String DATA_SOURCES = "master_ds: !!org.apache.shardingsphere.orchestration.yaml.YamlDataSourceConfiguration\n"
+            + "  dataSourceClassName: org.apache.commons.dbcp2.BasicDataSource\n"
+            + "  properties:\n    driverClassName: org.h2.Driver\n    url: jdbc:h2:mem:snapshot_master_ds;DB_CLOSE_DELAY=-1\n    username: sa\n    password: ''\n    maxTotal: 10\n    unknownProperty: foo\n"
+            + "slave_ds: !!org.apache.shardingsphere.orchestration.yaml.YamlDataSourceConfiguration\n"
+            + "  dataSourceClassName: org.apache.commons.dbcp2.BasicDataSource\n"
+            + "  properties:\n    driverClassName: org.h2.Driver\n    url: jdbc:h2:mem:snapshot_slave_ds;DB_CLOSE_DELAY=-1\n    username: sa\n    password: ''\n";
+    
+    public static RegistryConfigurationSnapshot createMasterSlaveSnapshot() {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        nodes.put(RegistryConfigurationSnapshot.RULE_NODE, MASTER_SLAVE_RULE);
+        nodes.put(RegistryConfigurationSnapshot.DATA_SOURCE_NODE, DATA_SOURCES);
+        nodes.put(RegistryConfigurationSnapshot.CONFIG_MAP_NODE, "");
+        nodes.put(RegistryConfigurationSnapshot.PROPS_NODE, "sql.show: true\n");
+        return new RegistryConfigurationSnapshot(nodes);
+    }
+    
+    @Test
+    public void assertSaveAndLoad() throws IOException {
+        File file = File.createTempFile("registry", ".snapshot");
+        file.deleteOnExit();
+        createMasterSlaveSnapshot().save(file);
+        RegistryConfigurationSnapshot actual = RegistryConfigurationSnapshot.load(file);
+        assertThat(actual.getNodes(), is(createMasterSlaveSnapshot().getNodes()));
+        assertTrue(actual.isComplete());
+        assertFalse(actual.isShardingRule());
+    }
+    
+    @Test
+    public void assertSaveReadableByOwnerOnly() throws IOException {
+        File file = File.createTempFile("registry", ".snapshot");
+        file.deleteOnExit();
+        createMasterSlaveSnapshot().save(file);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            assertThat(Files.getPosixFilePermissions(file.toPath()), is((Set<PosixFilePermission>) EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE)));
+        }
+    }
+    
+    @Test
+    public void assertLoadAbsentFile() {
+        assertNull(RegistryConfigurationSnapshot.load(new File("target/absent.snapshot")));
+    }
+    
+    @Test
+    public void assertLoadOtherVersion() throws IOException {
+        File file = File.createTempFile("registry", ".snapshot");
+        file.deleteOnExit();
+        try (DataOutputStream outputStream = new DataOutputStream(new FileOutputStream(file))) {
+            outputStream.writeInt(0x52435331);
+            outputStream.writeInt(0);
+        }
+        assertNull(RegistryConfigurationSnapshot.load(file));
+    }
+    
+    @Test
+    public void assertIsShardingRule() {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        nodes.put(RegistryConfigurationSnapshot.RULE_NODE, "tables:\n  t_order:\n    actualDataNodes: ds_${0..1}.t_order\n");
+        assertTrue(new RegistryConfigurationSnapshot(nodes).isShardingRule());
+        assertFalse(new RegistryConfigurationSnapshot(nodes).isComplete());
+    }
+    
+    @Test
+    public void assertCreateMasterSlaveDataSource() throws SQLException {
+        DataSource actual = createMasterSlaveSnapshot().createDataSource();
+        assertThat(actual, instanceOf(MasterSlaveDataSource.class));
+        assertThat(((MasterSlaveDataSource) actual).getDataSourceMap().size(), is(2));
+        ((MasterSlaveDataSource) actual).close();
+    }
+}
@@ -18,26 +18,52 @@
 package io.shardingsphere.shardingjdbc.spring.boot;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Suppliers;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import io.shardingsphere.shardingjdbc.spring.boot.common.SpringBootConfigMapConfigurationProperties;
 import io.shardingsphere.shardingjdbc.spring.boot.common.SpringBootPropertiesConfigurationProperties;
 import io.shardingsphere.shardingjdbc.spring.boot.masterslave.SpringBootMasterSlaveRuleConfigurationProperties;
 import io.shardingsphere.shardingjdbc.spring.boot.sharding.SpringBootShardingRuleConfigurationProperties;
-import io.shardingsphere.shardingjdbc.spring.boot.util.PropertyUtil;
+import io.shardingsphere.spring.boot.util.DataSourceMapFactory;
+import io.shardingsphere.spring.boot.util.DataSourcePoolMetrics;
+import io.shardingsphere.spring.boot.util.DataSourceRefresher;
+import io.shardingsphere.spring.boot.util.LazyInitDataSource;
+import io.shardingsphere.spring.boot.util.PropertyUtil;
+import io.shardingsphere.spring.boot.util.RefreshableDataSource;
+import io.shardingsphere.spring.boot.util.endpoint.ShardingEndpoint;
+import io.shardingsphere.spring.boot.util.instrument.InstrumentedDataSourceFactory;
+import io.shardingsphere.spring.boot.util.instrument.LogicTableMatcher;
+import io.shardingsphere.spring.boot.util.instrument.RoutingStatistics;
+import io.shardingsphere.spring.boot.util.instrument.SQLExecutionListener;
+import io.shardingsphere.spring.boot.util.instrument.SQLExecutionMetrics;
+import io.shardingsphere.spring.boot.util.instrument.SQLExecutionNotifier;
 import lombok.RequiredArgsConstructor;
-import org.apache.shardingsphere.core.exception.ShardingException;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.shardingsphere.core.util.InlineExpressionParser;
 import org.apache.shardingsphere.shardingjdbc.api.MasterSlaveDataSourceFactory;
 import org.apache.shardingsphere.shardingjdbc.api.ShardingDataSourceFactory;
-import org.apache.shardingsphere.shardingjdbc.util.DataSourceUtil;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava.JavaVersion;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.StandardEnvironment;
 
 import javax.sql.DataSource;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -54,7 +80,12 @@ import java.util.Map;
         SpringBootConfigMapConfigurationProperties.class, SpringBootPropertiesConfigurationProperties.class
 })
 @RequiredArgsConstructor
-public class SpringBootConfiguration implements EnvironmentAware {
+@Slf4j
+public class SpringBootConfiguration implements EnvironmentAware, ApplicationListener<ApplicationEvent>, DisposableBean {
+    
+    private static final long DEFAULT_PARALLEL_INIT_TIMEOUT_MILLISECONDS = 60000L;
+    
+    private static final long DEFAULT_REFRESH_DRAIN_MILLISECONDS = 30000L;
     
     private final SpringBootShardingRuleConfigurationProperties shardingProperties;
     
@@ -66,6 +97,14 @@ public class SpringBootConfiguration implements EnvironmentAware {
     
     private final Map<String, DataSource> dataSourceMap = new LinkedHashMap<>();
     
+    private boolean lazyInitWarmUp;
+    
+    private Environment environment;
+    
+    private DataSourceRefresher dataSourceRefresher;
+    
+    private SQLExecutionNotifier sqlExecutionNotifier;
+    
     /**
      * Get data source bean.
      *
@@ -74,25 +113,129 @@ public class SpringBootConfiguration implements EnvironmentAware {
      */
     @Bean
     public DataSource dataSource() throws SQLException {
-        return null == masterSlaveProperties.getMasterDataSourceName()
-                ? ShardingDataSourceFactory
-            .createDataSource(dataSourceMap, shardingProperties.getShardingRuleConfiguration(), configMapProperties.getConfigMap(), propMapProperties.getProps())
-                : MasterSlaveDataSourceFactory.createDataSource(
-                        dataSourceMap, masterSlaveProperties.getMasterSlaveRuleConfiguration(), configMapProperties.getConfigMap(), propMapProperties.getProps());
+        Map<String, DataSource> actualDataSourceMap = null == sqlExecutionNotifier ? dataSourceMap : InstrumentedDataSourceFactory.createPhysicalDataSourceMap(dataSourceMap, sqlExecutionNotifier);
+        try {
+            DataSource result = null == masterSlaveProperties.getMasterDataSourceName()
+                    ? ShardingDataSourceFactory
+                .createDataSource(actualDataSourceMap, shardingProperties.getShardingRuleConfiguration(), configMapProperties.getConfigMap(), propMapProperties.getProps())
+                    : MasterSlaveDataSourceFactory.createDataSource(
+                            actualDataSourceMap, masterSlaveProperties.getMasterSlaveRuleConfiguration(), configMapProperties.getConfigMap(), propMapProperties.getProps());
+            return null == sqlExecutionNotifier
+                    ? result : InstrumentedDataSourceFactory.createLogicDataSource(result, sqlExecutionNotifier, new LogicTableMatcher(shardingProperties.getTables().keySet()));
+        } finally {
+            finishBootstrap();
+        }
     }
     
     @Override
     public final void setEnvironment(final Environment environment) {
+        this.environment = environment;
         String prefix = "sharding.jdbc.datasource.";
-        for (String each : getDataSourceNames(environment, prefix)) {
-            try {
-                dataSourceMap.put(each, getDataSource(environment, prefix, each));
-            } catch (final ReflectiveOperationException ex) {
-                throw new ShardingException("Can't find datasource type!", ex);
+        boolean defaultLazyInit = environment.getProperty(prefix + LazyInitDataSource.LAZY_INIT_KEY, Boolean.class, false);
+        lazyInitWarmUp = environment.getProperty(prefix + "lazy-init-warm-up", Boolean.class, false);
+        List<String> dataSourceNames = getDataSourceNames(environment, prefix);
+        Map<String, DataSource> lazyInitDataSourceMap = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> allDataSourceProps = PropertyUtil.handleAll(environment, prefix, dataSourceNames);
+        Map<String, Map<String, Object>> dataSourcePropsMap = new LinkedHashMap<>();
+        for (String each : dataSourceNames) {
+            Map<String, Object> dataSourceProps = getDataSourceProps(allDataSourceProps, each);
+            if (LazyInitDataSource.isLazyInit(dataSourceProps, defaultLazyInit)) {
+                lazyInitDataSourceMap.put(each, new LazyInitDataSource(each, dataSourceProps));
+            } else {
+                dataSourcePropsMap.put(each, LazyInitDataSource.removeLazyInit(dataSourceProps));
+            }
+        }
+        Map<String, DataSource> initializedDataSourceMap = environment.getProperty(prefix + "parallel-init.enabled", Boolean.class, false)
+                ? createDataSourceMapInParallel(environment, prefix, dataSourcePropsMap) : DataSourceMapFactory.createDataSourceMap(dataSourcePropsMap);
+        if (environment.getProperty("sharding.jdbc.instrumentation.enabled", Boolean.class, false)) {
+            sqlExecutionNotifier = new SQLExecutionNotifier();
+        }
+        if (environment.getProperty(prefix + "refresh.enabled", Boolean.class, false)) {
+            dataSourceRefresher = new DataSourceRefresher(
+                    prefix, defaultLazyInit, environment.getProperty(prefix + "refresh.drain-milliseconds", Long.class, DEFAULT_REFRESH_DRAIN_MILLISECONDS));
+        }
+        for (String each : dataSourceNames) {
+            DataSource dataSource = lazyInitDataSourceMap.containsKey(each) ? lazyInitDataSourceMap.get(each) : initializedDataSourceMap.get(each);
+            dataSourceMap.put(each, null == dataSourceRefresher ? dataSource : new RefreshableDataSource(each, dataSource, getDataSourceProps(allDataSourceProps, each)));
+        }
+    }
+    
+    /**
+     * Register SQL execution listener beans after context is refreshed if {@code sharding.jdbc.instrumentation.enabled} is enabled,
+     * warm up lazy init data sources in background after application is ready if {@code sharding.jdbc.datasource.lazy-init-warm-up} is enabled,
+     * and rebuild changed data sources on environment change event of Spring Cloud if {@code sharding.jdbc.datasource.refresh.enabled} is enabled.
+     * 
+     * @param event application event
+     */
+    @Override
+    public final void onApplicationEvent(final ApplicationEvent event) {
+        if (event instanceof ContextRefreshedEvent && null != sqlExecutionNotifier) {
+            sqlExecutionNotifier.register(((ContextRefreshedEvent) event).getApplicationContext().getBeansOfType(SQLExecutionListener.class).values());
+        } else if (event instanceof ApplicationReadyEvent && lazyInitWarmUp) {
+            startWarmUp();
+        } else if (null != dataSourceRefresher && DataSourceRefresher.isEnvironmentChangeEvent(event)) {
+            Collection<String> refreshedDataSourceNames = dataSourceRefresher.refresh(environment, dataSourceMap, DataSourceRefresher.getChangedKeys(event));
+            if (!refreshedDataSourceNames.isEmpty()) {
+                log.info("Datasources {} are refreshed", refreshedDataSourceNames);
+            }
+        }
+    }
+    
+    /**
+     * Close data sources replaced by refresh.
+     */
+    @Override
+    public final void destroy() {
+        if (null != dataSourceRefresher) {
+            dataSourceRefresher.close();
+        }
+    }
+    
+    private void startWarmUp() {
+        Thread thread = new Thread(new Runnable() {
+            
+            @Override
+            public void run() {
+                warmUpLazyInitDataSources();
+            }
+        }, "ShardingSphere-datasource-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    private void warmUpLazyInitDataSources() {
+        for (DataSource each : dataSourceMap.values()) {
+            LazyInitDataSource lazyInitDataSource = findLazyInitDataSource(each);
+            if (null != lazyInitDataSource && !lazyInitDataSource.isInitialized()) {
+                try {
+                    lazyInitDataSource.warmUp();
+                } catch (final SQLException ex) {
+                    log.warn("Warm up datasource [{}] failed", lazyInitDataSource.getDataSourceName(), ex);
+                }
+            }
+        }
+    }
+    
+    private void finishBootstrap() {
+        for (DataSource each : dataSourceMap.values()) {
+            LazyInitDataSource lazyInitDataSource = findLazyInitDataSource(each);
+            if (null != lazyInitDataSource) {
+                lazyInitDataSource.finishBootstrap();
             }
         }
     }
     
+    private LazyInitDataSource findLazyInitDataSource(final DataSource dataSource) {
+        DataSource result = dataSource instanceof RefreshableDataSource ? ((RefreshableDataSource) dataSource).getTargetDataSource() : dataSource;
+        return result instanceof LazyInitDataSource ? (LazyInitDataSource) result : null;
+    }
+    
+    private Map<String, DataSource> createDataSourceMapInParallel(final Environment environment, final String prefix, final Map<String, Map<String, Object>> dataSourcePropsMap) {
+        int maxThreads = environment.getProperty(prefix + "parallel-init.max-threads", Integer.class, Runtime.getRuntime().availableProcessors() * 2);
+        long timeoutMilliseconds = environment.getProperty(prefix + "parallel-init.timeout-milliseconds", Long.class, DEFAULT_PARALLEL_INIT_TIMEOUT_MILLISECONDS);
+        return DataSourceMapFactory.createDataSourceMapInParallel(dataSourcePropsMap, maxThreads, timeoutMilliseconds);
+    }
+    
     private List<String> getDataSourceNames(final Environment environment, final String prefix) {
         StandardEnvironment standardEnv = (StandardEnvironment) environment;
         standardEnv.setIgnoreUnresolvableNestedPlaceholders(true);
@@ -100,10 +243,93 @@ public class SpringBootConfiguration implements EnvironmentAware {
         return new InlineExpressionParser(dataSources).splitAndEvaluate();
     }
     
-    @SuppressWarnings("unchecked")
-    private DataSource getDataSource(final Environment environment, final String prefix, final String dataSourceName) throws ReflectiveOperationException {
-        Map<String, Object> dataSourceProps = PropertyUtil.handle(environment, prefix + dataSourceName.trim(), Map.class);
-        Preconditions.checkState(!dataSourceProps.isEmpty(), "Wrong datasource properties!");
-        return DataSourceUtil.getDataSource(dataSourceProps.get("type").toString(), dataSourceProps);
+    private Map<String, Object> getDataSourceProps(final Map<String, Map<String, Object>> allDataSourceProps, final String dataSourceName) {
+        Map<String, Object> result = allDataSourceProps.get(dataSourceName.trim());
+        Preconditions.checkState(null != result && !result.isEmpty(), "Wrong datasource properties!");
+        return result;
+    }
+    
+    /**
+     * Micrometer metrics configuration of connection pools of data sources.
+     */
+    @Configuration
+    @ConditionalOnClass(MeterBinder.class)
+    @ConditionalOnProperty(name = "sharding.jdbc.datasource.metrics.enabled", havingValue = "true", matchIfMissing = true)
+    @RequiredArgsConstructor
+    static class DataSourcePoolMetricsConfiguration {
+        
+        private final SpringBootConfiguration configuration;
+        
+        /**
+         * Get meter binder of connection pools.
+         * 
+         * @return meter binder of connection pools
+         */
+        @Bean
+        public MeterBinder shardingDataSourcePoolMetrics() {
+            return new DataSourcePoolMetrics(configuration.dataSourceMap);
+        }
+    }
+    
+    /**
+     * Micrometer timers configuration of SQL execution phases.
+     */
+    @Configuration
+    @ConditionalOnClass(MeterBinder.class)
+    @ConditionalOnProperty(name = "sharding.jdbc.instrumentation.enabled", havingValue = "true")
+    @RequiredArgsConstructor
+    static class SQLExecutionMetricsConfiguration {
+        
+        private final Environment environment;
+        
+        /**
+         * Get micrometer timers of SQL execution phases.
+         * 
+         * <p>
+         * Set {@code sharding.jdbc.instrumentation.percentiles.enabled} to true to publish percentiles and percentile histograms.
+         * </p>
+         * 
+         * @return micrometer timers of SQL execution phases
+         */
+        @Bean
+        public SQLExecutionMetrics shardingSQLExecutionMetrics() {
+            return new SQLExecutionMetrics(environment.getProperty("sharding.jdbc.instrumentation.percentiles.enabled", Boolean.class, false));
+        }
+    }
+    
+    /**
+     * Actuator endpoint configuration of sharding.
+     */
+    @Configuration
+    @ConditionalOnClass(AbstractEndpoint.class)
+    @ConditionalOnJava(JavaVersion.EIGHT)
+    @RequiredArgsConstructor
+    static class ShardingEndpointConfiguration {
+        
+        private final SpringBootConfiguration configuration;
+        
+        /**
+         * Get routing statistics fed by SQL execution instrumentation.
+         * 
+         * @return routing statistics
+         */
+        @Bean
+        @ConditionalOnProperty(name = "sharding.jdbc.instrumentation.enabled", havingValue = "true")
+        public RoutingStatistics shardingRoutingStatistics() {
+            return new RoutingStatistics();
+        }
+        
+        /**
+         * Get actuator endpoint of sharding.
+         * 
+         * @param routingStatistics routing statistics
+         * @return actuator endpoint of sharding
+         * @throws SQLException SQL Exception
+         */
+        @Bean
+        @ConditionalOnEnabledEndpoint("sharding")
+        public ShardingEndpoint shardingEndpoint(final ObjectProvider<RoutingStatistics> routingStatistics) throws SQLException {
+            return new ShardingEndpoint(configuration.dataSourceMap, Suppliers.ofInstance(configuration.dataSource()), routingStatistics.getIfAvailable());
+        }
     }
 }
@@ -18,6 +18,7 @@
 package io.shardingsphere.shardingjdbc.spring.boot;
 
 import io.shardingsphere.shardingjdbc.spring.boot.type.SpringBootMasterSlaveTest;
+import io.shardingsphere.shardingjdbc.spring.boot.type.SpringBootNativeImageHintsTest;
 import io.shardingsphere.shardingjdbc.spring.boot.type.SpringBootShardingTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -26,7 +27,8 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         SpringBootMasterSlaveTest.class,
-        SpringBootShardingTest.class 
+        SpringBootShardingTest.class,
+        SpringBootNativeImageHintsTest.class 
     })
 public final class AllTests {
 }
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.spring.boot.type;
+
+import io.shardingsphere.shardingjdbc.spring.boot.fixture.ModuloTableShardingAlgorithm;
+import io.shardingsphere.spring.boot.util.aot.NativeImageHintsGenerator;
+import lombok.SneakyThrows;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.shardingsphere.api.ConfigMapContext;
+import org.apache.shardingsphere.core.routing.strategy.standard.StandardShardingStrategy;
+import org.apache.shardingsphere.core.rule.TableRule;
+import org.apache.shardingsphere.shardingjdbc.jdbc.core.ShardingContext;
+import org.apache.shardingsphere.shardingjdbc.jdbc.core.datasource.ShardingDataSource;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import javax.annotation.Resource;
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(classes = SpringBootNativeImageHintsTest.class)
+@SpringBootApplication
+@ActiveProfiles("native")
+public class SpringBootNativeImageHintsTest {
+    
+    @Resource
+    private DataSource dataSource;
+    
+    @BeforeClass
+    public static void setUp() {
+        ConfigMapContext.getInstance().getConfigMap().clear();
+    }
+    
+    @Test
+    public void assertBootWithHintedConfiguration() {
+        assertThat(dataSource, instanceOf(ShardingDataSource.class));
+        for (DataSource each : ((ShardingDataSource) dataSource).getDataSourceMap().values()) {
+            assertThat(each, instanceOf(BasicDataSource.class));
+        }
+        ShardingContext shardingContext = getFieldValue("shardingContext", ShardingDataSource.class, dataSource);
+        TableRule tableRule = shardingContext.getShardingRule().getTableRule("t_order");
+        assertThat(tableRule.getActualDataNodes().size(), is(4));
+        assertThat(tableRule.getTableShardingStrategy(), instanceOf(StandardShardingStrategy.class));
+    }
+    
+    @Test
+    public void assertResolveConfiguredClassesAtBuildTime() {
+        Collection<String> actual = NativeImageHintsGenerator.findClassNames(loadProperties("application-native.properties"));
+        assertThat(actual, is((Collection<String>) Arrays.asList(ModuloTableShardingAlgorithm.class.getName(), BasicDataSource.class.getName())));
+        assertThat(NativeImageHintsGenerator.resolveClasses(actual, getClass().getClassLoader()).size(), is(2));
+    }
+    
+    @Test
+    public void assertFindGroovyEvaluatedKeys() {
+        Collection<String> actual = NativeImageHintsGenerator.findGroovyEvaluatedKeys(loadProperties("application-native.properties"));
+        assertThat(actual, is((Collection<String>) Arrays.asList("sharding.jdbc.config.sharding.default-database-strategy.inline.algorithm-expression", 
+                "sharding.jdbc.config.sharding.tables.t_order.actual-data-nodes", "sharding.jdbc.datasource.names")));
+    }
+    
+    @SneakyThrows
+    private Properties loadProperties(final String fileName) {
+        Properties result = new Properties();
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName)) {
+            result.load(inputStream);
+        }
+        return result;
+    }
+    
+    @SuppressWarnings("unchecked")
+    @SneakyThrows
+    private <T> T getFieldValue(final String fieldName, final Class<?> fieldClass, final Object target) {
+        Field field = fieldClass.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return (T) field.get(target);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.spring.boot2;
+
+import com.google.common.base.Preconditions;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.shardingsphere.spring.boot.util.DataSourcePoolMetrics;
+import lombok.RequiredArgsConstructor;
+import org.apache.shardingsphere.core.util.InlineExpressionParser;
+import org.apache.shardingsphere.core.yaml.masterslave.YamlMasterSlaveRuleConfiguration;
+import org.apache.shardingsphere.core.yaml.sharding.YamlShardingRuleConfiguration;
+import org.apache.shardingsphere.shardingjdbc.api.MasterSlaveDataSourceFactory;
+import org.apache.shardingsphere.shardingjdbc.api.ShardingDataSourceFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Spring boot 2 sharding and master-slave configuration.
+ * 
+ * <p>All properties are bound by {@code Binder} of spring boot 2 directly, without reflection bridge of spring boot 1.</p>
+ *
+ * @author yangyi
+ */
+@Configuration
+public class SpringBoot2Configuration implements EnvironmentAware {
+    
+    private static final String DATA_SOURCE_PREFIX = "sharding.jdbc.datasource";
+    
+    private static final String CONFIG_PREFIX = "sharding.jdbc.config.";
+    
+    private final Map<String, DataSource> dataSourceMap = new LinkedHashMap<>();
+    
+    private Binder binder;
+    
+    /**
+     * Get data source bean.
+     *
+     * @return data source bean
+     * @throws SQLException SQL exception
+     */
+    @Bean
+    public DataSource dataSource() throws SQLException {
+        Map<String, Object> configMap = binder.bind(CONFIG_PREFIX + "config-map", Bindable.mapOf(String.class, Object.class)).orElseGet(LinkedHashMap::new);
+        Properties props = binder.bind(CONFIG_PREFIX + "props", Bindable.of(Properties.class)).orElseGet(Properties::new);
+        YamlMasterSlaveRuleConfiguration masterSlaveRuleConfig = binder.bind(CONFIG_PREFIX + "masterslave", YamlMasterSlaveRuleConfiguration.class).orElse(null);
+        if (null != masterSlaveRuleConfig && null != masterSlaveRuleConfig.getMasterDataSourceName()) {
+            return MasterSlaveDataSourceFactory.createDataSource(dataSourceMap, masterSlaveRuleConfig.getMasterSlaveRuleConfiguration(), configMap, props);
+        }
+        YamlShardingRuleConfiguration shardingRuleConfig = binder.bind(CONFIG_PREFIX + "sharding", YamlShardingRuleConfiguration.class).orElseGet(YamlShardingRuleConfiguration::new);
+        return ShardingDataSourceFactory.createDataSource(dataSourceMap, shardingRuleConfig.getShardingRuleConfiguration(), configMap, props);
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public final void setEnvironment(final Environment environment) {
+        binder = Binder.get(environment);
+        Map<String, Object> allDataSourceProps = binder.bind(DATA_SOURCE_PREFIX, Bindable.mapOf(String.class, Object.class)).orElse(Collections.emptyMap());
+        for (String each : getDataSourceNames()) {
+            Object dataSourceProps = allDataSourceProps.get(each.trim());
+            Preconditions.checkState(dataSourceProps instanceof Map && !((Map<?, ?>) dataSourceProps).isEmpty(), "Wrong datasource [%s] properties!", each);
+            dataSourceMap.put(each, SpringBoot2DataSourceFactory.createDataSource((Map<String, Object>) dataSourceProps));
+        }
+    }
+    
+    private List<String> getDataSourceNames() {
+        return binder.bind(DATA_SOURCE_PREFIX + ".names", String.class).map(each -> new InlineExpressionParser(each).splitAndEvaluate()).orElse(Collections.emptyList());
+    }
+    
+    /**
+     * Micrometer metrics configuration of connection pools of data sources.
+     */
+    @Configuration
+    @ConditionalOnClass(MeterBinder.class)
+    @ConditionalOnProperty(name = "sharding.jdbc.datasource.metrics.enabled", havingValue = "true", matchIfMissing = true)
+    @RequiredArgsConstructor
+    static class DataSourcePoolMetricsConfiguration {
+        
+        private final SpringBoot2Configuration configuration;
+        
+        /**
+         * Get meter binder of connection pools.
+         * 
+         * @return meter binder of connection pools
+         */
+        @Bean
+        public MeterBinder shardingDataSourcePoolMetrics() {
+            return new DataSourcePoolMetrics(configuration.dataSourceMap);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.spring.boot2;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Data source factory of spring boot 2.
+ * 
+ * <p>Connection pool is created by {@code DataSourceBuilder}, and other pool properties are bound to it by {@code Binder} directly.</p>
+ *
+ * @author yangyi
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SpringBoot2DataSourceFactory {
+    
+    /**
+     * Create data source.
+     * 
+     * @param dataSourceProps data source properties, nested properties are nested maps
+     * @return data source
+     */
+    @SuppressWarnings("unchecked")
+    public static DataSource createDataSource(final Map<String, Object> dataSourceProps) {
+        Binder binder = new Binder(new MapConfigurationPropertySource(flatten(dataSourceProps)));
+        DataSourceBuilder<?> builder = DataSourceBuilder.create();
+        binder.bind("type", Bindable.of(Class.class)).ifBound(each -> builder.type((Class<? extends DataSource>) each));
+        binder.bind("driver-class-name", String.class).ifBound(builder::driverClassName);
+        binder.bind("url", String.class).ifBound(builder::url);
+        binder.bind("username", String.class).ifBound(builder::username);
+        binder.bind("password", String.class).ifBound(builder::password);
+        DataSource result = builder.build();
+        binder.bind(ConfigurationPropertyName.EMPTY, Bindable.ofInstance(result));
+        return result;
+    }
+    
+    private static Map<String, Object> flatten(final Map<String, Object> props) {
+        Map<String, Object> result = new LinkedHashMap<>(props.size(), 1);
+        flatten("", props, result);
+        return result;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static void flatten(final String prefix, final Map<String, Object> props, final Map<String, Object> result) {
+        for (Map.Entry<String, Object> entry : props.entrySet()) {
+            if (entry.getValue() instanceof Map) {
+                flatten(prefix + entry.getKey() + ".", (Map<String, Object>) entry.getValue(), result);
+            } else {
+                result.put(prefix + entry.getKey(), entry.getValue());
+            }
+        }
+    }
+}
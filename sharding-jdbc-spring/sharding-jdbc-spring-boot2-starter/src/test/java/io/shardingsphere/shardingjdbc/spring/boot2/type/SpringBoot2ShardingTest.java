@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.shardingjdbc.spring.boot2.type;
+
+import lombok.SneakyThrows;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.shardingsphere.api.ConfigMapContext;
+import org.apache.shardingsphere.core.constant.properties.ShardingPropertiesConstant;
+import org.apache.shardingsphere.core.rule.DataNode;
+import org.apache.shardingsphere.core.rule.ShardingRule;
+import org.apache.shardingsphere.core.rule.TableRule;
+import org.apache.shardingsphere.shardingjdbc.jdbc.core.ShardingContext;
+import org.apache.shardingsphere.shardingjdbc.jdbc.core.datasource.ShardingDataSource;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import javax.annotation.Resource;
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.LinkedList;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(classes = SpringBoot2ShardingTest.class)
+@SpringBootApplication
+@ActiveProfiles("sharding")
+public class SpringBoot2ShardingTest {
+    
+    @Resource
+    private DataSource dataSource;
+    
+    @BeforeClass
+    public static void setUp() {
+        ConfigMapContext.getInstance().getConfigMap().clear();
+    }
+    
+    @Test
+    public void assertWithShardingDataSource() {
+        assertThat(dataSource, instanceOf(ShardingDataSource.class));
+        for (DataSource each : ((ShardingDataSource) dataSource).getDataSourceMap().values()) {
+            assertThat(((BasicDataSource) each).getMaxTotal(), is(100));
+            assertThat(((BasicDataSource) each).getDriverClassName(), is("org.h2.Driver"));
+        }
+        ShardingContext shardingContext = getFieldValue("shardingContext", ShardingDataSource.class, dataSource);
+        assertTrue(shardingContext.getShardingProperties().<Boolean>getValue(ShardingPropertiesConstant.SQL_SHOW));
+        assertThat(shardingContext.getShardingProperties().<Integer>getValue(ShardingPropertiesConstant.EXECUTOR_SIZE), is(100));
+        assertThat(ConfigMapContext.getInstance().getConfigMap(), is(Collections.<String, Object>singletonMap("key1", "value1")));
+    }
+    
+    @Test
+    public void assertWithTableRules() {
+        ShardingContext shardingContext = getFieldValue("shardingContext", ShardingDataSource.class, dataSource);
+        ShardingRule shardingRule = shardingContext.getShardingRule();
+        assertThat(shardingRule.getShardingDataSourceNames().getDataSourceNames().size(), is(3));
+        assertThat(shardingRule.getTableRules().size(), is(2));
+        TableRule tableRule = new LinkedList<>(shardingRule.getTableRules()).get(0);
+        assertThat(tableRule.getLogicTable(), is("t_order"));
+        assertThat(tableRule.getActualDataNodes().size(), is(4));
+        assertTrue(tableRule.getActualDataNodes().contains(new DataNode("ds_1", "t_order_1")));
+        assertThat(shardingRule.getBindingTableRules().size(), is(2));
+        assertThat(shardingRule.getBroadcastTables().iterator().next(), is("t_config"));
+    }
+    
+    @SuppressWarnings("unchecked")
+    @SneakyThrows
+    private <T> T getFieldValue(final String fieldName, final Class<?> fieldClass, final Object target) {
+        Field field = fieldClass.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return (T) field.get(target);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.benchmark;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Benchmark runner.
+ * 
+ * <p>
+ * Accepts all command line options of JMH, help and list options are delegated to JMH main, results are written as JSON to {@code sharding-spring-benchmark.json} unless {@code -rf} or {@code -rff} is given.
+ * </p>
+ *
+ * @author yangyi
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BenchmarkRunner {
+    
+    private static final String DEFAULT_RESULT_FILE = "sharding-spring-benchmark.json";
+    
+    /**
+     * Run benchmarks.
+     * 
+     * @param args JMH command line options
+     * @throws CommandLineOptionException command line option exception
+     * @throws RunnerException runner exception
+     * @throws IOException IO exception
+     */
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList() || commandLineOptions.shouldListWithParams()
+                || commandLineOptions.shouldListProfilers() || commandLineOptions.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder optionsBuilder = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            optionsBuilder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            optionsBuilder.result(DEFAULT_RESULT_FILE);
+        }
+        new Runner(optionsBuilder.build()).run();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.benchmark.boot;
+
+import io.shardingsphere.benchmark.fixture.DataSourceEnvironmentFactory;
+import io.shardingsphere.spring.boot.util.PropertyUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of binding data source properties by {@code PropertyUtil}.
+ * 
+ * <p>
+ * {@code single} binds properties of one data source, {@code all} binds properties of all data sources one by one,
+ * {@code allInOnePass} binds properties of all data sources in one pass as spring boot configuration does.
+ * </p>
+ *
+ * @author yangyi
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyUtilBenchmark {
+    
+    @Param({"1", "16", "64"})
+    private int dataSourceCount;
+    
+    private StandardEnvironment environment;
+    
+    private List<String> dataSourceNames;
+    
+    /**
+     * Create spring environment with data source properties.
+     */
+    @Setup
+    public void setUp() {
+        environment = DataSourceEnvironmentFactory.createEnvironment(dataSourceCount);
+        dataSourceNames = new ArrayList<>(dataSourceCount);
+        for (int i = 0; i < dataSourceCount; i++) {
+            dataSourceNames.add(DataSourceEnvironmentFactory.getDataSourceName(i));
+        }
+    }
+    
+    /**
+     * Bind properties of one data source.
+     * 
+     * @return data source properties
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> bindSingle() {
+        return PropertyUtil.handle(environment, DataSourceEnvironmentFactory.DATA_SOURCE_PREFIX + DataSourceEnvironmentFactory.getDataSourceName(0), Map.class);
+    }
+    
+    /**
+     * Bind properties of all data sources.
+     * 
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    public void bindAll(final Blackhole blackhole) {
+        for (int i = 0; i < dataSourceCount; i++) {
+            blackhole.consume(PropertyUtil.handle(environment, DataSourceEnvironmentFactory.DATA_SOURCE_PREFIX + DataSourceEnvironmentFactory.getDataSourceName(i), Map.class));
+        }
+    }
+    
+    /**
+     * Bind properties of all data sources in one pass.
+     * 
+     * @return properties of all data sources
+     */
+    @Benchmark
+    public Map<String, Map<String, Object>> bindAllInOnePass() {
+        return PropertyUtil.handleAll(environment, DataSourceEnvironmentFactory.DATA_SOURCE_PREFIX, dataSourceNames);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.benchmark.boot;
+
+import io.shardingsphere.benchmark.fixture.DataSourceEnvironmentFactory;
+import io.shardingsphere.shardingjdbc.spring.boot.SpringBootConfiguration;
+import io.shardingsphere.shardingjdbc.spring.boot.common.SpringBootConfigMapConfigurationProperties;
+import io.shardingsphere.shardingjdbc.spring.boot.common.SpringBootPropertiesConfigurationProperties;
+import io.shardingsphere.shardingjdbc.spring.boot.masterslave.SpringBootMasterSlaveRuleConfigurationProperties;
+import io.shardingsphere.shardingjdbc.spring.boot.sharding.SpringBootShardingRuleConfigurationProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of bootstrapping sharding data source by spring boot configuration.
+ * 
+ * <p>
+ * {@code bindDataSources} only creates data sources from environment, {@code bootstrap} creates data sources and sharding data source as application startup does.
+ * </p>
+ *
+ * @author yangyi
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class SpringBootConfigurationBenchmark {
+    
+    @Param({"1", "16", "64"})
+    private int dataSourceCount;
+    
+    private StandardEnvironment environment;
+    
+    private DataSource dataSource;
+    
+    /**
+     * Create spring environment with data source properties.
+     */
+    @Setup
+    public void setUp() {
+        environment = DataSourceEnvironmentFactory.createEnvironment(dataSourceCount);
+    }
+    
+    /**
+     * Close sharding data source created by invocation.
+     * 
+     * @throws Exception exception
+     */
+    @TearDown(Level.Invocation)
+    public void closeDataSource() throws Exception {
+        if (dataSource instanceof AutoCloseable) {
+            ((AutoCloseable) dataSource).close();
+        }
+        dataSource = null;
+    }
+    
+    /**
+     * Create data sources from environment.
+     * 
+     * @return spring boot configuration
+     */
+    @Benchmark
+    public SpringBootConfiguration bindDataSources() {
+        SpringBootConfiguration result = createConfiguration();
+        result.setEnvironment(environment);
+        return result;
+    }
+    
+    /**
+     * Create data sources and sharding data source.
+     * 
+     * @return sharding data source
+     * @throws SQLException SQL exception
+     */
+    @Benchmark
+    public DataSource bootstrap() throws SQLException {
+        SpringBootConfiguration configuration = createConfiguration();
+        configuration.setEnvironment(environment);
+        dataSource = configuration.dataSource();
+        return dataSource;
+    }
+    
+    private SpringBootConfiguration createConfiguration() {
+        SpringBootShardingRuleConfigurationProperties shardingProperties = new SpringBootShardingRuleConfigurationProperties();
+        shardingProperties.setDefaultDataSourceName(DataSourceEnvironmentFactory.getDataSourceName(0));
+        return new SpringBootConfiguration(shardingProperties, new SpringBootMasterSlaveRuleConfigurationProperties(), 
+                new SpringBootConfigMapConfigurationProperties(), new SpringBootPropertiesConfigurationProperties());
+    }
+}
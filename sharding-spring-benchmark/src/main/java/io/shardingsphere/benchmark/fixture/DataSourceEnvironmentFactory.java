@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.benchmark.fixture;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Factory of spring environment with {@code sharding.jdbc.datasource.*} properties of H2 data sources.
+ *
+ * @author yangyi
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DataSourceEnvironmentFactory {
+    
+    public static final String DATA_SOURCE_PREFIX = "sharding.jdbc.datasource.";
+    
+    /**
+     * Create spring environment.
+     * 
+     * @param dataSourceCount count of data sources, names of data sources are {@code ds_0} to {@code ds_(count - 1)}
+     * @return spring environment
+     */
+    public static StandardEnvironment createEnvironment(final int dataSourceCount) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put(DATA_SOURCE_PREFIX + "names", String.format("ds_${0..%d}", dataSourceCount - 1));
+        for (int i = 0; i < dataSourceCount; i++) {
+            String prefix = DATA_SOURCE_PREFIX + getDataSourceName(i) + ".";
+            properties.put(prefix + "type", "org.apache.commons.dbcp2.BasicDataSource");
+            properties.put(prefix + "driver-class-name", "org.h2.Driver");
+            properties.put(prefix + "url", String.format("jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false;MODE=MYSQL", getDataSourceName(i)));
+            properties.put(prefix + "username", "sa");
+            properties.put(prefix + "password", "");
+            properties.put(prefix + "max-total", "16");
+        }
+        StandardEnvironment result = new StandardEnvironment();
+        result.getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        return result;
+    }
+    
+    /**
+     * Get data source name.
+     * 
+     * @param index index of data source
+     * @return data source name
+     */
+    public static String getDataSourceName(final int index) {
+        return "ds_" + index;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.benchmark.fixture;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * In-process fake of Sharding-Proxy data source.
+ * 
+ * <p>
+ * Connections report Sharding-Proxy as database product version and accept {@code SCTL:} statements without sending them to target data source,
+ * other statements are executed by target data source, for example H2.
+ * </p>
+ *
+ * @author yangyi
+ */
+public final class FakeShardingProxyDataSource extends DelegatingDataSource {
+    
+    private static final String PROXY_VERSION = "5.6.0-Sharding-Proxy 4.0.0";
+    
+    private static final String SCTL_PREFIX = "SCTL:";
+    
+    public FakeShardingProxyDataSource(final DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(final Class<T> type, final T target) {
+        return (T) Proxy.newProxyInstance(FakeShardingProxyDataSource.class.getClassLoader(), new Class<?>[] {type}, new InvocationHandler() {
+            
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                if (target instanceof DatabaseMetaData && "getDatabaseProductVersion".equals(method.getName())) {
+                    return PROXY_VERSION;
+                }
+                if (target instanceof Statement && isSCTL(method, args)) {
+                    return "execute".equals(method.getName()) ? (Object) false : (Object) 0;
+                }
+                Object result = invokeTarget(target, method, args);
+                if (result instanceof DatabaseMetaData) {
+                    return wrap(DatabaseMetaData.class, (DatabaseMetaData) result);
+                }
+                if ("createStatement".equals(method.getName())) {
+                    return wrap(Statement.class, (Statement) result);
+                }
+                return result;
+            }
+        });
+    }
+    
+    private static boolean isSCTL(final Method method, final Object[] args) {
+        return ("execute".equals(method.getName()) || "executeUpdate".equals(method.getName())) && args[0] instanceof String && ((String) args[0]).startsWith(SCTL_PREFIX);
+    }
+    
+    private static Object invokeTarget(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
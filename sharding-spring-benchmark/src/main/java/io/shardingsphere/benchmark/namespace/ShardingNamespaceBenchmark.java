@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.benchmark.namespace;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.context.support.GenericXmlApplicationContext;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of parsing sharding namespace and starting spring context.
+ * 
+ * <p>
+ * Configuration with given count of table rules is generated into temporary file before benchmark.
+ * {@code parse} only parses bean definitions of namespace, {@code startup} refreshes and closes spring context which creates sharding data source.
+ * </p>
+ *
+ * @author yangyi
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ShardingNamespaceBenchmark {
+    
+    @Param({"1000", "2000"})
+    private int tableRuleCount;
+    
+    private File configFile;
+    
+    /**
+     * Generate sharding namespace configuration.
+     * 
+     * @throws IOException IO exception
+     */
+    @Setup
+    public void setUp() throws IOException {
+        configFile = File.createTempFile("sharding-namespace-benchmark-", ".xml");
+        configFile.deleteOnExit();
+        try (Writer writer = new OutputStreamWriter(Files.newOutputStream(configFile.toPath()), StandardCharsets.UTF_8)) {
+            writeConfig(writer);
+        }
+    }
+    
+    private void writeConfig(final Writer writer) throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        writer.write("<beans xmlns=\"http://www.springframework.org/schema/beans\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n");
+        writer.write("       xmlns:sharding=\"http://shardingsphere.io/schema/shardingsphere/sharding\"\n");
+        writer.write("       xsi:schemaLocation=\"http://www.springframework.org/schema/beans http://www.springframework.org/schema/beans/spring-beans.xsd\n");
+        writer.write("                           http://shardingsphere.io/schema/shardingsphere/sharding http://shardingsphere.io/schema/shardingsphere/sharding/sharding.xsd\">\n");
+        for (int i = 0; i < 2; i++) {
+            writer.write(String.format("    <bean id=\"ds_%d\" class=\"org.h2.jdbcx.JdbcDataSource\">\n", i));
+            writer.write(String.format("        <property name=\"URL\" value=\"jdbc:h2:mem:namespace_ds_%d;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false;MODE=MYSQL\" />\n", i));
+            writer.write("        <property name=\"user\" value=\"sa\" />\n");
+            writer.write("    </bean>\n");
+        }
+        writer.write("    <sharding:inline-strategy id=\"databaseStrategy\" sharding-column=\"user_id\" algorithm-expression=\"ds_${user_id % 2}\" />\n");
+        for (int i = 0; i < tableRuleCount; i++) {
+            writer.write(String.format("    <sharding:inline-strategy id=\"tableStrategy_%d\" sharding-column=\"order_id\" algorithm-expression=\"t_order_%d_${order_id %% 2}\" />\n", i, i));
+        }
+        writer.write("    <sharding:data-source id=\"shardingDataSource\">\n");
+        writer.write("        <sharding:sharding-rule data-source-names=\"ds_0,ds_1\" default-data-source-name=\"ds_0\">\n");
+        writer.write("            <sharding:table-rules>\n");
+        for (int i = 0; i < tableRuleCount; i++) {
+            writer.write(String.format("                <sharding:table-rule logic-table=\"t_order_%d\" actual-data-nodes=\"ds_${0..1}.t_order_%d_${0..1}\" "
+                    + "database-strategy-ref=\"databaseStrategy\" table-strategy-ref=\"tableStrategy_%d\" />\n", i, i, i));
+        }
+        writer.write("            </sharding:table-rules>\n");
+        writer.write("        </sharding:sharding-rule>\n");
+        writer.write("    </sharding:data-source>\n");
+        writer.write("</beans>\n");
+    }
+    
+    /**
+     * Delete generated configuration.
+     */
+    @TearDown
+    public void tearDown() {
+        configFile.delete();
+    }
+    
+    /**
+     * Parse bean definitions of sharding namespace.
+     * 
+     * @return count of bean definitions
+     */
+    @Benchmark
+    public int parse() {
+        return new XmlBeanDefinitionReader(new DefaultListableBeanFactory()).loadBeanDefinitions(new FileSystemResource(configFile));
+    }
+    
+    /**
+     * Start and close spring context with sharding data source.
+     * 
+     * @return count of beans
+     */
+    @Benchmark
+    public int startup() {
+        try (GenericXmlApplicationContext context = new GenericXmlApplicationContext(new FileSystemResource(configFile))) {
+            return context.getBeanDefinitionCount();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.benchmark.orchestration;
+
+import io.shardingsphere.shardingjdbc.orchestration.spring.datasource.OrchestrationSpringMasterSlaveDataSource;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.MemoryRegistryCenter;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.RegistryCenterLoader;
+import io.shardingsphere.shardingjdbc.orchestration.spring.registry.RegistryConfigurationNode;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.shardingsphere.api.config.masterslave.MasterSlaveRuleConfiguration;
+import org.apache.shardingsphere.core.constant.properties.ShardingPropertiesConstant;
+import org.apache.shardingsphere.orchestration.config.OrchestrationConfiguration;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenter;
+import org.apache.shardingsphere.orchestration.reg.api.RegistryCenterConfiguration;
+import org.apache.shardingsphere.shardingjdbc.jdbc.core.datasource.MasterSlaveDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of propagating registry configuration change to orchestration data source.
+ * 
+ * <p>
+ * Orchestration master-slave data source runs against in-memory registry center with given latency and change debounce window.
+ * {@code propagatePropertiesChange} toggles {@code sql.show} in registry center, and returns after the data source is renewed with it.
+ * </p>
+ *
+ * @author yangyi
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class OrchestrationChangePropagationBenchmark {
+    
+    private static final String ORCHESTRATION_NAME = "change_propagation_benchmark";
+    
+    @Param({"0", "5"})
+    private long latencyMilliseconds;
+    
+    @Param({"0", "50"})
+    private long changeDebounceMilliseconds;
+    
+    private final Map<String, DataSource> dataSourceMap = new LinkedHashMap<>();
+    
+    private OrchestrationSpringMasterSlaveDataSource dataSource;
+    
+    private RegistryCenter registryCenter;
+    
+    private boolean sqlShow;
+    
+    /**
+     * Create orchestration data source and registry center to change configuration.
+     * 
+     * @throws SQLException SQL exception
+     */
+    @Setup
+    public void setUp() throws SQLException {
+        RegistryCenterConfiguration regCenterConfig = new RegistryCenterConfiguration();
+        regCenterConfig.setServerLists(String.format("%s%s?latency-milliseconds=%d", MemoryRegistryCenter.SERVER_LISTS_PREFIX, ORCHESTRATION_NAME, latencyMilliseconds));
+        RegistryCenterLoader.checkSelectable(regCenterConfig.getServerLists());
+        for (String each : Arrays.asList("master_ds", "slave_ds")) {
+            dataSourceMap.put(each, createDataSource(each));
+        }
+        MasterSlaveDataSource masterSlaveDataSource = new MasterSlaveDataSource(dataSourceMap, 
+                new MasterSlaveRuleConfiguration("ms_ds", "master_ds", Collections.singletonList("slave_ds")), Collections.<String, Object>emptyMap(), new Properties());
+        dataSource = new OrchestrationSpringMasterSlaveDataSource(masterSlaveDataSource, new OrchestrationConfiguration(ORCHESTRATION_NAME, regCenterConfig, true), changeDebounceMilliseconds);
+        registryCenter = new MemoryRegistryCenter();
+        registryCenter.init(regCenterConfig);
+    }
+    
+    private DataSource createDataSource(final String dataSourceName) {
+        BasicDataSource result = new BasicDataSource();
+        result.setDriverClassName("org.h2.Driver");
+        result.setUrl(String.format("jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false;MODE=MYSQL", dataSourceName));
+        result.setUsername("sa");
+        result.setPassword("");
+        return result;
+    }
+    
+    /**
+     * Close orchestration data source, registry center and in-memory stores.
+     * 
+     * @throws Exception exception
+     */
+    @TearDown
+    public void tearDown() throws Exception {
+        registryCenter.close();
+        dataSource.destroy();
+        for (DataSource each : dataSourceMap.values()) {
+            ((BasicDataSource) each).close();
+        }
+        dataSourceMap.clear();
+        MemoryRegistryCenter.clear();
+    }
+    
+    /**
+     * Change properties in registry center and wait until orchestration data source is renewed.
+     * 
+     * @return whether SQL is shown after change
+     * @throws InterruptedException interrupted exception
+     */
+    @Benchmark
+    public boolean propagatePropertiesChange() throws InterruptedException {
+        sqlShow = !sqlShow;
+        registryCenter.persist(RegistryConfigurationNode.getConfigNodePath(ORCHESTRATION_NAME, RegistryConfigurationNode.PROPS_NODE), String.format("sql.show: %s\n", sqlShow));
+        while (sqlShow != isSQLShow()) {
+            TimeUnit.MICROSECONDS.sleep(100L);
+        }
+        return sqlShow;
+    }
+    
+    private boolean isSQLShow() {
+        return dataSource.getDataSource().getShardingProperties().<Boolean>getValue(ShardingPropertiesConstant.SQL_SHOW);
+    }
+}
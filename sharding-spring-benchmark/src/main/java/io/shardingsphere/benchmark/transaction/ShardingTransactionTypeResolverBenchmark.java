@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.benchmark.transaction;
+
+import io.shardingsphere.transaction.annotation.ShardingTransactionType;
+import io.shardingsphere.transaction.aspect.ShardingTransactionTypeResolver;
+import org.apache.shardingsphere.transaction.core.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of resolving sharding transaction type for advised method.
+ * 
+ * <p>
+ * {@code cold} resolves transaction type with an empty cache on every invocation, which equals to the reflective lookup done by every advised call before;
+ * {@code warm} resolves transaction type from cache, which is the cost of advised call after warm-up.
+ * </p>
+ *
+ * @author yangyi
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShardingTransactionTypeResolverBenchmark {
+    
+    private final ShardingTransactionTypeResolver warmResolver = new ShardingTransactionTypeResolver();
+    
+    private Method methodAnnotatedMethod;
+    
+    private Method classAnnotatedMethod;
+    
+    /**
+     * Prepare advised methods and warm up cache.
+     * 
+     * @throws NoSuchMethodException no such method exception
+     */
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        methodAnnotatedMethod = BenchmarkService.class.getMethod("methodAnnotated");
+        classAnnotatedMethod = BenchmarkService.class.getMethod("classAnnotated");
+        warmResolver.resolve(methodAnnotatedMethod, BenchmarkService.class);
+        warmResolver.resolve(classAnnotatedMethod, BenchmarkService.class);
+    }
+    
+    /**
+     * Resolve method annotated transaction type without cache.
+     * 
+     * @return transaction type
+     */
+    @Benchmark
+    public TransactionType coldMethodAnnotated() {
+        return new ShardingTransactionTypeResolver().resolve(methodAnnotatedMethod, BenchmarkService.class);
+    }
+    
+    /**
+     * Resolve class annotated transaction type without cache.
+     *
+     * @return transaction type
+     */
+    @Benchmark
+    public TransactionType coldClassAnnotated() {
+        return new ShardingTransactionTypeResolver().resolve(classAnnotatedMethod, BenchmarkService.class);
+    }
+    
+    /**
+     * Resolve method annotated transaction type from cache.
+     *
+     * @return transaction type
+     */
+    @Benchmark
+    public TransactionType warmMethodAnnotated() {
+        return warmResolver.resolve(methodAnnotatedMethod, BenchmarkService.class);
+    }
+    
+    /**
+     * Resolve class annotated transaction type from cache.
+     *
+     * @return transaction type
+     */
+    @Benchmark
+    public TransactionType warmClassAnnotated() {
+        return warmResolver.resolve(classAnnotatedMethod, BenchmarkService.class);
+    }
+    
+    @ShardingTransactionType(TransactionType.XA)
+    public static class BenchmarkService {
+        
+        /**
+         * Method annotated by sharding transaction type.
+         */
+        @ShardingTransactionType(TransactionType.BASE)
+        public void methodAnnotated() {
+        }
+        
+        /**
+         * Method inherits sharding transaction type from class.
+         */
+        public void classAnnotated() {
+        }
+    }
+}
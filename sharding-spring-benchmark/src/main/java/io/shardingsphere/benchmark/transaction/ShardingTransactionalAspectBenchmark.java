@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.benchmark.transaction;
+
+import io.shardingsphere.benchmark.fixture.FakeShardingProxyDataSource;
+import io.shardingsphere.transaction.annotation.ShardingTransactionType;
+import io.shardingsphere.transaction.aspect.ShardingTransactionalAspect;
+import org.apache.shardingsphere.transaction.core.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of sharding transactional aspect advice.
+ * 
+ * <p>
+ * {@code unadvised} calls the service through AOP proxy without advice, which is the baseline;
+ * {@code jdbc} switches transaction type for Sharding-JDBC, {@code proxy} switches transaction type for in-process fake Sharding-Proxy over H2.
+ * {@code nested} measures an advised call inside another one with different transaction type.
+ * </p>
+ *
+ * @author yangyi
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShardingTransactionalAspectBenchmark {
+    
+    private SingleConnectionDataSource targetDataSource;
+    
+    private BenchmarkService jdbcService;
+    
+    private BenchmarkService proxyService;
+    
+    /**
+     * Create advised services for Sharding-JDBC and fake Sharding-Proxy.
+     */
+    @Setup
+    public void setUp() {
+        ShardingTransactionalAspect jdbcAspect = new ShardingTransactionalAspect();
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(
+                new MapPropertySource("benchmark", Collections.<String, Object>singletonMap(ShardingTransactionalAspect.ENVIRONMENT_PROPERTY_KEY, "JDBC")));
+        jdbcAspect.setEnvironment(environment);
+        jdbcService = createAdvisedService(jdbcAspect);
+        targetDataSource = new SingleConnectionDataSource("jdbc:h2:mem:aspect_benchmark;DB_CLOSE_DELAY=-1", "sa", "", true);
+        DataSource proxyDataSource = new FakeShardingProxyDataSource(targetDataSource);
+        ShardingTransactionalAspect proxyAspect = new ShardingTransactionalAspect();
+        proxyAspect.setTransactionManager(new DataSourceTransactionManager(proxyDataSource));
+        proxyAspect.setEnvironment(new DataSource[] {proxyDataSource});
+        proxyService = createAdvisedService(proxyAspect);
+    }
+    
+    private BenchmarkService createAdvisedService(final ShardingTransactionalAspect aspect) {
+        ProxyFactory proxyFactory = new ProxyFactory(new BenchmarkService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(aspect);
+        return (BenchmarkService) proxyFactory.getProxy();
+    }
+    
+    /**
+     * Close target data source.
+     */
+    @TearDown
+    public void tearDown() {
+        targetDataSource.destroy();
+    }
+    
+    /**
+     * Call not advised method through AOP proxy.
+     * 
+     * @return result of call
+     */
+    @Benchmark
+    public int unadvisedCall() {
+        return jdbcService.unadvised();
+    }
+    
+    /**
+     * Advised call for Sharding-JDBC.
+     *
+     * @return result of call
+     */
+    @Benchmark
+    public int jdbcAdvisedCall() {
+        return jdbcService.advised();
+    }
+    
+    /**
+     * Nested advised call for Sharding-JDBC.
+     *
+     * @return result of call
+     */
+    @Benchmark
+    public int jdbcNestedAdvisedCall() {
+        return jdbcService.nested(jdbcService);
+    }
+    
+    /**
+     * Advised call for Sharding-Proxy.
+     *
+     * @return result of call
+     */
+    @Benchmark
+    public int proxyAdvisedCall() {
+        return proxyService.advised();
+    }
+    
+    /**
+     * Nested advised call for Sharding-Proxy.
+     *
+     * @return result of call
+     */
+    @Benchmark
+    public int proxyNestedAdvisedCall() {
+        return proxyService.nested(proxyService);
+    }
+    
+    public static class BenchmarkService {
+        
+        /**
+         * Method not advised.
+         * 
+         * @return result of call
+         */
+        public int unadvised() {
+            return 1;
+        }
+        
+        /**
+         * Method advised with XA transaction type.
+         *
+         * @return result of call
+         */
+        @ShardingTransactionType(TransactionType.XA)
+        public int advised() {
+            return 1;
+        }
+        
+        /**
+         * Method advised with XA transaction type which calls method advised with BASE transaction type.
+         * 
+         * @param innerService advised service for inner call
+         * @return result of call
+         */
+        @ShardingTransactionType(TransactionType.XA)
+        public int nested(final BenchmarkService innerService) {
+            return innerService.inner();
+        }
+        
+        /**
+         * Method advised with BASE transaction type.
+         *
+         * @return result of call
+         */
+        @ShardingTransactionType(TransactionType.BASE)
+        public int inner() {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.shardingsphere.core.exception.ShardingException;
+import org.apache.shardingsphere.shardingjdbc.util.DataSourceUtil;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Data source map factory.
+ * 
+ * <p>
+ * Data sources can be created one by one, or in parallel on a bounded executor when pools open connections eagerly.
+ * </p>
+ *
+ * @author yangyi
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DataSourceMapFactory {
+    
+    private static final String THREAD_NAME_FORMAT = "ShardingSphere-datasource-init-%d";
+    
+    /**
+     * Create data sources one by one.
+     * 
+     * @param dataSourcePropsMap data source properties map, key is data source name
+     * @return data source map
+     */
+    public static Map<String, DataSource> createDataSourceMap(final Map<String, Map<String, Object>> dataSourcePropsMap) {
+        Map<String, DataSource> result = new LinkedHashMap<>(dataSourcePropsMap.size(), 1);
+        try {
+            for (Entry<String, Map<String, Object>> entry : dataSourcePropsMap.entrySet()) {
+                result.put(entry.getKey(), createDataSource(entry.getValue()));
+            }
+        } catch (final ReflectiveOperationException ex) {
+            close(result);
+            throw new ShardingException("Can't find datasource type!", ex);
+            // CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            // CHECKSTYLE:ON
+            close(result);
+            throw ex;
+        }
+        return result;
+    }
+    
+    /**
+     * Create data sources in parallel.
+     * 
+     * <p>
+     * All data sources are closed if any of them fails or is not created in time, failures of all data sources are reported together.
+     * Data sources which are still being created at that time are closed as soon as they are created,
+     * and this method waits for them up to the timeout again before it returns.
+     * </p>
+     * 
+     * @param dataSourcePropsMap data source properties map, key is data source name
+     * @param maxThreads max threads to create data sources
+     * @param timeoutMilliseconds overall timeout milliseconds
+     * @return data source map
+     */
+    public static Map<String, DataSource> createDataSourceMapInParallel(final Map<String, Map<String, Object>> dataSourcePropsMap, final int maxThreads, final long timeoutMilliseconds) {
+        if (dataSourcePropsMap.size() <= 1 || maxThreads <= 1) {
+            return createDataSourceMap(dataSourcePropsMap);
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(
+                Math.min(maxThreads, dataSourcePropsMap.size()), new ThreadFactoryBuilder().setDaemon(true).setNameFormat(THREAD_NAME_FORMAT).build());
+        CreatedDataSources createdDataSources = new CreatedDataSources();
+        boolean succeeded = false;
+        try {
+            Map<String, DataSource> result = awaitDataSourceMap(submit(executorService, dataSourcePropsMap, createdDataSources), timeoutMilliseconds);
+            succeeded = true;
+            return result;
+        } finally {
+            if (!succeeded) {
+                createdDataSources.abandon();
+            }
+            executorService.shutdownNow();
+            awaitTermination(executorService, timeoutMilliseconds);
+        }
+    }
+    
+    private static Map<String, Future<DataSource>> submit(
+            final ExecutorService executorService, final Map<String, Map<String, Object>> dataSourcePropsMap, final CreatedDataSources createdDataSources) {
+        Map<String, Future<DataSource>> result = new LinkedHashMap<>(dataSourcePropsMap.size(), 1);
+        for (final Entry<String, Map<String, Object>> entry : dataSourcePropsMap.entrySet()) {
+            result.put(entry.getKey(), executorService.submit(new Callable<DataSource>() {
+                
+                @Override
+                public DataSource call() throws ReflectiveOperationException {
+                    return createdDataSources.add(createDataSource(entry.getValue()));
+                }
+            }));
+        }
+        return result;
+    }
+    
+    private static void awaitTermination(final ExecutorService executorService, final long timeoutMilliseconds) {
+        try {
+            executorService.awaitTermination(timeoutMilliseconds, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static Map<String, DataSource> awaitDataSourceMap(final Map<String, Future<DataSource>> futures, final long timeoutMilliseconds) {
+        Map<String, DataSource> result = new LinkedHashMap<>(futures.size(), 1);
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMilliseconds);
+        for (Entry<String, Future<DataSource>> entry : futures.entrySet()) {
+            try {
+                result.put(entry.getKey(), entry.getValue().get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (final ExecutionException ex) {
+                failures.put(entry.getKey(), ex.getCause());
+            } catch (final TimeoutException ex) {
+                failures.put(entry.getKey(), new TimeoutException(String.format("Not created in %d milliseconds", timeoutMilliseconds)));
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                failures.put(entry.getKey(), ex);
+                break;
+            }
+        }
+        if (failures.isEmpty()) {
+            return result;
+        }
+        throw createException(failures);
+    }
+    
+    private static ShardingException createException(final Map<String, Throwable> failures) {
+        StringBuilder detail = new StringBuilder();
+        for (Entry<String, Throwable> entry : failures.entrySet()) {
+            if (0 != detail.length()) {
+                detail.append("; ");
+            }
+            detail.append(entry.getKey()).append(": ").append(entry.getValue() instanceof ReflectiveOperationException ? "Can't find datasource type!" : entry.getValue().getMessage());
+        }
+        ShardingException result = new ShardingException("Can't create datasources [%s]", detail);
+        for (Throwable each : failures.values()) {
+            result.addSuppressed(each);
+        }
+        return result;
+    }
+    
+    static DataSource createDataSource(final Map<String, Object> dataSourceProps) throws ReflectiveOperationException {
+        return DataSourceUtil.getDataSource(dataSourceProps.get("type").toString(), dataSourceProps);
+    }
+    
+    private static void close(final Map<String, DataSource> dataSourceMap) {
+        for (DataSource each : dataSourceMap.values()) {
+            close(each);
+        }
+    }
+    
+    static void close(final DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) dataSource).close();
+                // CHECKSTYLE:OFF
+            } catch (final Exception ignore) {
+                // CHECKSTYLE:ON
+            }
+        }
+    }
+    
+    private static final class CreatedDataSources {
+        
+        private final Collection<DataSource> dataSources = new LinkedList<>();
+        
+        private boolean abandoned;
+        
+        synchronized DataSource add(final DataSource dataSource) {
+            if (abandoned) {
+                close(dataSource);
+            } else {
+                dataSources.add(dataSource);
+            }
+            return dataSource;
+        }
+        
+        synchronized void abandon() {
+            abandoned = true;
+            for (DataSource each : dataSources) {
+                close(each);
+            }
+            dataSources.clear();
+        }
+    }
+}
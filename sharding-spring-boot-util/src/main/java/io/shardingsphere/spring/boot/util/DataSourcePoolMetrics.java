@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.shardingsphere.spring.boot.util.DataSourcePoolStatistics.Statistic;
+import io.shardingsphere.spring.boot.util.RefreshableDataSource.SwitchListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Micrometer binder of connection pools of sharding data sources.
+ * 
+ * <p>Every pool is tagged by its logical data source name. The native micrometer tracker of HikariCP is also registered if it is supported by the HikariCP version,
+ * including pools which replace previous ones when refreshable data sources are refreshed.</p>
+ *
+ * @author yangyi
+ */
+@RequiredArgsConstructor
+@Slf4j
+public final class DataSourcePoolMetrics implements MeterBinder {
+    
+    public static final String METRIC_NAME_PREFIX = "sharding.datasource.";
+    
+    public static final String DATA_SOURCE_NAME_TAG = "name";
+    
+    private static final String HIKARI_DATA_SOURCE_CLASS_NAME = "com.zaxxer.hikari.HikariDataSource";
+    
+    private static final String HIKARI_MICROMETER_TRACKER_FACTORY_CLASS_NAME = "com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory";
+    
+    private final Map<String, DataSource> dataSourceMap;
+    
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        for (Map.Entry<String, DataSource> entry : dataSourceMap.entrySet()) {
+            List<Tag> tags = Collections.singletonList(Tag.of(DATA_SOURCE_NAME_TAG, entry.getKey()));
+            for (Statistic each : Statistic.values()) {
+                registerGauge(registry, entry.getValue(), each, tags);
+            }
+            registerHikariTracker(registry, entry.getKey(), DataSourcePoolStatistics.getPool(entry.getValue()));
+            if (entry.getValue() instanceof RefreshableDataSource) {
+                ((RefreshableDataSource) entry.getValue()).addSwitchListener(new SwitchListener() {
+                    
+                    @Override
+                    public void onSwitch(final String dataSourceName, final DataSource targetDataSource) {
+                        registerHikariTracker(registry, dataSourceName, DataSourcePoolStatistics.getPool(targetDataSource));
+                    }
+                });
+            }
+        }
+    }
+    
+    private void registerGauge(final MeterRegistry registry, final DataSource dataSource, final Statistic statistic, final List<Tag> tags) {
+        Gauge.builder(METRIC_NAME_PREFIX + statistic.getName(), dataSource, new ToDoubleFunction<DataSource>() {
+            
+            @Override
+            public double applyAsDouble(final DataSource target) {
+                return DataSourcePoolStatistics.get(target, statistic);
+            }
+        }).tags(tags).description(statistic.getDescription()).baseUnit(statistic.getBaseUnit()).register(registry);
+    }
+    
+    private void registerHikariTracker(final MeterRegistry registry, final String dataSourceName, final DataSource pool) {
+        if (null == pool || !HIKARI_DATA_SOURCE_CLASS_NAME.equals(pool.getClass().getName()) || !isHikariTrackerSupported(pool.getClass().getClassLoader())) {
+            return;
+        }
+        try {
+            if (null == pool.getClass().getMethod("getMetricRegistry").invoke(pool) && null == pool.getClass().getMethod("getMetricsTrackerFactory").invoke(pool)) {
+                Method setMetricRegistry = pool.getClass().getMethod("setMetricRegistry", Object.class);
+                setMetricRegistry.invoke(pool, registry);
+            }
+        // CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            // CHECKSTYLE:ON
+            log.warn("Register HikariCP metrics tracker of datasource [{}] failed", dataSourceName, ex);
+        }
+    }
+    
+    private boolean isHikariTrackerSupported(final ClassLoader classLoader) {
+        try {
+            Class.forName(HIKARI_MICROMETER_TRACKER_FACTORY_CLASS_NAME, false, classLoader);
+            return true;
+        } catch (final ClassNotFoundException ignore) {
+            return false;
+        }
+    }
+}
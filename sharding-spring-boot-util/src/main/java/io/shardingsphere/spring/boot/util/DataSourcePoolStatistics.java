@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import com.google.common.base.Optional;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Statistics of connection pool, polled from the getters of well-known pools.
+ * 
+ * <p>Supports HikariCP, DBCP2, DBCP, Tomcat JDBC and Druid, returns {@code NaN} if the statistic is unsupported by the pool or the pool is not created yet.</p>
+ *
+ * @author yangyi
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DataSourcePoolStatistics {
+    
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<String, Optional<Method>>> METHOD_CACHE = new ConcurrentHashMap<>();
+    
+    /**
+     * Pool statistic.
+     */
+    @Getter
+    public enum Statistic {
+        
+        ACTIVE("connections.active", "connections", "Active connections", 
+                "getHikariPoolMXBean.getActiveConnections", "getNumActive", "getActiveCount"),
+        
+        IDLE("connections.idle", "connections", "Idle connections", 
+                "getHikariPoolMXBean.getIdleConnections", "getNumIdle", "getPoolingCount"),
+        
+        PENDING("connections.pending", "threads", "Threads waiting for a connection", 
+                "getHikariPoolMXBean.getThreadsAwaitingConnection", "getConnectionPool.getNumWaiters", "getWaitCount", "getWaitThreadCount"),
+        
+        MAX("connections.max", "connections", "Max connections", 
+                "getMaximumPoolSize", "getMaxTotal", "getMaxActive"),
+        
+        ACQUIRE_MEAN("connections.acquire.mean", "milliseconds", "Mean milliseconds to acquire a connection", 
+                "getConnectionPool.getMeanBorrowWaitTimeMillis"),
+        
+        ACQUIRE_MAX("connections.acquire.max", "milliseconds", "Max milliseconds to acquire a connection", 
+                "getConnectionPool.getMaxBorrowWaitTimeMillis");
+        
+        private final String name;
+        
+        private final String baseUnit;
+        
+        private final String description;
+        
+        private final String[] getterPaths;
+        
+        Statistic(final String name, final String baseUnit, final String description, final String... getterPaths) {
+            this.name = name;
+            this.baseUnit = baseUnit;
+            this.description = description;
+            this.getterPaths = getterPaths;
+        }
+    }
+    
+    /**
+     * Get statistic of data source.
+     * 
+     * @param dataSource data source, {@code RefreshableDataSource} and {@code LazyInitDataSource} are unwrapped to get current pool
+     * @param statistic statistic
+     * @return value of statistic, {@code NaN} if unsupported
+     */
+    public static double get(final DataSource dataSource, final Statistic statistic) {
+        DataSource pool = getPool(dataSource);
+        if (null == pool) {
+            return Double.NaN;
+        }
+        for (String each : statistic.getGetterPaths()) {
+            Double result = invokeGetterPath(pool, each);
+            if (null != result) {
+                return result;
+            }
+        }
+        return Double.NaN;
+    }
+    
+    /**
+     * Get type of current connection pool of data source.
+     * 
+     * @param dataSource data source
+     * @return class name of current connection pool, or configured type if lazy init data source is not created yet
+     */
+    public static String getPoolType(final DataSource dataSource) {
+        DataSource pool = getPool(dataSource);
+        if (null != pool) {
+            return pool.getClass().getName();
+        }
+        DataSource target = dataSource instanceof RefreshableDataSource ? ((RefreshableDataSource) dataSource).getTargetDataSource() : dataSource;
+        return target instanceof LazyInitDataSource ? ((LazyInitDataSource) target).getTargetDataSourceClassName() : null;
+    }
+    
+    /**
+     * Get current connection pool of data source.
+     * 
+     * @param dataSource data source
+     * @return current connection pool, {@code null} if lazy init data source is not created yet
+     */
+    public static DataSource getPool(final DataSource dataSource) {
+        DataSource result = dataSource instanceof RefreshableDataSource ? ((RefreshableDataSource) dataSource).getTargetDataSource() : dataSource;
+        if (!(result instanceof LazyInitDataSource)) {
+            return result;
+        }
+        LazyInitDataSource lazyInitDataSource = (LazyInitDataSource) result;
+        if (!lazyInitDataSource.isInitialized()) {
+            return null;
+        }
+        try {
+            return lazyInitDataSource.getTargetDataSource();
+        } catch (final SQLException ignore) {
+            return null;
+        }
+    }
+    
+    private static Double invokeGetterPath(final Object pool, final String getterPath) {
+        Object result = pool;
+        for (String each : getterPath.split("\\.")) {
+            Method method = findGetter(result.getClass(), each);
+            if (null == method) {
+                return null;
+            }
+            try {
+                result = method.invoke(result);
+            } catch (final IllegalAccessException | InvocationTargetException ignore) {
+                return Double.NaN;
+            }
+            if (null == result) {
+                return Double.NaN;
+            }
+        }
+        return result instanceof Number ? ((Number) result).doubleValue() : null;
+    }
+    
+    private static Method findGetter(final Class<?> poolClass, final String methodName) {
+        ConcurrentMap<String, Optional<Method>> methods = METHOD_CACHE.get(poolClass);
+        if (null == methods) {
+            METHOD_CACHE.putIfAbsent(poolClass, new ConcurrentHashMap<String, Optional<Method>>());
+            methods = METHOD_CACHE.get(poolClass);
+        }
+        Optional<Method> result = methods.get(methodName);
+        if (null == result) {
+            result = Optional.fromNullable(lookupGetter(poolClass, methodName));
+            methods.putIfAbsent(methodName, result);
+        }
+        return result.orNull();
+    }
+    
+    private static Method lookupGetter(final Class<?> poolClass, final String methodName) {
+        for (Class<?> each = poolClass; null != each && Object.class != each; each = each.getSuperclass()) {
+            try {
+                Method result = each.getDeclaredMethod(methodName);
+                result.setAccessible(true);
+                return result;
+            } catch (final NoSuchMethodException ignore) {
+            } catch (final SecurityException ignore) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
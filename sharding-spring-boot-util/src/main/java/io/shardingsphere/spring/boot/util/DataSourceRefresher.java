@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.SneakyThrows;
+import org.apache.shardingsphere.core.exception.ShardingException;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refresher of data sources on environment change.
+ * 
+ * <p>
+ * Only data sources whose properties are changed are rebuilt, previous target data sources are closed after drain period,
+ * so that connections already got from them can be returned.
+ * Changed keys are matched in relaxed form, for example keys from system environment such as {@code SHARDING_JDBC_DATASOURCE_DS0_URL}.
+ * </p>
+ *
+ * @author yangyi
+ */
+public final class DataSourceRefresher implements AutoCloseable {
+    
+    private static final String ENVIRONMENT_CHANGE_EVENT_CLASS_NAME = "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
+    
+    private static final String THREAD_NAME_FORMAT = "ShardingSphere-datasource-drain-%d";
+    
+    private final String prefix;
+    
+    private final boolean defaultLazyInit;
+    
+    private final long drainMilliseconds;
+    
+    private final ScheduledExecutorService drainExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true).setNameFormat(THREAD_NAME_FORMAT).build());
+    
+    private final Set<DataSource> drainingDataSources = Collections.newSetFromMap(new ConcurrentHashMap<DataSource, Boolean>());
+    
+    public DataSourceRefresher(final String prefix, final boolean defaultLazyInit, final long drainMilliseconds) {
+        this.prefix = prefix.endsWith(".") ? prefix : prefix + ".";
+        this.defaultLazyInit = defaultLazyInit;
+        this.drainMilliseconds = drainMilliseconds;
+    }
+    
+    /**
+     * Judge whether event is environment change event of Spring Cloud.
+     * 
+     * @param event application event
+     * @return is environment change event or not
+     */
+    public static boolean isEnvironmentChangeEvent(final ApplicationEvent event) {
+        return ENVIRONMENT_CHANGE_EVENT_CLASS_NAME.equals(event.getClass().getName());
+    }
+    
+    /**
+     * Get changed keys of environment change event.
+     * 
+     * @param event environment change event
+     * @return changed keys
+     */
+    @SuppressWarnings("unchecked")
+    @SneakyThrows
+    public static Set<String> getChangedKeys(final ApplicationEvent event) {
+        return (Set<String>) event.getClass().getMethod("getKeys").invoke(event);
+    }
+    
+    /**
+     * Rebuild data sources whose properties are changed.
+     * 
+     * @param environment spring environment
+     * @param dataSourceMap data source map, only {@code RefreshableDataSource} can be rebuilt
+     * @param changedKeys changed property keys
+     * @return names of rebuilt data sources
+     */
+    public Collection<String> refresh(final Environment environment, final Map<String, DataSource> dataSourceMap, final Collection<String> changedKeys) {
+        Collection<String> dataSourceNames = getChangedDataSourceNames(dataSourceMap, changedKeys);
+        if (dataSourceNames.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, Map<String, Object>> allDataSourceProps = PropertyUtil.handleAll(environment, prefix, dataSourceNames);
+        Collection<String> result = new LinkedList<>();
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        for (String each : dataSourceNames) {
+            RefreshableDataSource dataSource = (RefreshableDataSource) dataSourceMap.get(each);
+            Map<String, Object> dataSourceProps = allDataSourceProps.get(each);
+            if (dataSourceProps.isEmpty() || dataSourceProps.equals(dataSource.getDataSourceProps())) {
+                continue;
+            }
+            try {
+                drain(dataSource.switchTargetDataSource(createDataSource(each, dataSourceProps), dataSourceProps));
+                result.add(each);
+            } catch (final ReflectiveOperationException | RuntimeException ex) {
+                failures.put(each, ex);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw createException(failures);
+        }
+        return result;
+    }
+    
+    private Collection<String> getChangedDataSourceNames(final Map<String, DataSource> dataSourceMap, final Collection<String> changedKeys) {
+        Collection<String> refreshableDataSourceNames = new LinkedList<>();
+        for (Entry<String, DataSource> entry : dataSourceMap.entrySet()) {
+            if (entry.getValue() instanceof RefreshableDataSource) {
+                refreshableDataSourceNames.add(entry.getKey());
+            }
+        }
+        return PropertyUtil.getChangedNames(prefix, refreshableDataSourceNames, changedKeys);
+    }
+    
+    private DataSource createDataSource(final String dataSourceName, final Map<String, Object> dataSourceProps) throws ReflectiveOperationException {
+        if (!LazyInitDataSource.isLazyInit(dataSourceProps, defaultLazyInit)) {
+            return DataSourceMapFactory.createDataSource(LazyInitDataSource.removeLazyInit(dataSourceProps));
+        }
+        LazyInitDataSource result = new LazyInitDataSource(dataSourceName, dataSourceProps);
+        result.finishBootstrap();
+        return result;
+    }
+    
+    private void drain(final DataSource dataSource) {
+        drainingDataSources.add(dataSource);
+        drainExecutor.schedule(new Runnable() {
+            
+            @Override
+            public void run() {
+                if (drainingDataSources.remove(dataSource)) {
+                    DataSourceMapFactory.close(dataSource);
+                }
+            }
+        }, drainMilliseconds, TimeUnit.MILLISECONDS);
+    }
+    
+    private ShardingException createException(final Map<String, Exception> failures) {
+        StringBuilder detail = new StringBuilder();
+        for (Entry<String, Exception> entry : failures.entrySet()) {
+            if (0 != detail.length()) {
+                detail.append("; ");
+            }
+            detail.append(entry.getKey()).append(": ").append(entry.getValue().getMessage());
+        }
+        ShardingException result = new ShardingException("Can't refresh datasources [%s], previous datasources are kept", detail);
+        for (Exception each : failures.values()) {
+            result.addSuppressed(each);
+        }
+        return result;
+    }
+    
+    /**
+     * Close data sources in drain period immediately and stop refresher.
+     */
+    @Override
+    public void close() {
+        drainExecutor.shutdownNow();
+        for (DataSource each : drainingDataSources) {
+            if (drainingDataSources.remove(each)) {
+                DataSourceMapFactory.close(each);
+            }
+        }
+    }
+}
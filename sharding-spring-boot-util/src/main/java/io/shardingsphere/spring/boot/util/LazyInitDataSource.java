@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import lombok.Getter;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Data source which creates target data source on first use.
+ * 
+ * <p>
+ * Until bootstrap is finished, connections are opened by a bootstrap data source of the configured type and properties,
+ * so that settings of the pool such as SSL, timeouts and init SQL apply, but idle connections are not created in advance.
+ * The bootstrap data source is closed when bootstrap is finished.
+ * Sharding data source still opens a connection to every data source when it is created,
+ * so lazy init only delays creating the pool and filling its idle connections, not connecting to the databases.
+ * </p>
+ *
+ * @author yangyi
+ */
+public final class LazyInitDataSource implements DataSource, AutoCloseable {
+    
+    public static final String LAZY_INIT_KEY = "lazy-init";
+    
+    private static final Collection<String> LAZY_INIT_KEYS = Arrays.asList(LAZY_INIT_KEY, "lazyInit", "lazy_init");
+    
+    private static final Collection<String> IDLE_SIZE_KEYS = Arrays.asList(
+            "minimum-idle", "minimumIdle", "minimum_idle", "initial-size", "initialSize", "initial_size", "min-idle", "minIdle", "min_idle");
+    
+    private static final Map<String, Object> BOOTSTRAP_IDLE_SIZE_PROPS = new HashMap<>(3, 1);
+    
+    static {
+        BOOTSTRAP_IDLE_SIZE_PROPS.put("minimumIdle", 0);
+        BOOTSTRAP_IDLE_SIZE_PROPS.put("initialSize", 0);
+        BOOTSTRAP_IDLE_SIZE_PROPS.put("minIdle", 0);
+    }
+    
+    @Getter
+    private final String dataSourceName;
+    
+    private final Map<String, Object> dataSourceProps;
+    
+    private volatile DataSource targetDataSource;
+    
+    private DataSource bootstrapDataSource;
+    
+    private volatile boolean bootstrapped;
+    
+    private volatile boolean closed;
+    
+    public LazyInitDataSource(final String dataSourceName, final Map<String, Object> dataSourceProps) {
+        this.dataSourceName = dataSourceName;
+        this.dataSourceProps = removeLazyInit(dataSourceProps);
+    }
+    
+    /**
+     * Judge whether data source should be initialized lazily.
+     * 
+     * @param dataSourceProps data source properties
+     * @param defaultLazyInit lazy init if not configured for data source
+     * @return data source should be initialized lazily or not
+     */
+    public static boolean isLazyInit(final Map<String, Object> dataSourceProps, final boolean defaultLazyInit) {
+        Object result = getProperty(dataSourceProps, LAZY_INIT_KEYS);
+        return null == result ? defaultLazyInit : Boolean.parseBoolean(result.toString().trim());
+    }
+    
+    /**
+     * Remove lazy init option from data source properties.
+     * 
+     * @param dataSourceProps data source properties
+     * @return data source properties without lazy init option
+     */
+    public static Map<String, Object> removeLazyInit(final Map<String, Object> dataSourceProps) {
+        Map<String, Object> result = new HashMap<>(dataSourceProps);
+        result.keySet().removeAll(LAZY_INIT_KEYS);
+        return result;
+    }
+    
+    private static Object getProperty(final Map<String, Object> dataSourceProps, final Collection<String> keys) {
+        for (String each : keys) {
+            Object result = dataSourceProps.get(each);
+            if (null != result) {
+                return result;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Finish bootstrap, connections are always got from target data source afterwards.
+     */
+    public void finishBootstrap() {
+        bootstrapped = true;
+        closeBootstrapDataSource();
+    }
+    
+    /**
+     * Get class name of target data source.
+     * 
+     * @return class name of target data source, {@code null} if not configured
+     */
+    public String getTargetDataSourceClassName() {
+        Object result = dataSourceProps.get("type");
+        return null == result ? null : result.toString();
+    }
+    
+    /**
+     * Judge whether target data source is created.
+     * 
+     * @return target data source is created or not
+     */
+    public boolean isInitialized() {
+        return null != targetDataSource;
+    }
+    
+    /**
+     * Get target data source, create it if absent.
+     * 
+     * @return target data source
+     * @throws SQLException SQL exception
+     */
+    public DataSource getTargetDataSource() throws SQLException {
+        DataSource result = targetDataSource;
+        if (null != result) {
+            return result;
+        }
+        synchronized (this) {
+            if (closed) {
+                throw new SQLException(String.format("Datasource [%s] is closed", dataSourceName));
+            }
+            if (null == targetDataSource) {
+                targetDataSource = createDataSource(dataSourceProps);
+            }
+            return targetDataSource;
+        }
+    }
+    
+    /**
+     * Create target data source and open one connection.
+     * 
+     * @throws SQLException SQL exception
+     */
+    public void warmUp() throws SQLException {
+        finishBootstrap();
+        getTargetDataSource().getConnection().close();
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getCurrentDataSource().getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return getCurrentDataSource().getConnection(username, password);
+    }
+    
+    private DataSource getCurrentDataSource() throws SQLException {
+        if (bootstrapped || null != targetDataSource) {
+            return getTargetDataSource();
+        }
+        synchronized (this) {
+            if (bootstrapped || null != targetDataSource) {
+                return getTargetDataSource();
+            }
+            if (null == bootstrapDataSource) {
+                bootstrapDataSource = createDataSource(createBootstrapDataSourceProps());
+            }
+            return bootstrapDataSource;
+        }
+    }
+    
+    private Map<String, Object> createBootstrapDataSourceProps() {
+        Map<String, Object> result = new HashMap<>(dataSourceProps);
+        result.keySet().removeAll(IDLE_SIZE_KEYS);
+        result.putAll(BOOTSTRAP_IDLE_SIZE_PROPS);
+        return result;
+    }
+    
+    private DataSource createDataSource(final Map<String, Object> properties) throws SQLException {
+        if (closed) {
+            throw new SQLException(String.format("Datasource [%s] is closed", dataSourceName));
+        }
+        try {
+            return DataSourceMapFactory.createDataSource(properties);
+        } catch (final ReflectiveOperationException ex) {
+            throw new SQLException(String.format("Can't create datasource [%s]", dataSourceName), ex);
+        }
+    }
+    
+    private synchronized void closeBootstrapDataSource() {
+        if (null != bootstrapDataSource) {
+            DataSourceMapFactory.close(bootstrapDataSource);
+            bootstrapDataSource = null;
+        }
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? (T) this : getTargetDataSource().unwrap(iface);
+    }
+    
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || getTargetDataSource().isWrapperFor(iface);
+    }
+    
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+    
+    @Override
+    public void setLogWriter(final PrintWriter out) {
+        throw new UnsupportedOperationException("setLogWriter");
+    }
+    
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+    
+    @Override
+    public void setLoginTimeout(final int seconds) {
+        throw new UnsupportedOperationException("setLoginTimeout");
+    }
+    
+    @Override
+    public Logger getParentLogger() {
+        return Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    }
+    
+    @Override
+    public synchronized void close() throws Exception {
+        closed = true;
+        closeBootstrapDataSource();
+        if (targetDataSource instanceof AutoCloseable) {
+            ((AutoCloseable) targetDataSource).close();
+        }
+    }
+}
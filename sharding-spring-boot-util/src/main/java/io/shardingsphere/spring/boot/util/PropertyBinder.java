@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import org.springframework.core.env.Environment;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Binder of spring boot properties.
+ *
+ * @author yangyi
+ */
+interface PropertyBinder {
+    
+    /**
+     * Bind properties under prefix.
+     * 
+     * @param environment spring environment
+     * @param prefix prefix of property keys
+     * @param targetClass target class
+     * @return bound object
+     */
+    Object bind(Environment environment, String prefix, Class<?> targetClass);
+    
+    /**
+     * Bind sub properties of named entries under prefix in one pass.
+     * 
+     * @param environment spring environment
+     * @param prefix prefix of property keys
+     * @param names names of entries
+     * @return sub properties of entries, key is entry name
+     */
+    Map<String, Map<String, Object>> bindAll(Environment environment, String prefix, Collection<String> names);
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.core.env.Environment;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Property utility compatible with Spring Boot 1.x and 2.x.
+ * 
+ * <p>
+ * Spring Boot classes are resolved to method handles only once.
+ * </p>
+ *
+ * @author yangyi
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PropertyUtil {
+    
+    private static final PropertyBinder BINDER = createBinder();
+    
+    private static PropertyBinder createBinder() {
+        try {
+            Class.forName("org.springframework.boot.bind.RelaxedPropertyResolver");
+            return new SpringBootV1PropertyBinder();
+        } catch (final ClassNotFoundException ignored) {
+            return new SpringBootV2PropertyBinder();
+        }
+    }
+    
+    /**
+     * Spring Boot 1.x is compatible with Spring Boot 2.x by Using Java Reflect.
+     * @param environment : the environment context
+     * @param prefix : the prefix part of property key
+     * @param targetClass : the target class type of result
+     * @param <T> : refer to @param targetClass
+     * @return T
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T handle(final Environment environment, final String prefix, final Class<T> targetClass) {
+        return (T) BINDER.bind(environment, prefix, targetClass);
+    }
+    
+    /**
+     * Bind sub properties of named entries under prefix in one pass over property sources.
+     * 
+     * @param environment spring environment
+     * @param prefix prefix of property keys, for example {@code sharding.jdbc.datasource.}
+     * @param names names of entries, for example data source names
+     * @return sub properties of entries in order of names, key is entry name, value is empty if entry is absent
+     */
+    public static Map<String, Map<String, Object>> handleAll(final Environment environment, final String prefix, final Collection<String> names) {
+        return BINDER.bindAll(environment, prefix, names);
+    }
+    
+    /**
+     * Get names of entries which changed property keys belong to.
+     * 
+     * <p>
+     * Keys are compared in relaxed form as spring boot binds them, case, dots, dashes and underscores are ignored,
+     * so that {@code sharding.jdbc.datasource.ds0.url}, {@code sharding-jdbc.datasource.ds0.url} and {@code SHARDING_JDBC_DATASOURCE_DS0_URL} all match {@code ds0}.
+     * The longest matched name wins, a key may be matched to a name loosely, but never missed.
+     * </p>
+     * 
+     * @param prefix prefix of property keys, for example {@code sharding.jdbc.datasource.}
+     * @param names names of entries, for example data source names
+     * @param changedKeys changed property keys
+     * @return names of entries with changed properties
+     */
+    public static Collection<String> getChangedNames(final String prefix, final Collection<String> names, final Collection<String> changedKeys) {
+        String relaxedPrefix = toRelaxedForm(prefix);
+        Collection<String> result = new LinkedHashSet<>();
+        for (String each : changedKeys) {
+            String relaxedKey = toRelaxedForm(each);
+            if (relaxedKey.startsWith(relaxedPrefix)) {
+                String name = findLongestMatchedName(relaxedKey.substring(relaxedPrefix.length()), names);
+                if (null != name) {
+                    result.add(name);
+                }
+            }
+        }
+        return result;
+    }
+    
+    private static String findLongestMatchedName(final String relaxedSubKey, final Collection<String> names) {
+        String result = null;
+        int matchedLength = 0;
+        for (String each : names) {
+            String relaxedName = toRelaxedForm(each);
+            if (relaxedName.length() > matchedLength && relaxedSubKey.length() > relaxedName.length() && relaxedSubKey.startsWith(relaxedName)) {
+                result = each;
+                matchedLength = relaxedName.length();
+            }
+        }
+        return result;
+    }
+    
+    private static String toRelaxedForm(final String key) {
+        StringBuilder result = new StringBuilder(key.length());
+        for (char each : key.toCharArray()) {
+            if (Character.isLetterOrDigit(each)) {
+                result.append(Character.toLowerCase(each));
+            }
+        }
+        return result.toString();
+    }
+}
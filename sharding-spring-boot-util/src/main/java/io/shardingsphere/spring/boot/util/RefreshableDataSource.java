@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import lombok.Getter;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+/**
+ * Data source whose target data source can be switched when its properties are changed.
+ * 
+ * <p>
+ * Switch listeners are notified before new target data source is used, for example to register metrics tracker of the new pool.
+ * </p>
+ *
+ * @author yangyi
+ */
+public final class RefreshableDataSource implements DataSource, AutoCloseable {
+    
+    @Getter
+    private final String dataSourceName;
+    
+    @Getter
+    private volatile DataSource targetDataSource;
+    
+    @Getter
+    private volatile Map<String, Object> dataSourceProps;
+    
+    private final Collection<SwitchListener> switchListeners = new CopyOnWriteArrayList<>();
+    
+    public RefreshableDataSource(final String dataSourceName, final DataSource targetDataSource, final Map<String, Object> dataSourceProps) {
+        this.dataSourceName = dataSourceName;
+        this.targetDataSource = targetDataSource;
+        this.dataSourceProps = dataSourceProps;
+    }
+    
+    /**
+     * Add switch listener.
+     * 
+     * @param switchListener switch listener
+     */
+    public void addSwitchListener(final SwitchListener switchListener) {
+        switchListeners.add(switchListener);
+    }
+    
+    /**
+     * Switch target data source, new connections are got from new target data source afterwards.
+     * 
+     * @param targetDataSource new target data source
+     * @param dataSourceProps properties of new target data source
+     * @return previous target data source
+     */
+    public synchronized DataSource switchTargetDataSource(final DataSource targetDataSource, final Map<String, Object> dataSourceProps) {
+        DataSource result = this.targetDataSource;
+        for (SwitchListener each : switchListeners) {
+            each.onSwitch(dataSourceName, targetDataSource);
+        }
+        this.targetDataSource = targetDataSource;
+        this.dataSourceProps = dataSourceProps;
+        return result;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return targetDataSource.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return targetDataSource.getConnection(username, password);
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? (T) this : targetDataSource.unwrap(iface);
+    }
+    
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || targetDataSource.isWrapperFor(iface);
+    }
+    
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return targetDataSource.getLogWriter();
+    }
+    
+    @Override
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        targetDataSource.setLogWriter(out);
+    }
+    
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return targetDataSource.getLoginTimeout();
+    }
+    
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        targetDataSource.setLoginTimeout(seconds);
+    }
+    
+    @Override
+    public Logger getParentLogger() {
+        return Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    }
+    
+    @Override
+    public synchronized void close() {
+        DataSourceMapFactory.close(targetDataSource);
+    }
+    
+    /**
+     * Listener of switching target data source.
+     */
+    public interface SwitchListener {
+        
+        /**
+         * Notified before new target data source is used.
+         * 
+         * @param dataSourceName data source name
+         * @param targetDataSource new target data source
+         */
+        void onSwitch(String dataSourceName, DataSource targetDataSource);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.config.PlaceholderConfigurerSupport;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySources;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Property binder for Spring Boot 1.x.
+ * 
+ * <p>
+ * Sub properties are collected by {@code PropertySourceUtils} with relaxed names of prefix,
+ * placeholders in values are resolved by environment directly.
+ * </p>
+ *
+ * @author yangyi
+ */
+final class SpringBootV1PropertyBinder implements PropertyBinder {
+    
+    private final MethodHandle getSubPropertiesHandle;
+    
+    private final MethodHandle createRelaxedNamesHandle;
+    
+    @SneakyThrows
+    SpringBootV1PropertyBinder() {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        getSubPropertiesHandle = lookup.findStatic(Class.forName("org.springframework.boot.bind.PropertySourceUtils"), "getSubProperties", 
+                MethodType.methodType(Map.class, PropertySources.class, String.class, String.class));
+        createRelaxedNamesHandle = lookup.findConstructor(Class.forName("org.springframework.boot.bind.RelaxedNames"), MethodType.methodType(void.class, String.class));
+    }
+    
+    @Override
+    public Object bind(final Environment environment, final String prefix, final Class<?> targetClass) {
+        Map<String, Object> subProperties = getSubProperties(environment, prefix.endsWith(".") ? prefix : prefix + ".");
+        Map<String, Object> result = new HashMap<>(subProperties.size(), 1);
+        for (Entry<String, Object> entry : subProperties.entrySet()) {
+            result.put(entry.getKey(), resolvePlaceholders(environment, entry.getValue()));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+    
+    @Override
+    public Map<String, Map<String, Object>> bindAll(final Environment environment, final String prefix, final Collection<String> names) {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>(names.size(), 1);
+        Map<String, String> relaxedNames = new LinkedHashMap<>();
+        for (String each : names) {
+            result.put(each.trim(), new HashMap<String, Object>());
+            for (String relaxedName : getRelaxedNames(each.trim())) {
+                if (!relaxedNames.containsKey(relaxedName)) {
+                    relaxedNames.put(relaxedName, each.trim());
+                }
+            }
+        }
+        for (Entry<String, Object> entry : getSubProperties(environment, prefix.endsWith(".") ? prefix : prefix + ".").entrySet()) {
+            String[] nameAndKey = splitNameAndKey(entry.getKey(), relaxedNames);
+            if (null != nameAndKey && !result.get(nameAndKey[0]).containsKey(nameAndKey[1])) {
+                result.get(nameAndKey[0]).put(nameAndKey[1], resolvePlaceholders(environment, entry.getValue()));
+            }
+        }
+        for (Entry<String, Map<String, Object>> entry : result.entrySet()) {
+            entry.setValue(Collections.unmodifiableMap(entry.getValue()));
+        }
+        return result;
+    }
+    
+    private String[] splitNameAndKey(final String subKey, final Map<String, String> relaxedNames) {
+        int index = subKey.indexOf('.');
+        if (index > 0 && relaxedNames.containsKey(subKey.substring(0, index))) {
+            return new String[] {relaxedNames.get(subKey.substring(0, index)), subKey.substring(index + 1)};
+        }
+        // keys of system environment are separated by underscore, for example DS_0_URL, the longest matched name wins
+        String[] result = null;
+        int matchedLength = 0;
+        for (Entry<String, String> entry : relaxedNames.entrySet()) {
+            int length = entry.getKey().length();
+            if (length > matchedLength && subKey.length() > length + 1 && subKey.startsWith(entry.getKey()) && '_' == subKey.charAt(length)) {
+                result = new String[] {entry.getValue(), subKey.substring(length + 1)};
+                matchedLength = length;
+            }
+        }
+        return result;
+    }
+    
+    @SuppressWarnings("unchecked")
+    @SneakyThrows
+    private Map<String, Object> getSubProperties(final Environment environment, final String keyPrefix) {
+        return (Map<String, Object>) getSubPropertiesHandle.invoke(((ConfigurableEnvironment) environment).getPropertySources(), "", keyPrefix);
+    }
+    
+    @SuppressWarnings("unchecked")
+    @SneakyThrows
+    private Iterable<String> getRelaxedNames(final String name) {
+        return (Iterable<String>) createRelaxedNamesHandle.invoke(name);
+    }
+    
+    private Object resolvePlaceholders(final Environment environment, final Object value) {
+        return value instanceof String && ((String) value).contains(PlaceholderConfigurerSupport.DEFAULT_PLACEHOLDER_PREFIX) ? environment.resolvePlaceholders((String) value) : value;
+    }
+}
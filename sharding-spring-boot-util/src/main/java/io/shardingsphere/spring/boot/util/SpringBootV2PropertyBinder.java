@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import lombok.SneakyThrows;
+import org.springframework.core.env.Environment;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Property binder for Spring Boot 2.x.
+ * 
+ * <p>
+ * All entries are bound by one {@code Binder} call on prefix as nested map.
+ * </p>
+ *
+ * @author yangyi
+ */
+final class SpringBootV2PropertyBinder implements PropertyBinder {
+    
+    private final MethodHandle getBinderHandle;
+    
+    private final MethodHandle bindHandle;
+    
+    private final MethodHandle getResultHandle;
+    
+    private final MethodHandle orElseHandle;
+    
+    @SneakyThrows
+    SpringBootV2PropertyBinder() {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Class<?> binderClass = Class.forName("org.springframework.boot.context.properties.bind.Binder");
+        Class<?> bindResultClass = Class.forName("org.springframework.boot.context.properties.bind.BindResult");
+        getBinderHandle = lookup.findStatic(binderClass, "get", MethodType.methodType(binderClass, Environment.class));
+        bindHandle = lookup.findVirtual(binderClass, "bind", MethodType.methodType(bindResultClass, String.class, Class.class));
+        getResultHandle = lookup.findVirtual(bindResultClass, "get", MethodType.methodType(Object.class));
+        orElseHandle = lookup.findVirtual(bindResultClass, "orElse", MethodType.methodType(Object.class, Object.class));
+    }
+    
+    @Override
+    @SneakyThrows
+    public Object bind(final Environment environment, final String prefix, final Class<?> targetClass) {
+        return getResultHandle.invoke(doBind(environment, prefix, targetClass));
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    @SneakyThrows
+    public Map<String, Map<String, Object>> bindAll(final Environment environment, final String prefix, final Collection<String> names) {
+        Map<String, Object> properties = (Map<String, Object>) orElseHandle.invoke(doBind(environment, prefix, Map.class), Collections.emptyMap());
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>(names.size(), 1);
+        for (String each : names) {
+            Object subProperties = properties.get(each.trim());
+            result.put(each.trim(), subProperties instanceof Map ? (Map<String, Object>) subProperties : Collections.<String, Object>emptyMap());
+        }
+        return result;
+    }
+    
+    @SneakyThrows
+    private Object doBind(final Environment environment, final String prefix, final Class<?> targetClass) {
+        return bindHandle.invoke(getBinderHandle.invoke(environment), prefix.endsWith(".") ? prefix.substring(0, prefix.length() - 1) : prefix, targetClass);
+    }
+}
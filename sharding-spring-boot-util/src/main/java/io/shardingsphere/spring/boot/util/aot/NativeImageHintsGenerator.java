@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.aot;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.shardingsphere.core.exception.ShardingException;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Generator of GraalVM native image reflection hints.
+ * 
+ * <p>Classes configured in {@code sharding.jdbc.*} properties, such as data source types and sharding algorithm class names, 
+ * are resolved at build time, and are written into {@code reflect-config.json} together with the YAML rule configuration classes 
+ * which are bound by reflection.</p>
+ * 
+ * <p>Hints only cover reflection, no native image is built or verified by this project. 
+ * Data source names, actual data nodes and inline algorithm expressions are evaluated by Groovy {@code InlineExpressionParser} of ShardingSphere, 
+ * even if they contain no inline expression. Groovy compiles scripts at runtime, which native image does not support, 
+ * so generator fails if any property evaluated by Groovy is configured. 
+ * Master-slave rule and sharding rule without those properties can be hinted only.</p>
+ * 
+ * <p>Usage: {@code NativeImageHintsGenerator <output reflect-config.json> <application properties>...}</p>
+ *
+ * @author yangyi
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class NativeImageHintsGenerator {
+    
+    private static final Pattern CLASS_NAME_KEY_PATTERN = Pattern.compile(
+            "^sharding\\.jdbc\\.(datasource\\.[^.]+\\.type|config\\..+[.-](class-name|className|class_name))$");
+    
+    private static final Pattern GROOVY_EVALUATED_KEY_PATTERN = Pattern.compile(
+            "^sharding\\.jdbc\\.(datasource\\.names|config\\..+[.-](actual-data-nodes|actualDataNodes|actual_data_nodes|algorithm-expression|algorithmExpression|algorithm_expression))$");
+    
+    private static final Collection<String> RULE_CONFIGURATION_CLASS_NAMES = Arrays.asList(
+            "org.apache.shardingsphere.core.yaml.sharding.YamlShardingRuleConfiguration", "org.apache.shardingsphere.core.yaml.masterslave.YamlMasterSlaveRuleConfiguration");
+    
+    private static final Collection<String> BOUND_PACKAGE_PREFIXES = Arrays.asList("org.apache.shardingsphere.", "io.shardingsphere.");
+    
+    /**
+     * Find class names configured in properties.
+     * 
+     * @param props application properties
+     * @return class names in order
+     */
+    public static Collection<String> findClassNames(final Properties props) {
+        Collection<String> result = new TreeSet<>();
+        for (String each : props.stringPropertyNames()) {
+            if (CLASS_NAME_KEY_PATTERN.matcher(each).matches() && !props.getProperty(each).trim().isEmpty()) {
+                result.add(props.getProperty(each).trim());
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Find keys of properties which are evaluated by Groovy at runtime.
+     * 
+     * @param props application properties
+     * @return keys in order
+     */
+    public static Collection<String> findGroovyEvaluatedKeys(final Properties props) {
+        Collection<String> result = new TreeSet<>();
+        for (String each : props.stringPropertyNames()) {
+            if (GROOVY_EVALUATED_KEY_PATTERN.matcher(each).matches() && !props.getProperty(each).trim().isEmpty()) {
+                result.add(each);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Resolve classes up front.
+     * 
+     * @param classNames class names
+     * @param classLoader class loader
+     * @return resolved classes
+     * @throws ShardingException if any class can not be found
+     */
+    public static Collection<Class<?>> resolveClasses(final Collection<String> classNames, final ClassLoader classLoader) {
+        Collection<Class<?>> result = new LinkedList<>();
+        for (String each : classNames) {
+            try {
+                result.add(Class.forName(each, false, classLoader));
+            } catch (final ClassNotFoundException ex) {
+                throw new ShardingException(String.format("Can't find class [%s]", each), ex);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Find classes bound by reflection from root class, include root class and classes of its bean properties recursively.
+     * 
+     * @param rootClass root class
+     * @return class names in order
+     */
+    public static Collection<String> findBoundClassNames(final Class<?> rootClass) {
+        Set<String> result = new TreeSet<>();
+        collectBoundClassNames(rootClass, result);
+        return result;
+    }
+    
+    private static void collectBoundClassNames(final Type type, final Set<String> result) {
+        if (type instanceof ParameterizedType) {
+            for (Type each : ((ParameterizedType) type).getActualTypeArguments()) {
+                collectBoundClassNames(each, result);
+            }
+            collectBoundClassNames(((ParameterizedType) type).getRawType(), result);
+            return;
+        }
+        if (!(type instanceof Class) || !isBoundPackage(((Class<?>) type).getName()) || !result.add(((Class<?>) type).getName())) {
+            return;
+        }
+        try {
+            for (PropertyDescriptor each : Introspector.getBeanInfo((Class<?>) type, Object.class).getPropertyDescriptors()) {
+                Method readMethod = each.getReadMethod();
+                if (null != readMethod) {
+                    collectBoundClassNames(readMethod.getGenericReturnType(), result);
+                }
+            }
+        } catch (final IntrospectionException ex) {
+            throw new ShardingException(ex);
+        }
+    }
+    
+    private static boolean isBoundPackage(final String className) {
+        for (String each : BOUND_PACKAGE_PREFIXES) {
+            if (className.startsWith(each)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Generate content of {@code reflect-config.json}.
+     * 
+     * @param classNames class names
+     * @return content of {@code reflect-config.json}
+     */
+    public static String generateReflectConfig(final Collection<String> classNames) {
+        StringBuilder result = new StringBuilder("[");
+        boolean first = true;
+        for (String each : classNames) {
+            result.append(first ? "" : ",").append("\n  {\n    \"name\": \"").append(each).append("\",\n")
+                    .append("    \"allDeclaredConstructors\": true,\n    \"allPublicConstructors\": true,\n    \"allPublicMethods\": true,\n    \"allDeclaredFields\": true\n  }");
+            first = false;
+        }
+        return result.append("\n]\n").toString();
+    }
+    
+    /**
+     * Generate {@code reflect-config.json} from application properties files.
+     * 
+     * @param args output file, then application properties files
+     * @throws IOException IO exception
+     * @throws ShardingException if any property is evaluated by Groovy at runtime
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: NativeImageHintsGenerator <output reflect-config.json> <application properties>...");
+        }
+        Properties props = new Properties();
+        for (int i = 1; i < args.length; i++) {
+            try (InputStream inputStream = new FileInputStream(args[i])) {
+                props.load(inputStream);
+            }
+        }
+        Collection<String> groovyEvaluatedKeys = findGroovyEvaluatedKeys(props);
+        if (!groovyEvaluatedKeys.isEmpty()) {
+            throw new ShardingException(String.format("Properties %s are evaluated by Groovy at runtime, which is not supported by native image.", groovyEvaluatedKeys));
+        }
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Collection<String> classNames = new TreeSet<>(findClassNames(props));
+        resolveClasses(classNames, classLoader);
+        for (String each : RULE_CONFIGURATION_CLASS_NAMES) {
+            classNames.addAll(findBoundClassNames(resolveClasses(Arrays.asList(each), classLoader).iterator().next()));
+        }
+        File output = new File(args[0]);
+        if (null != output.getParentFile()) {
+            output.getParentFile().mkdirs();
+        }
+        try (OutputStream outputStream = new FileOutputStream(output)) {
+            outputStream.write(generateReflectConfig(classNames).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.endpoint;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.shardingsphere.core.rule.BindingTableRule;
+import org.apache.shardingsphere.core.rule.DataNode;
+import org.apache.shardingsphere.core.rule.MasterSlaveRule;
+import org.apache.shardingsphere.core.rule.ShardingRule;
+import org.apache.shardingsphere.core.rule.TableRule;
+import org.apache.shardingsphere.shardingjdbc.jdbc.core.datasource.MasterSlaveDataSource;
+import org.apache.shardingsphere.shardingjdbc.jdbc.core.datasource.ShardingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Description of active rule exposed by sharding endpoint.
+ * 
+ * <p>Description only holds names of tables, data nodes and data sources, algorithms and strategies are not exposed.</p>
+ *
+ * @author yangyi
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+public final class RuleDescription {
+    
+    private final String type;
+    
+    private final Map<String, List<String>> tables;
+    
+    private final Map<String, String> generateKeyColumns;
+    
+    private final List<List<String>> bindingTables;
+    
+    private final Collection<String> broadcastTables;
+    
+    private final String defaultDataSourceName;
+    
+    private final Map<String, MasterSlaveRuleDescription> masterSlaveRules;
+    
+    /**
+     * Describe active rule of logic data source.
+     * 
+     * @param logicDataSource sharding data source, master-slave data source or data source wrapping them
+     * @return rule description, null if logic data source is neither sharding nor master-slave data source
+     * @throws SQLException SQL exception
+     */
+    public static RuleDescription of(final DataSource logicDataSource) throws SQLException {
+        if (null == logicDataSource) {
+            return null;
+        }
+        if (logicDataSource.isWrapperFor(ShardingDataSource.class)) {
+            return of(logicDataSource.unwrap(ShardingDataSource.class).getShardingContext().getShardingRule());
+        }
+        if (logicDataSource.isWrapperFor(MasterSlaveDataSource.class)) {
+            return of(logicDataSource.unwrap(MasterSlaveDataSource.class).getMasterSlaveRule());
+        }
+        return null;
+    }
+    
+    /**
+     * Describe sharding rule.
+     * 
+     * @param shardingRule sharding rule
+     * @return rule description
+     */
+    public static RuleDescription of(final ShardingRule shardingRule) {
+        Map<String, List<String>> tables = new LinkedHashMap<>(shardingRule.getTableRules().size(), 1);
+        Map<String, String> generateKeyColumns = new LinkedHashMap<>();
+        for (TableRule each : shardingRule.getTableRules()) {
+            tables.put(each.getLogicTable(), getActualDataNodes(each));
+            if (null != each.getGenerateKeyColumn()) {
+                generateKeyColumns.put(each.getLogicTable(), each.getGenerateKeyColumn());
+            }
+        }
+        List<List<String>> bindingTables = new ArrayList<>(shardingRule.getBindingTableRules().size());
+        for (BindingTableRule each : shardingRule.getBindingTableRules()) {
+            List<String> logicTables = new ArrayList<>(each.getTableRules().size());
+            for (TableRule tableRule : each.getTableRules()) {
+                logicTables.add(tableRule.getLogicTable());
+            }
+            bindingTables.add(logicTables);
+        }
+        Map<String, MasterSlaveRuleDescription> masterSlaveRules = new LinkedHashMap<>(shardingRule.getMasterSlaveRules().size(), 1);
+        for (MasterSlaveRule each : shardingRule.getMasterSlaveRules()) {
+            masterSlaveRules.put(each.getName(), new MasterSlaveRuleDescription(each.getMasterDataSourceName(), new ArrayList<>(each.getSlaveDataSourceNames())));
+        }
+        return new RuleDescription("sharding", tables, generateKeyColumns, bindingTables, 
+                new ArrayList<>(shardingRule.getBroadcastTables()), shardingRule.getShardingDataSourceNames().getDefaultDataSourceName(), masterSlaveRules);
+    }
+    
+    /**
+     * Describe master-slave rule.
+     * 
+     * @param masterSlaveRule master-slave rule
+     * @return rule description
+     */
+    public static RuleDescription of(final MasterSlaveRule masterSlaveRule) {
+        return new RuleDescription("master-slave", Collections.<String, List<String>>emptyMap(), Collections.<String, String>emptyMap(), Collections.<List<String>>emptyList(), 
+                Collections.<String>emptyList(), null, Collections.singletonMap(masterSlaveRule.getName(), 
+                        new MasterSlaveRuleDescription(masterSlaveRule.getMasterDataSourceName(), new ArrayList<>(masterSlaveRule.getSlaveDataSourceNames()))));
+    }
+    
+    private static List<String> getActualDataNodes(final TableRule tableRule) {
+        List<String> result = new ArrayList<>(tableRule.getActualDataNodes().size());
+        for (DataNode each : tableRule.getActualDataNodes()) {
+            result.add(each.getDataSourceName() + "." + each.getTableName());
+        }
+        return result;
+    }
+    
+    /**
+     * Description of master-slave rule.
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    @Getter
+    public static final class MasterSlaveRuleDescription {
+        
+        private final String masterDataSourceName;
+        
+        private final List<String> slaveDataSourceNames;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.endpoint;
+
+import com.google.common.base.Supplier;
+import io.shardingsphere.spring.boot.util.DataSourcePoolStatistics;
+import io.shardingsphere.spring.boot.util.DataSourcePoolStatistics.Statistic;
+import io.shardingsphere.spring.boot.util.instrument.RoutingStatistics;
+import org.apache.shardingsphere.core.exception.ShardingException;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint of sharding, expose active rule, connection pools of actual data sources and routing statistics.
+ * 
+ * <p>Rule is described from logic data source supplied on each invocation, so renewed rule of orchestration is exposed.</p>
+ *
+ * @author yangyi
+ */
+public final class ShardingEndpoint extends AbstractEndpoint<Map<String, Object>> {
+    
+    private final Map<String, DataSource> dataSourceMap;
+    
+    private final Supplier<DataSource> logicDataSource;
+    
+    private final RoutingStatistics routingStatistics;
+    
+    public ShardingEndpoint(final Map<String, DataSource> dataSourceMap, final Supplier<DataSource> logicDataSource, final RoutingStatistics routingStatistics) {
+        super("sharding");
+        this.dataSourceMap = dataSourceMap;
+        this.logicDataSource = logicDataSource;
+        this.routingStatistics = routingStatistics;
+    }
+    
+    @Override
+    public Map<String, Object> invoke() {
+        Map<String, Object> result = new LinkedHashMap<>(3, 1);
+        result.put("rule", getRule());
+        result.put("dataSources", getDataSources());
+        if (null != routingStatistics) {
+            result.put("routing", getRouting());
+        }
+        return result;
+    }
+    
+    private RuleDescription getRule() {
+        try {
+            return RuleDescription.of(logicDataSource.get());
+        } catch (final SQLException ex) {
+            throw new ShardingException(ex);
+        }
+    }
+    
+    private Map<String, Object> getDataSources() {
+        Map<String, Object> result = new LinkedHashMap<>(dataSourceMap.size(), 1);
+        for (Map.Entry<String, DataSource> entry : dataSourceMap.entrySet()) {
+            result.put(entry.getKey(), getPoolSnapshot(entry.getValue()));
+        }
+        return result;
+    }
+    
+    private Map<String, Object> getPoolSnapshot(final DataSource dataSource) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        DataSource pool = DataSourcePoolStatistics.getPool(dataSource);
+        result.put("initialized", null != pool);
+        result.put("type", DataSourcePoolStatistics.getPoolType(dataSource));
+        if (null == pool) {
+            return result;
+        }
+        for (Statistic each : Statistic.values()) {
+            double value = DataSourcePoolStatistics.get(dataSource, each);
+            if (!Double.isNaN(value)) {
+                result.put(each.getName(), value);
+            }
+        }
+        return result;
+    }
+    
+    private Map<String, Object> getRouting() {
+        Map<String, Object> result = new LinkedHashMap<>(2, 1);
+        result.put("logicTables", routingStatistics.getLogicTableCounts());
+        result.put("dataSources", routingStatistics.getDataSourceCounts());
+        return result;
+    }
+}
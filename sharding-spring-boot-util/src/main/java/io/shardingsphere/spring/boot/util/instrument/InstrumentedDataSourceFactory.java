@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.instrument;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Instrumented data source factory.
+ * 
+ * <p>Data sources, connections and statements are wrapped by JDK proxies which time getting connection and executing SQL, 
+ * and notify {@code SQLExecutionNotifier} if any listener is registered.
+ * The wrapped objects can not be cast to their original types, {@code unwrap} returns the wrapped sharding data source or connection pool instead.
+ * Actual data sources are not wrapped if XA transaction manager is present, because it builds XA data sources from the type of connection pools.</p>
+ *
+ * @author yangyi
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@Slf4j
+public final class InstrumentedDataSourceFactory {
+    
+    private static final String XA_TRANSACTION_MANAGER_CLASS_NAME = "org.apache.shardingsphere.transaction.xa.XAShardingTransactionManager";
+    
+    private static final Collection<String> EXECUTE_METHOD_NAMES = new HashSet<>(
+            Arrays.asList("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch"));
+    
+    private static final Collection<String> CREATE_STATEMENT_METHOD_NAMES = new HashSet<>(Arrays.asList("createStatement", "prepareStatement", "prepareCall"));
+    
+    /**
+     * Create instrumented logic data source.
+     * 
+     * @param dataSource sharding or master-slave data source
+     * @param notifier SQL execution notifier
+     * @param logicTableMatcher logic table matcher
+     * @return instrumented logic data source
+     */
+    public static DataSource createLogicDataSource(final DataSource dataSource, final SQLExecutionNotifier notifier, final LogicTableMatcher logicTableMatcher) {
+        return createDataSource(dataSource, new InstrumentationContext(notifier, logicTableMatcher, null));
+    }
+    
+    /**
+     * Create instrumented actual data source map.
+     * 
+     * @param dataSourceMap actual data source map
+     * @param notifier SQL execution notifier
+     * @return instrumented actual data source map, or the original one if XA transaction manager is present
+     */
+    public static Map<String, DataSource> createPhysicalDataSourceMap(final Map<String, DataSource> dataSourceMap, final SQLExecutionNotifier notifier) {
+        if (isXATransactionManagerPresent()) {
+            log.warn("Actual SQL is not instrumented, because XA transaction manager requires connection pools of actual data sources unwrapped.");
+            return dataSourceMap;
+        }
+        Map<String, DataSource> result = new LinkedHashMap<>(dataSourceMap.size(), 1);
+        for (Map.Entry<String, DataSource> entry : dataSourceMap.entrySet()) {
+            result.put(entry.getKey(), createDataSource(entry.getValue(), new InstrumentationContext(notifier, null, entry.getKey())));
+        }
+        return result;
+    }
+    
+    private static boolean isXATransactionManagerPresent() {
+        try {
+            Class.forName(XA_TRANSACTION_MANAGER_CLASS_NAME, false, InstrumentedDataSourceFactory.class.getClassLoader());
+            return true;
+        } catch (final ClassNotFoundException ignore) {
+            return false;
+        }
+    }
+    
+    private static DataSource createDataSource(final DataSource dataSource, final InstrumentationContext context) {
+        return (DataSource) Proxy.newProxyInstance(
+                InstrumentedDataSourceFactory.class.getClassLoader(), new Class[] {DataSource.class, AutoCloseable.class}, new DataSourceHandler(dataSource, context));
+    }
+    
+    private static Object invokeTarget(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+    
+    @RequiredArgsConstructor
+    private static final class InstrumentationContext {
+        
+        private final SQLExecutionNotifier notifier;
+        
+        private final LogicTableMatcher logicTableMatcher;
+        
+        private final String dataSourceName;
+        
+        private boolean isLogic() {
+            return null == dataSourceName;
+        }
+        
+        private void notifyExecuted(final String sql, final long elapsedNanos, final boolean success) {
+            if (isLogic()) {
+                notifier.notifyLogic(sql, logicTableMatcher.match(sql), elapsedNanos, success);
+            } else {
+                notifier.notifyPhysical(SQLExecutionPhase.PHYSICAL_EXECUTE, dataSourceName, sql, elapsedNanos, success);
+            }
+        }
+    }
+    
+    @RequiredArgsConstructor
+    private abstract static class AbstractHandler implements InvocationHandler {
+        
+        private final Object target;
+        
+        @Override
+        public final Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    return unwrap(proxy, (Class<?>) args[0], method, args);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy) || ((Class<?>) args[0]).isInstance(target) || (Boolean) invokeTarget(target, method, args);
+                default:
+                    return doInvoke(proxy, target, method, args);
+            }
+        }
+        
+        private Object unwrap(final Object proxy, final Class<?> iface, final Method method, final Object[] args) throws Throwable {
+            if (iface.isInstance(proxy)) {
+                return proxy;
+            }
+            return iface.isInstance(target) ? target : invokeTarget(target, method, args);
+        }
+        
+        protected abstract Object doInvoke(Object proxy, Object target, Method method, Object[] args) throws Throwable;
+    }
+    
+    private static final class DataSourceHandler extends AbstractHandler {
+        
+        private final InstrumentationContext context;
+        
+        private DataSourceHandler(final DataSource target, final InstrumentationContext context) {
+            super(target);
+            this.context = context;
+        }
+        
+        @Override
+        protected Object doInvoke(final Object proxy, final Object target, final Method method, final Object[] args) throws Throwable {
+            if ("close".equals(method.getName()) && !(target instanceof AutoCloseable)) {
+                return null;
+            }
+            if (!"getConnection".equals(method.getName())) {
+                return invokeTarget(target, method, args);
+            }
+            Connection connection;
+            if (context.isLogic() || !context.notifier.isEnabled()) {
+                connection = (Connection) invokeTarget(target, method, args);
+            } else {
+                long startNanos = System.nanoTime();
+                boolean success = false;
+                try {
+                    connection = (Connection) invokeTarget(target, method, args);
+                    success = true;
+                } finally {
+                    context.notifier.notifyPhysical(SQLExecutionPhase.PHYSICAL_CONNECT, context.dataSourceName, null, System.nanoTime() - startNanos, success);
+                }
+            }
+            return Proxy.newProxyInstance(InstrumentedDataSourceFactory.class.getClassLoader(), new Class[] {Connection.class}, new ConnectionHandler(connection, context));
+        }
+    }
+    
+    private static final class ConnectionHandler extends AbstractHandler {
+        
+        private final InstrumentationContext context;
+        
+        private ConnectionHandler(final Connection target, final InstrumentationContext context) {
+            super(target);
+            this.context = context;
+        }
+        
+        @Override
+        protected Object doInvoke(final Object proxy, final Object target, final Method method, final Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (!CREATE_STATEMENT_METHOD_NAMES.contains(method.getName())) {
+                return result;
+            }
+            String sql = null != args && 0 != args.length && args[0] instanceof String ? (String) args[0] : null;
+            return Proxy.newProxyInstance(InstrumentedDataSourceFactory.class.getClassLoader(), 
+                    new Class[] {getStatementInterface((Statement) result)}, new StatementHandler((Statement) result, context, (Connection) proxy, sql));
+        }
+        
+        private Class<?> getStatementInterface(final Statement statement) {
+            if (statement instanceof CallableStatement) {
+                return CallableStatement.class;
+            }
+            return statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        }
+    }
+    
+    private static final class StatementHandler extends AbstractHandler {
+        
+        private final InstrumentationContext context;
+        
+        private final Connection connection;
+        
+        private final String sql;
+        
+        private StatementHandler(final Statement target, final InstrumentationContext context, final Connection connection, final String sql) {
+            super(target);
+            this.context = context;
+            this.connection = connection;
+            this.sql = sql;
+        }
+        
+        @Override
+        protected Object doInvoke(final Object proxy, final Object target, final Method method, final Object[] args) throws Throwable {
+            if ("getConnection".equals(method.getName())) {
+                return connection;
+            }
+            if (!EXECUTE_METHOD_NAMES.contains(method.getName()) || !context.notifier.isEnabled()) {
+                return invokeTarget(target, method, args);
+            }
+            long startNanos = System.nanoTime();
+            boolean success = false;
+            try {
+                Object result = invokeTarget(target, method, args);
+                success = true;
+                return result;
+            } finally {
+                context.notifyExecuted(null != args && 0 != args.length && args[0] instanceof String ? (String) args[0] : sql, System.nanoTime() - startNanos, success);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.instrument;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Logic table matcher, find logic tables appeared in logic SQL by identifiers without parsing SQL.
+ *
+ * @author yangyi
+ */
+public final class LogicTableMatcher {
+    
+    private final Map<String, String> logicTables = new HashMap<>();
+    
+    private int minLength = Integer.MAX_VALUE;
+    
+    private int maxLength;
+    
+    public LogicTableMatcher(final Collection<String> logicTables) {
+        for (String each : logicTables) {
+            this.logicTables.put(each.toLowerCase(), each);
+            minLength = Math.min(minLength, each.length());
+            maxLength = Math.max(maxLength, each.length());
+        }
+    }
+    
+    /**
+     * Match logic tables appeared in SQL.
+     * 
+     * @param sql logic SQL
+     * @return logic tables in order of appearance
+     */
+    public Collection<String> match(final String sql) {
+        if (logicTables.isEmpty() || null == sql) {
+            return Collections.emptyList();
+        }
+        Collection<String> result = null;
+        int start = -1;
+        for (int i = 0; i <= sql.length(); i++) {
+            boolean isIdentifierPart = i < sql.length() && isIdentifierPart(sql.charAt(i));
+            if (isIdentifierPart && start < 0) {
+                start = i;
+            } else if (!isIdentifierPart && start >= 0) {
+                String logicTable = findLogicTable(sql, start, i);
+                if (null != logicTable) {
+                    if (null == result) {
+                        result = new LinkedHashSet<>();
+                    }
+                    result.add(logicTable);
+                }
+                start = -1;
+            }
+        }
+        return null == result ? Collections.<String>emptyList() : result;
+    }
+    
+    private String findLogicTable(final String sql, final int start, final int end) {
+        int length = end - start;
+        return length < minLength || length > maxLength ? null : logicTables.get(sql.substring(start, end).toLowerCase());
+    }
+    
+    private boolean isIdentifierPart(final char ch) {
+        return Character.isLetterOrDigit(ch) || '_' == ch || '$' == ch;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.instrument;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routing statistics, count logic SQL per logic table and actual SQL per actual data source.
+ *
+ * @author yangyi
+ */
+public final class RoutingStatistics implements SQLExecutionListener {
+    
+    private final ConcurrentMap<String, LongAdder> logicTableCounters = new ConcurrentHashMap<>();
+    
+    private final ConcurrentMap<String, LongAdder> dataSourceCounters = new ConcurrentHashMap<>();
+    
+    @Override
+    public void onFinished(final SQLExecutionEvent event) {
+        switch (event.getPhase()) {
+            case LOGIC_EXECUTE:
+                for (String each : event.getLogicTables()) {
+                    increment(logicTableCounters, each);
+                }
+                break;
+            case PHYSICAL_EXECUTE:
+                increment(dataSourceCounters, event.getDataSourceName());
+                break;
+            default:
+                break;
+        }
+    }
+    
+    private void increment(final ConcurrentMap<String, LongAdder> counters, final String key) {
+        LongAdder counter = counters.get(key);
+        if (null == counter) {
+            counters.putIfAbsent(key, new LongAdder());
+            counter = counters.get(key);
+        }
+        counter.increment();
+    }
+    
+    /**
+     * Get counts of logic SQL per logic table.
+     * 
+     * @return counts of logic SQL per logic table
+     */
+    public Map<String, Long> getLogicTableCounts() {
+        return getCounts(logicTableCounters);
+    }
+    
+    /**
+     * Get counts of actual SQL per actual data source.
+     * 
+     * @return counts of actual SQL per actual data source
+     */
+    public Map<String, Long> getDataSourceCounts() {
+        return getCounts(dataSourceCounters);
+    }
+    
+    private Map<String, Long> getCounts(final ConcurrentMap<String, LongAdder> counters) {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().sum());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.instrument;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Collection;
+
+/**
+ * SQL execution event.
+ *
+ * @author yangyi
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+public final class SQLExecutionEvent {
+    
+    private final SQLExecutionPhase phase;
+    
+    /**
+     * Actual data source name, null for {@code LOGIC_EXECUTE}.
+     */
+    private final String dataSourceName;
+    
+    private final String sql;
+    
+    /**
+     * Logic tables appeared in logic SQL, empty for physical phases.
+     */
+    private final Collection<String> logicTables;
+    
+    private final long elapsedNanos;
+    
+    private final boolean success;
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.instrument;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer timers of SQL execution phases.
+ * 
+ * <p>Logic SQL is timed per logic table, actual SQL is timed per actual data source. 
+ * Percentiles and percentile histograms are opt-in, because every timer keeps its own histogram, which is expensive with many tables and data sources.</p>
+ *
+ * @author yangyi
+ */
+public final class SQLExecutionMetrics implements SQLExecutionListener, MeterBinder {
+    
+    public static final String LOGIC_EXECUTE_METRIC_NAME = "sharding.sql.logic.execute";
+    
+    public static final String PHYSICAL_CONNECT_METRIC_NAME = "sharding.sql.physical.connect";
+    
+    public static final String PHYSICAL_EXECUTE_METRIC_NAME = "sharding.sql.physical.execute";
+    
+    public static final String TABLE_TAG = "table";
+    
+    public static final String DATA_SOURCE_NAME_TAG = "name";
+    
+    private static final String NONE_TABLE = "none";
+    
+    private final Map<SQLExecutionPhase, ConcurrentMap<String, Timer>> timers = new EnumMap<>(SQLExecutionPhase.class);
+    
+    private final boolean percentilesEnabled;
+    
+    private volatile MeterRegistry registry;
+    
+    public SQLExecutionMetrics() {
+        this(false);
+    }
+    
+    public SQLExecutionMetrics(final boolean percentilesEnabled) {
+        this.percentilesEnabled = percentilesEnabled;
+        for (SQLExecutionPhase each : SQLExecutionPhase.values()) {
+            timers.put(each, new ConcurrentHashMap<String, Timer>());
+        }
+    }
+    
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        for (ConcurrentMap<String, Timer> each : timers.values()) {
+            each.clear();
+        }
+        this.registry = registry;
+    }
+    
+    @Override
+    public void onFinished(final SQLExecutionEvent event) {
+        MeterRegistry registry = this.registry;
+        if (null == registry) {
+            return;
+        }
+        if (SQLExecutionPhase.LOGIC_EXECUTE != event.getPhase()) {
+            getTimer(registry, event.getPhase(), event.getDataSourceName()).record(event.getElapsedNanos(), TimeUnit.NANOSECONDS);
+            return;
+        }
+        if (event.getLogicTables().isEmpty()) {
+            getTimer(registry, event.getPhase(), NONE_TABLE).record(event.getElapsedNanos(), TimeUnit.NANOSECONDS);
+            return;
+        }
+        for (String each : event.getLogicTables()) {
+            getTimer(registry, event.getPhase(), each).record(event.getElapsedNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private Timer getTimer(final MeterRegistry registry, final SQLExecutionPhase phase, final String tagValue) {
+        ConcurrentMap<String, Timer> phaseTimers = timers.get(phase);
+        Timer result = phaseTimers.get(tagValue);
+        if (null != result) {
+            return result;
+        }
+        result = createTimer(registry, phase, tagValue);
+        Timer existed = phaseTimers.putIfAbsent(tagValue, result);
+        return null == existed ? result : existed;
+    }
+    
+    private Timer createTimer(final MeterRegistry registry, final SQLExecutionPhase phase, final String tagValue) {
+        Timer.Builder result;
+        switch (phase) {
+            case LOGIC_EXECUTE:
+                result = Timer.builder(LOGIC_EXECUTE_METRIC_NAME).description("Time of executing logic SQL").tag(TABLE_TAG, tagValue);
+                break;
+            case PHYSICAL_CONNECT:
+                result = Timer.builder(PHYSICAL_CONNECT_METRIC_NAME).description("Time of getting connection of actual data source").tag(DATA_SOURCE_NAME_TAG, tagValue);
+                break;
+            default:
+                result = Timer.builder(PHYSICAL_EXECUTE_METRIC_NAME).description("Time of executing actual SQL").tag(DATA_SOURCE_NAME_TAG, tagValue);
+                break;
+        }
+        if (percentilesEnabled) {
+            result.publishPercentiles(0.5, 0.95, 0.99).publishPercentileHistogram();
+        }
+        return result.register(registry);
+    }
+}
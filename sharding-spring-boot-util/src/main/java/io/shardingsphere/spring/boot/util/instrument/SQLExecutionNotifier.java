@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.instrument;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * SQL execution notifier.
+ *
+ * @author yangyi
+ */
+@Slf4j
+public final class SQLExecutionNotifier {
+    
+    private final List<SQLExecutionListener> listeners = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Register listeners.
+     * 
+     * @param listeners SQL execution listeners
+     */
+    public void register(final Collection<? extends SQLExecutionListener> listeners) {
+        for (SQLExecutionListener each : listeners) {
+            if (!this.listeners.contains(each)) {
+                this.listeners.add(each);
+            }
+        }
+    }
+    
+    /**
+     * Judge whether any listener is registered.
+     * 
+     * @return any listener is registered or not
+     */
+    public boolean isEnabled() {
+        return !listeners.isEmpty();
+    }
+    
+    /**
+     * Notify physical SQL execution finished.
+     * 
+     * @param phase SQL execution phase
+     * @param dataSourceName actual data source name
+     * @param sql actual SQL
+     * @param elapsedNanos elapsed nanoseconds
+     * @param success is success or not
+     */
+    public void notifyPhysical(final SQLExecutionPhase phase, final String dataSourceName, final String sql, final long elapsedNanos, final boolean success) {
+        fire(new SQLExecutionEvent(phase, dataSourceName, sql, Collections.<String>emptyList(), elapsedNanos, success));
+    }
+    
+    /**
+     * Notify logic SQL execution finished.
+     * 
+     * @param sql logic SQL
+     * @param logicTables logic tables appeared in logic SQL
+     * @param elapsedNanos elapsed nanoseconds
+     * @param success is success or not
+     */
+    public void notifyLogic(final String sql, final Collection<String> logicTables, final long elapsedNanos, final boolean success) {
+        fire(new SQLExecutionEvent(SQLExecutionPhase.LOGIC_EXECUTE, null, sql, logicTables, elapsedNanos, success));
+    }
+    
+    private void fire(final SQLExecutionEvent event) {
+        for (SQLExecutionListener each : listeners) {
+            try {
+                each.onFinished(event);
+            // CHECKSTYLE:OFF
+            } catch (final RuntimeException ex) {
+                // CHECKSTYLE:ON
+                log.warn("SQL execution listener [{}] failed", each.getClass().getName(), ex);
+            }
+        }
+    }
+}
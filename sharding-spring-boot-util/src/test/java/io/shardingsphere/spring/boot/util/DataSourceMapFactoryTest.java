@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import io.shardingsphere.spring.boot.util.fixture.SlowCreatedDataSource;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.shardingsphere.core.exception.ShardingException;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public final class DataSourceMapFactoryTest {
+    
+    @Before
+    public void setUp() {
+        SlowCreatedDataSource.getInstances().clear();
+    }
+    
+    @Test
+    public void assertCreateDataSourceMap() {
+        Map<String, DataSource> actual = DataSourceMapFactory.createDataSourceMap(createDataSourcePropsMap(2));
+        assertThat(new LinkedList<>(actual.keySet()), is(Arrays.asList("ds_0", "ds_1")));
+        assertThat(((BasicDataSource) actual.get("ds_1")).getUrl(), is("jdbc:h2:mem:ds_1;DB_CLOSE_DELAY=-1"));
+    }
+    
+    @Test(expected = ShardingException.class)
+    public void assertCreateDataSourceMapWithWrongType() {
+        Map<String, Map<String, Object>> dataSourcePropsMap = createDataSourcePropsMap(2);
+        dataSourcePropsMap.get("ds_1").put("type", "com.example.NotExistedDataSource");
+        DataSourceMapFactory.createDataSourceMap(dataSourcePropsMap);
+    }
+    
+    @Test
+    public void assertCloseCreatedDataSourcesWhenCreateDataSourceMapFailed() {
+        Map<String, Map<String, Object>> dataSourcePropsMap = createDataSourcePropsMap(2);
+        dataSourcePropsMap.get("ds_0").put("type", SlowCreatedDataSource.class.getName());
+        dataSourcePropsMap.get("ds_1").remove("type");
+        try {
+            DataSourceMapFactory.createDataSourceMap(dataSourcePropsMap);
+            fail("Expected NullPointerException");
+        } catch (final NullPointerException ex) {
+            assertThat(SlowCreatedDataSource.getInstances().size(), is(1));
+            assertTrue(SlowCreatedDataSource.getInstances().iterator().next().isClosed());
+        }
+    }
+    
+    @Test
+    public void assertCreateDataSourceMapInParallel() {
+        Map<String, DataSource> actual = DataSourceMapFactory.createDataSourceMapInParallel(createDataSourcePropsMap(4), 2, 10000L);
+        assertThat(new LinkedList<>(actual.keySet()), is(Arrays.asList("ds_0", "ds_1", "ds_2", "ds_3")));
+        for (Map.Entry<String, DataSource> entry : actual.entrySet()) {
+            assertThat(((BasicDataSource) entry.getValue()).getUrl(), is(String.format("jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1", entry.getKey())));
+        }
+    }
+    
+    @Test
+    public void assertCloseDataSourcesCreatedAfterTimeout() throws InterruptedException {
+        Map<String, Map<String, Object>> dataSourcePropsMap = createDataSourcePropsMap(3);
+        for (Map<String, Object> each : dataSourcePropsMap.values()) {
+            each.put("type", SlowCreatedDataSource.class.getName());
+        }
+        dataSourcePropsMap.get("ds_1").put("createDelayMilliseconds", 500L);
+        try {
+            DataSourceMapFactory.createDataSourceMapInParallel(dataSourcePropsMap, 2, 100L);
+            fail("Expected ShardingException");
+        } catch (final ShardingException ex) {
+            assertThat(ex.getMessage(), containsString("ds_1: Not created in 100 milliseconds"));
+        }
+        for (SlowCreatedDataSource each : SlowCreatedDataSource.getInstances()) {
+            awaitClosed(each);
+        }
+        assertThat(SlowCreatedDataSource.getInstances().size(), is(3));
+    }
+    
+    @Test
+    public void assertCreateDataSourceMapInParallelWithWrongTypes() {
+        Map<String, Map<String, Object>> dataSourcePropsMap = createDataSourcePropsMap(4);
+        dataSourcePropsMap.get("ds_1").put("type", "com.example.NotExistedDataSource");
+        dataSourcePropsMap.get("ds_3").put("type", "com.example.NotExistedDataSource");
+        try {
+            DataSourceMapFactory.createDataSourceMapInParallel(dataSourcePropsMap, 2, 10000L);
+            fail("Expected ShardingException");
+        } catch (final ShardingException ex) {
+            assertThat(ex.getMessage(), containsString("ds_1: Can't find datasource type!; ds_3: Can't find datasource type!"));
+            assertThat(ex.getSuppressed().length, is(2));
+        }
+    }
+    
+    private void awaitClosed(final SlowCreatedDataSource dataSource) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (!dataSource.isClosed() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertTrue(dataSource.isClosed());
+    }
+    
+    private Map<String, Map<String, Object>> createDataSourcePropsMap(final int dataSourceCount) {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (int i = 0; i < dataSourceCount; i++) {
+            Map<String, Object> dataSourceProps = new HashMap<>();
+            dataSourceProps.put("type", BasicDataSource.class.getName());
+            dataSourceProps.put("driverClassName", "org.h2.Driver");
+            dataSourceProps.put("url", String.format("jdbc:h2:mem:ds_%d;DB_CLOSE_DELAY=-1", i));
+            dataSourceProps.put("username", "sa");
+            result.put("ds_" + i, dataSourceProps);
+        }
+        return result;
+    }
+}
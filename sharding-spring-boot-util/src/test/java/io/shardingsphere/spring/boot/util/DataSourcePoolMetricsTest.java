@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class DataSourcePoolMetricsTest {
+    
+    private final Map<String, DataSource> dataSourceMap = new LinkedHashMap<>();
+    
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    
+    @Before
+    public void setUp() {
+        dataSourceMap.put("ds_0", createDataSource("ds_0"));
+        dataSourceMap.put("ds_1", new LazyInitDataSource("ds_1", createDataSourceProps("ds_1")));
+        new DataSourcePoolMetrics(dataSourceMap).bindTo(registry);
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        ((BasicDataSource) dataSourceMap.get("ds_0")).close();
+        ((LazyInitDataSource) dataSourceMap.get("ds_1")).close();
+    }
+    
+    @Test
+    public void assertBindTo() throws SQLException {
+        try (Connection ignored = dataSourceMap.get("ds_0").getConnection()) {
+            assertThat(getGaugeValue("connections.active", "ds_0"), is(1d));
+            assertThat(getGaugeValue("connections.max", "ds_0"), is(8d));
+            assertThat(getGaugeValue("connections.pending", "ds_0"), is(0d));
+        }
+        assertThat(getGaugeValue("connections.active", "ds_0"), is(0d));
+        assertThat(getGaugeValue("connections.idle", "ds_0"), is(1d));
+    }
+    
+    @Test
+    public void assertBindToLazyInitDataSource() throws SQLException {
+        assertTrue(Double.isNaN(getGaugeValue("connections.active", "ds_1")));
+        ((LazyInitDataSource) dataSourceMap.get("ds_1")).warmUp();
+        assertThat(getGaugeValue("connections.idle", "ds_1"), is(1d));
+    }
+    
+    @Test
+    public void assertBindToRefreshableDataSource() throws SQLException {
+        DataSource dataSource = new RefreshableDataSource("ds_2", dataSourceMap.get("ds_0"), createDataSourceProps("ds_0"));
+        new DataSourcePoolMetrics(Collections.singletonMap("ds_2", dataSource)).bindTo(registry);
+        try (Connection ignored = dataSource.getConnection()) {
+            assertThat(getGaugeValue("connections.active", "ds_2"), is(1d));
+        }
+    }
+    
+    private double getGaugeValue(final String name, final String dataSourceName) {
+        return registry.get(DataSourcePoolMetrics.METRIC_NAME_PREFIX + name).tag(DataSourcePoolMetrics.DATA_SOURCE_NAME_TAG, dataSourceName).gauge().value();
+    }
+    
+    private BasicDataSource createDataSource(final String dataSourceName) {
+        BasicDataSource result = new BasicDataSource();
+        result.setDriverClassName("org.h2.Driver");
+        result.setUrl(String.format("jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1", dataSourceName));
+        result.setUsername("sa");
+        result.setPassword("");
+        return result;
+    }
+    
+    private Map<String, Object> createDataSourceProps(final String dataSourceName) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("type", BasicDataSource.class.getName());
+        result.put("driverClassName", "org.h2.Driver");
+        result.put("url", String.format("jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1", dataSourceName));
+        result.put("username", "sa");
+        result.put("password", "");
+        return result;
+    }
+}
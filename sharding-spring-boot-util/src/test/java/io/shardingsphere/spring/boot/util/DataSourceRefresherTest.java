@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import io.shardingsphere.spring.boot.util.RefreshableDataSource.SwitchListener;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class DataSourceRefresherTest {
+    
+    private static final String PREFIX = "sharding.jdbc.datasource.";
+    
+    private final Map<String, Object> properties = new HashMap<>();
+    
+    private final Map<String, DataSource> dataSourceMap = new LinkedHashMap<>();
+    
+    private StandardEnvironment environment;
+    
+    private DataSourceRefresher dataSourceRefresher;
+    
+    @Before
+    public void setUp() throws ReflectiveOperationException {
+        environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        for (String each : Arrays.asList("ds_0", "ds_1")) {
+            properties.put(PREFIX + each + ".type", BasicDataSource.class.getName());
+            properties.put(PREFIX + each + ".driver-class-name", "org.h2.Driver");
+            properties.put(PREFIX + each + ".url", String.format("jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1", each));
+            properties.put(PREFIX + each + ".username", "sa");
+        }
+        for (Map.Entry<String, Map<String, Object>> entry : PropertyUtil.handleAll(environment, PREFIX, Arrays.asList("ds_0", "ds_1")).entrySet()) {
+            dataSourceMap.put(entry.getKey(), new RefreshableDataSource(entry.getKey(), DataSourceMapFactory.createDataSource(entry.getValue()), entry.getValue()));
+        }
+        dataSourceRefresher = new DataSourceRefresher(PREFIX, false, 60000L);
+    }
+    
+    @After
+    public void tearDown() {
+        dataSourceRefresher.close();
+    }
+    
+    @Test
+    public void assertRefreshChangedDataSource() {
+        BasicDataSource previousDataSource0 = getTargetDataSource("ds_0");
+        BasicDataSource previousDataSource1 = getTargetDataSource("ds_1");
+        properties.put(PREFIX + "ds_0.url", "jdbc:h2:mem:ds_0_new;DB_CLOSE_DELAY=-1");
+        assertThat(dataSourceRefresher.refresh(environment, dataSourceMap, Collections.singleton(PREFIX + "ds_0.url")), is((Object) Collections.singletonList("ds_0")));
+        assertThat(getTargetDataSource("ds_0").getUrl(), is("jdbc:h2:mem:ds_0_new;DB_CLOSE_DELAY=-1"));
+        assertThat(getTargetDataSource("ds_1"), is(previousDataSource1));
+        assertFalse(previousDataSource0.isClosed());
+        dataSourceRefresher.close();
+        assertTrue(previousDataSource0.isClosed());
+    }
+    
+    @Test
+    public void assertRefreshWithKeyOfSystemEnvironment() {
+        properties.put(PREFIX + "ds_1.url", "jdbc:h2:mem:ds_1_new;DB_CLOSE_DELAY=-1");
+        assertThat(dataSourceRefresher.refresh(environment, dataSourceMap, Collections.singleton("SHARDING_JDBC_DATASOURCE_DS_1_URL")), is((Object) Collections.singletonList("ds_1")));
+        assertThat(getTargetDataSource("ds_1").getUrl(), is("jdbc:h2:mem:ds_1_new;DB_CLOSE_DELAY=-1"));
+    }
+    
+    @Test
+    public void assertNotifySwitchListenerBeforeSwitched() {
+        final BasicDataSource previousDataSource = getTargetDataSource("ds_0");
+        final List<DataSource> actual = new LinkedList<>();
+        ((RefreshableDataSource) dataSourceMap.get("ds_0")).addSwitchListener(new SwitchListener() {
+            
+            @Override
+            public void onSwitch(final String dataSourceName, final DataSource targetDataSource) {
+                assertThat(dataSourceName, is("ds_0"));
+                assertThat(getTargetDataSource("ds_0"), is(previousDataSource));
+                actual.add(targetDataSource);
+            }
+        });
+        properties.put(PREFIX + "ds_0.url", "jdbc:h2:mem:ds_0_new;DB_CLOSE_DELAY=-1");
+        dataSourceRefresher.refresh(environment, dataSourceMap, Collections.singleton(PREFIX + "ds_0.url"));
+        assertThat(actual, is(Collections.<DataSource>singletonList(getTargetDataSource("ds_0"))));
+    }
+    
+    @Test
+    public void assertRefreshWithUnchangedProperties() {
+        BasicDataSource previousDataSource = getTargetDataSource("ds_0");
+        assertTrue(dataSourceRefresher.refresh(environment, dataSourceMap, Collections.singleton(PREFIX + "ds_0.url")).isEmpty());
+        assertThat(getTargetDataSource("ds_0"), is(previousDataSource));
+    }
+    
+    @Test
+    public void assertRefreshWithUnrelatedKeys() {
+        assertTrue(dataSourceRefresher.refresh(environment, dataSourceMap, Arrays.asList("spring.application.name", PREFIX + "names", PREFIX + "ds_2.url")).isEmpty());
+    }
+    
+    @Test
+    public void assertIsNotEnvironmentChangeEvent() {
+        assertFalse(DataSourceRefresher.isEnvironmentChangeEvent(new ApplicationEvent(this) {
+        }));
+    }
+    
+    private BasicDataSource getTargetDataSource(final String dataSourceName) {
+        return (BasicDataSource) ((RefreshableDataSource) dataSourceMap.get(dataSourceName)).getTargetDataSource();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class LazyInitDataSourceTest {
+    
+    @Test
+    public void assertIsLazyInit() {
+        assertTrue(LazyInitDataSource.isLazyInit(Collections.<String, Object>emptyMap(), true));
+        assertFalse(LazyInitDataSource.isLazyInit(Collections.<String, Object>emptyMap(), false));
+        assertTrue(LazyInitDataSource.isLazyInit(Collections.<String, Object>singletonMap("lazy-init", "true"), false));
+        assertFalse(LazyInitDataSource.isLazyInit(Collections.<String, Object>singletonMap("lazyInit", false), true));
+    }
+    
+    @Test
+    public void assertRemoveLazyInit() {
+        Map<String, Object> actual = LazyInitDataSource.removeLazyInit(createDataSourceProps());
+        assertFalse(actual.containsKey("lazy-init"));
+        assertThat(actual.get("url"), is((Object) "jdbc:h2:mem:lazy_ds;DB_CLOSE_DELAY=-1"));
+    }
+    
+    @Test
+    public void assertGetConnectionBeforeBootstrapFinished() throws Exception {
+        Map<String, Object> dataSourceProps = createDataSourceProps();
+        dataSourceProps.put("defaultReadOnly", "true");
+        dataSourceProps.put("initialSize", "5");
+        LazyInitDataSource actual = new LazyInitDataSource("lazy_ds", dataSourceProps);
+        Connection connection = actual.getConnection();
+        try {
+            assertTrue(connection.isValid(1));
+            assertTrue(connection.isReadOnly());
+            assertFalse(actual.isInitialized());
+        } finally {
+            connection.close();
+        }
+        actual.finishBootstrap();
+        assertFalse(actual.isInitialized());
+        try (Connection pooledConnection = actual.getConnection()) {
+            assertTrue(pooledConnection.isReadOnly());
+        }
+        assertThat(actual.unwrap(BasicDataSource.class).getInitialSize(), is(5));
+        actual.close();
+    }
+    
+    @Test
+    public void assertGetConnectionAfterBootstrapFinished() throws Exception {
+        LazyInitDataSource actual = new LazyInitDataSource("lazy_ds", createDataSourceProps());
+        actual.finishBootstrap();
+        try (Connection connection = actual.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+        assertTrue(actual.isInitialized());
+        BasicDataSource targetDataSource = actual.unwrap(BasicDataSource.class);
+        assertThat(targetDataSource.getUrl(), is("jdbc:h2:mem:lazy_ds;DB_CLOSE_DELAY=-1"));
+        actual.close();
+        assertTrue(targetDataSource.isClosed());
+    }
+    
+    @Test
+    public void assertWarmUp() throws SQLException {
+        LazyInitDataSource actual = new LazyInitDataSource("lazy_ds", createDataSourceProps());
+        actual.warmUp();
+        assertTrue(actual.isInitialized());
+        assertThat(actual.unwrap(BasicDataSource.class).getNumIdle(), is(1));
+    }
+    
+    @Test(expected = SQLException.class)
+    public void assertGetConnectionAfterClosed() throws Exception {
+        LazyInitDataSource actual = new LazyInitDataSource("lazy_ds", createDataSourceProps());
+        actual.close();
+        actual.finishBootstrap();
+        actual.getConnection();
+    }
+    
+    private Map<String, Object> createDataSourceProps() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("type", BasicDataSource.class.getName());
+        result.put("driver-class-name", "org.h2.Driver");
+        result.put("url", "jdbc:h2:mem:lazy_ds;DB_CLOSE_DELAY=-1");
+        result.put("username", "sa");
+        result.put("password", "");
+        result.put("lazy-init", "true");
+        return result;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class PropertyUtilTest {
+    
+    private StandardEnvironment environment;
+    
+    @Before
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("sharding.jdbc.datasource.names", "ds,ds_0");
+        properties.put("sharding.jdbc.datasource.ds.url", "jdbc:h2:mem:ds");
+        properties.put("sharding.jdbc.datasource.ds.username", "${db.username}");
+        properties.put("sharding.jdbc.datasource.ds_0.url", "jdbc:h2:mem:ds_0");
+        properties.put("sharding.jdbc.datasource.ds_0.max-total", "100");
+        properties.put("db.username", "sa");
+        Map<String, Object> systemEnvironment = new HashMap<>();
+        systemEnvironment.put("SHARDING_JDBC_DATASOURCE_DS_0_PASSWORD", "pwd");
+        environment = new StandardEnvironment();
+        environment.setIgnoreUnresolvableNestedPlaceholders(true);
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        environment.getPropertySources().addLast(new MapPropertySource("testSystemEnvironment", systemEnvironment));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertHandle() {
+        Map<String, Object> actual = PropertyUtil.handle(environment, "sharding.jdbc.datasource.ds", Map.class);
+        assertThat(actual.get("url"), is((Object) "jdbc:h2:mem:ds"));
+        assertThat(actual.get("username"), is((Object) "sa"));
+    }
+    
+    @Test
+    public void assertHandleAll() {
+        Map<String, Map<String, Object>> actual = PropertyUtil.handleAll(environment, "sharding.jdbc.datasource.", Arrays.asList("ds", " ds_0", "ds_1"));
+        assertThat(new LinkedList<>(actual.keySet()), is(Arrays.asList("ds", "ds_0", "ds_1")));
+        assertThat(actual.get("ds").size(), is(2));
+        assertThat(actual.get("ds").get("url"), is((Object) "jdbc:h2:mem:ds"));
+        assertThat(actual.get("ds").get("username"), is((Object) "sa"));
+        assertThat(actual.get("ds_0").get("url"), is((Object) "jdbc:h2:mem:ds_0"));
+        assertThat(actual.get("ds_0").get("max-total"), is((Object) "100"));
+        assertThat(actual.get("ds_0").get("PASSWORD"), is((Object) "pwd"));
+        assertTrue(actual.get("ds_1").isEmpty());
+    }
+    
+    @Test
+    public void assertGetChangedNames() {
+        Collection<String> actual = PropertyUtil.getChangedNames("sharding.jdbc.datasource.", Arrays.asList("ds", "ds_0", "ds_1"), Arrays.asList(
+                "sharding.jdbc.datasource.ds.url", "SHARDING_JDBC_DATASOURCE_DS_0_URL", "sharding-jdbc.datasource.ds0.max-total", "spring.application.name", "sharding.jdbc.datasource.ds_2"));
+        assertThat(new LinkedList<>(actual), is(Arrays.asList("ds", "ds_0")));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.aot;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.shardingsphere.core.exception.ShardingException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class NativeImageHintsGeneratorTest {
+    
+    @Test
+    public void assertFindClassNames() {
+        Properties props = new Properties();
+        props.setProperty("sharding.jdbc.datasource.ds_0.type", "org.apache.commons.dbcp2.BasicDataSource");
+        props.setProperty("sharding.jdbc.datasource.ds_0.driver-class-name", "org.h2.Driver");
+        props.setProperty("sharding.jdbc.config.sharding.default-database-strategy.standard.precise-algorithm-class-name", "foo.PreciseAlgorithm");
+        props.setProperty("sharding.jdbc.config.sharding.tables.t_order.table-strategy.hint.algorithm-class-name", "foo.HintAlgorithm");
+        props.setProperty("sharding.jdbc.config.sharding.tables.t_order.key-generator.type", "SNOWFLAKE");
+        props.setProperty("sharding.jdbc.config.masterslave.load-balance-algorithm-class-name", " ");
+        assertThat(NativeImageHintsGenerator.findClassNames(props), 
+                is((Collection<String>) Arrays.asList("foo.HintAlgorithm", "foo.PreciseAlgorithm", "org.apache.commons.dbcp2.BasicDataSource")));
+    }
+    
+    @Test
+    public void assertFindGroovyEvaluatedKeys() {
+        Properties props = new Properties();
+        props.setProperty("sharding.jdbc.datasource.names", "ds_0,ds_1");
+        props.setProperty("sharding.jdbc.datasource.ds_0.url", "jdbc:h2:mem:ds_0");
+        props.setProperty("sharding.jdbc.config.sharding.tables.t_order.actual-data-nodes", "ds_${0..1}.t_order_${0..1}");
+        props.setProperty("sharding.jdbc.config.sharding.default-database-strategy.inline.algorithm-expression", "ds_${user_id % 2}");
+        props.setProperty("sharding.jdbc.config.sharding.default-database-strategy.inline.sharding-column", "user_id");
+        assertThat(NativeImageHintsGenerator.findGroovyEvaluatedKeys(props), is((Collection<String>) Arrays.asList("sharding.jdbc.config.sharding.default-database-strategy.inline.algorithm-expression", 
+                "sharding.jdbc.config.sharding.tables.t_order.actual-data-nodes", "sharding.jdbc.datasource.names")));
+    }
+    
+    @Test
+    public void assertResolveClasses() {
+        Collection<Class<?>> actual = NativeImageHintsGenerator.resolveClasses(Collections.singletonList(String.class.getName()), getClass().getClassLoader());
+        assertThat(actual.iterator().next(), is((Object) String.class));
+    }
+    
+    @Test(expected = ShardingException.class)
+    public void assertResolveClassesFailure() {
+        NativeImageHintsGenerator.resolveClasses(Collections.singletonList("foo.NotExisted"), getClass().getClassLoader());
+    }
+    
+    @Test
+    public void assertFindBoundClassNames() {
+        Collection<String> actual = NativeImageHintsGenerator.findBoundClassNames(RootFixture.class);
+        assertThat(actual.size(), is(3));
+        assertTrue(actual.contains(RootFixture.class.getName()));
+        assertTrue(actual.contains(ChildFixture.class.getName()));
+        assertTrue(actual.contains(GrandChildFixture.class.getName()));
+        assertFalse(actual.contains(String.class.getName()));
+    }
+    
+    @Test
+    public void assertGenerateReflectConfig() {
+        String actual = NativeImageHintsGenerator.generateReflectConfig(Arrays.asList("foo.Bar", "foo.Baz"));
+        assertTrue(actual.startsWith("["));
+        assertTrue(actual.contains("\"name\": \"foo.Bar\""));
+        assertTrue(actual.contains("\"name\": \"foo.Baz\""));
+        assertTrue(actual.trim().endsWith("]"));
+    }
+    
+    @Test
+    public void assertGenerateEmptyReflectConfig() {
+        assertThat(NativeImageHintsGenerator.generateReflectConfig(Collections.<String>emptyList()), is("[\n]\n"));
+    }
+    
+    @Getter
+    @Setter
+    public static final class RootFixture {
+        
+        private String name;
+        
+        private Map<String, ChildFixture> children;
+    }
+    
+    @Getter
+    @Setter
+    public static final class ChildFixture {
+        
+        private GrandChildFixture grandChild;
+        
+        private RootFixture parent;
+    }
+    
+    @Getter
+    @Setter
+    public static final class GrandChildFixture {
+        
+        private int value;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.endpoint;
+
+import org.apache.shardingsphere.api.config.rule.MasterSlaveRuleConfiguration;
+import org.apache.shardingsphere.api.config.rule.ShardingRuleConfiguration;
+import org.apache.shardingsphere.api.config.rule.TableRuleConfiguration;
+import org.apache.shardingsphere.core.rule.MasterSlaveRule;
+import org.apache.shardingsphere.core.rule.ShardingRule;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public final class RuleDescriptionTest {
+    
+    @Test
+    public void assertOfShardingRule() {
+        ShardingRuleConfiguration shardingRuleConfig = new ShardingRuleConfiguration();
+        shardingRuleConfig.getTableRuleConfigs().add(createTableRuleConfiguration("t_order", "ds_${0..1}.t_order_${0..1}"));
+        shardingRuleConfig.getTableRuleConfigs().add(createTableRuleConfiguration("t_order_item", "ds_${0..1}.t_order_item_${0..1}"));
+        shardingRuleConfig.getBindingTableGroups().add("t_order, t_order_item");
+        shardingRuleConfig.getBroadcastTables().add("t_config");
+        shardingRuleConfig.setDefaultDataSourceName("ds_0");
+        RuleDescription actual = RuleDescription.of(new ShardingRule(shardingRuleConfig, Arrays.asList("ds_0", "ds_1")));
+        assertThat(actual.getType(), is("sharding"));
+        assertThat(actual.getTables().get("t_order"), is(Arrays.asList("ds_0.t_order_0", "ds_0.t_order_1", "ds_1.t_order_0", "ds_1.t_order_1")));
+        assertThat(actual.getTables().get("t_order_item").size(), is(4));
+        assertThat(actual.getBindingTables(), is(Collections.singletonList(Arrays.asList("t_order", "t_order_item"))));
+        assertThat(actual.getBroadcastTables(), is((Object) Collections.singletonList("t_config")));
+        assertThat(actual.getDefaultDataSourceName(), is("ds_0"));
+        assertTrue(actual.getMasterSlaveRules().isEmpty());
+    }
+    
+    private TableRuleConfiguration createTableRuleConfiguration(final String logicTable, final String actualDataNodes) {
+        TableRuleConfiguration result = new TableRuleConfiguration();
+        result.setLogicTable(logicTable);
+        result.setActualDataNodes(actualDataNodes);
+        return result;
+    }
+    
+    @Test
+    public void assertOfMasterSlaveRule() {
+        RuleDescription actual = RuleDescription.of(new MasterSlaveRule(new MasterSlaveRuleConfiguration("ds_ms", "ds_master", Arrays.asList("ds_slave_0", "ds_slave_1"))));
+        assertThat(actual.getType(), is("master-slave"));
+        assertTrue(actual.getTables().isEmpty());
+        assertThat(actual.getMasterSlaveRules().get("ds_ms").getMasterDataSourceName(), is("ds_master"));
+        assertThat(actual.getMasterSlaveRules().get("ds_ms").getSlaveDataSourceNames(), is(Arrays.asList("ds_slave_0", "ds_slave_1")));
+    }
+    
+    @Test
+    public void assertOfUnknownDataSource() throws SQLException {
+        assertNull(RuleDescription.of(mock(DataSource.class)));
+        assertNull(RuleDescription.of((DataSource) null));
+    }
+}
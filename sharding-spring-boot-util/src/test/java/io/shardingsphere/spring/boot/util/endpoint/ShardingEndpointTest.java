@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.endpoint;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import io.shardingsphere.spring.boot.util.LazyInitDataSource;
+import io.shardingsphere.spring.boot.util.instrument.RoutingStatistics;
+import io.shardingsphere.spring.boot.util.instrument.SQLExecutionEvent;
+import io.shardingsphere.spring.boot.util.instrument.SQLExecutionPhase;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class ShardingEndpointTest {
+    
+    private final Map<String, DataSource> dataSourceMap = new LinkedHashMap<>();
+    
+    private final RoutingStatistics routingStatistics = new RoutingStatistics();
+    
+    private final Supplier<DataSource> logicDataSource = Suppliers.<DataSource>ofInstance(null);
+    
+    @Before
+    public void setUp() {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl("jdbc:h2:mem:ds_endpoint;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSourceMap.put("ds_0", dataSource);
+        Map<String, Object> dataSourceProps = new HashMap<>();
+        dataSourceProps.put("type", BasicDataSource.class.getName());
+        dataSourceMap.put("ds_1", new LazyInitDataSource("ds_1", dataSourceProps));
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        ((BasicDataSource) dataSourceMap.get("ds_0")).close();
+        ((LazyInitDataSource) dataSourceMap.get("ds_1")).close();
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertInvoke() throws SQLException {
+        routingStatistics.onFinished(new SQLExecutionEvent(SQLExecutionPhase.LOGIC_EXECUTE, null, "SELECT 1", Arrays.asList("t_order", "t_order_item"), 1L, true));
+        routingStatistics.onFinished(new SQLExecutionEvent(SQLExecutionPhase.LOGIC_EXECUTE, null, "SELECT 1", Collections.singletonList("t_order"), 1L, true));
+        routingStatistics.onFinished(new SQLExecutionEvent(SQLExecutionPhase.PHYSICAL_EXECUTE, "ds_0", "SELECT 1", Collections.<String>emptyList(), 1L, true));
+        routingStatistics.onFinished(new SQLExecutionEvent(SQLExecutionPhase.PHYSICAL_CONNECT, "ds_0", null, Collections.<String>emptyList(), 1L, true));
+        Map<String, Object> actual;
+        try (Connection ignored = dataSourceMap.get("ds_0").getConnection()) {
+            actual = new ShardingEndpoint(dataSourceMap, logicDataSource, routingStatistics).invoke();
+        }
+        assertNull(actual.get("rule"));
+        Map<String, Map<String, Object>> dataSources = (Map<String, Map<String, Object>>) actual.get("dataSources");
+        assertTrue((Boolean) dataSources.get("ds_0").get("initialized"));
+        assertThat(dataSources.get("ds_0").get("type"), is((Object) BasicDataSource.class.getName()));
+        assertThat(dataSources.get("ds_0").get("connections.active"), is((Object) 1d));
+        assertFalse((Boolean) dataSources.get("ds_1").get("initialized"));
+        assertThat(dataSources.get("ds_1").get("type"), is((Object) BasicDataSource.class.getName()));
+        Map<String, Map<String, Long>> routing = (Map<String, Map<String, Long>>) actual.get("routing");
+        assertThat(routing.get("logicTables").get("t_order"), is(2L));
+        assertThat(routing.get("logicTables").get("t_order_item"), is(1L));
+        assertThat(routing.get("dataSources"), is(Collections.singletonMap("ds_0", 1L)));
+    }
+    
+    @Test
+    public void assertInvokeWithoutRoutingStatistics() {
+        assertFalse(new ShardingEndpoint(dataSourceMap, logicDataSource, null).invoke().containsKey("routing"));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.fixture;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+public final class SlowCreatedDataSource extends BasicDataSource {
+    
+    private static final Collection<SlowCreatedDataSource> INSTANCES = new CopyOnWriteArrayList<>();
+    
+    public SlowCreatedDataSource() {
+        INSTANCES.add(this);
+    }
+    
+    /**
+     * Get instances created since last cleared.
+     *
+     * @return created instances
+     */
+    public static Collection<SlowCreatedDataSource> getInstances() {
+        return INSTANCES;
+    }
+    
+    /**
+     * Delay creation of data source, interruption is ignored as pools usually do.
+     *
+     * @param createDelayMilliseconds create delay milliseconds
+     */
+    public void setCreateDelayMilliseconds(final long createDelayMilliseconds) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(createDelayMilliseconds);
+        boolean interrupted = false;
+        while (deadline - System.nanoTime() > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(deadline - System.nanoTime());
+            } catch (final InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
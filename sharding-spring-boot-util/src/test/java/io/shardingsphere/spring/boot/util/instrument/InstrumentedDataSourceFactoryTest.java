@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.instrument;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public final class InstrumentedDataSourceFactoryTest {
+    
+    private final List<SQLExecutionEvent> events = new LinkedList<>();
+    
+    private final SQLExecutionNotifier notifier = new SQLExecutionNotifier();
+    
+    private BasicDataSource dataSource;
+    
+    @Before
+    public void setUp() {
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl("jdbc:h2:mem:ds_instrument;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        notifier.register(Collections.singletonList(new SQLExecutionListener() {
+            
+            @Override
+            public void onFinished(final SQLExecutionEvent event) {
+                events.add(event);
+            }
+        }));
+    }
+    
+    @After
+    public void tearDown() throws SQLException {
+        dataSource.close();
+    }
+    
+    @Test
+    public void assertCreatePhysicalDataSourceMap() throws SQLException {
+        Map<String, DataSource> actual = InstrumentedDataSourceFactory.createPhysicalDataSourceMap(Collections.<String, DataSource>singletonMap("ds_0", dataSource), notifier);
+        try (
+                Connection connection = actual.get("ds_0").getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement("SELECT 1")) {
+            preparedStatement.executeQuery().close();
+            assertThat(preparedStatement.getConnection(), sameInstance(connection));
+        }
+        assertThat(events.size(), is(2));
+        assertThat(events.get(0).getPhase(), is(SQLExecutionPhase.PHYSICAL_CONNECT));
+        assertThat(events.get(0).getDataSourceName(), is("ds_0"));
+        assertThat(events.get(1).getPhase(), is(SQLExecutionPhase.PHYSICAL_EXECUTE));
+        assertThat(events.get(1).getSql(), is("SELECT 1"));
+        assertTrue(events.get(1).isSuccess());
+    }
+    
+    @Test
+    public void assertCreateLogicDataSource() throws SQLException {
+        DataSource actual = InstrumentedDataSourceFactory.createLogicDataSource(dataSource, notifier, new LogicTableMatcher(Arrays.asList("t_order", "t_order_item")));
+        try (
+                Connection connection = actual.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS t_order (order_id INT PRIMARY KEY)");
+            statement.executeQuery("SELECT * FROM `T_ORDER` o WHERE o.order_id = 1").close();
+            try {
+                statement.executeQuery("SELECT * FROM t_order_item");
+                fail("Expected SQLException");
+            } catch (final SQLException ignore) {
+            }
+        }
+        assertThat(events.size(), is(3));
+        assertThat(events.get(0).getPhase(), is(SQLExecutionPhase.LOGIC_EXECUTE));
+        assertThat(events.get(0).getDataSourceName(), nullValue());
+        assertThat(events.get(1).getLogicTables(), is((Object) Collections.singleton("t_order")));
+        assertFalse(events.get(2).isSuccess());
+        assertThat(events.get(2).getLogicTables(), is((Object) Collections.singleton("t_order_item")));
+    }
+    
+    @Test
+    public void assertUnwrap() throws SQLException {
+        DataSource actual = InstrumentedDataSourceFactory.createLogicDataSource(dataSource, notifier, new LogicTableMatcher(Collections.<String>emptyList()));
+        assertThat(actual.unwrap(DataSource.class), sameInstance(actual));
+        assertThat(actual.unwrap(BasicDataSource.class), sameInstance(dataSource));
+        assertTrue(actual.isWrapperFor(BasicDataSource.class));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.spring.boot.util.instrument;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class SQLExecutionMetricsTest {
+    
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    
+    private final SQLExecutionMetrics metrics = new SQLExecutionMetrics();
+    
+    @Before
+    public void setUp() {
+        metrics.bindTo(registry);
+    }
+    
+    @Test
+    public void assertOnFinishedWithLogicExecute() {
+        metrics.onFinished(new SQLExecutionEvent(SQLExecutionPhase.LOGIC_EXECUTE, null, "SELECT 1", Arrays.asList("t_order", "t_order_item"), 2000000L, true));
+        metrics.onFinished(new SQLExecutionEvent(SQLExecutionPhase.LOGIC_EXECUTE, null, "SELECT 1", Collections.singletonList("t_order"), 4000000L, true));
+        metrics.onFinished(new SQLExecutionEvent(SQLExecutionPhase.LOGIC_EXECUTE, null, "SELECT 1", Collections.<String>emptyList(), 1000000L, true));
+        assertThat(registry.get(SQLExecutionMetrics.LOGIC_EXECUTE_METRIC_NAME).tag(SQLExecutionMetrics.TABLE_TAG, "t_order").timer().count(), is(2L));
+        assertThat(registry.get(SQLExecutionMetrics.LOGIC_EXECUTE_METRIC_NAME).tag(SQLExecutionMetrics.TABLE_TAG, "t_order").timer().totalTime(TimeUnit.MILLISECONDS), is(6d));
+        assertThat(registry.get(SQLExecutionMetrics.LOGIC_EXECUTE_METRIC_NAME).tag(SQLExecutionMetrics.TABLE_TAG, "t_order_item").timer().count(), is(1L));
+        assertThat(registry.get(SQLExecutionMetrics.LOGIC_EXECUTE_METRIC_NAME).tag(SQLExecutionMetrics.TABLE_TAG, "none").timer().count(), is(1L));
+    }
+    
+    @Test
+    public void assertOnFinishedWithPhysicalPhases() {
+        metrics.onFinished(new SQLExecutionEvent(SQLExecutionPhase.PHYSICAL_CONNECT, "ds_0", null, Collections.<String>emptyList(), 1000000L, true));
+        metrics.onFinished(new SQLExecutionEvent(SQLExecutionPhase.PHYSICAL_EXECUTE, "ds_0", "SELECT 1", Collections.<String>emptyList(), 1000000L, true));
+        metrics.onFinished(new SQLExecutionEvent(SQLExecutionPhase.PHYSICAL_EXECUTE, "ds_1", "SELECT 1", Collections.<String>emptyList(), 1000000L, false));
+        assertThat(registry.get(SQLExecutionMetrics.PHYSICAL_CONNECT_METRIC_NAME).tag(SQLExecutionMetrics.DATA_SOURCE_NAME_TAG, "ds_0").timer().count(), is(1L));
+        assertThat(registry.get(SQLExecutionMetrics.PHYSICAL_EXECUTE_METRIC_NAME).tag(SQLExecutionMetrics.DATA_SOURCE_NAME_TAG, "ds_0").timer().count(), is(1L));
+        assertThat(registry.get(SQLExecutionMetrics.PHYSICAL_EXECUTE_METRIC_NAME).tag(SQLExecutionMetrics.DATA_SOURCE_NAME_TAG, "ds_1").timer().count(), is(1L));
+    }
+    
+    @Test
+    public void assertPercentilesDisabledByDefault() {
+        metrics.onFinished(new SQLExecutionEvent(SQLExecutionPhase.PHYSICAL_EXECUTE, "ds_0", "SELECT 1", Collections.<String>emptyList(), 1000000L, true));
+        assertThat(registry.get(SQLExecutionMetrics.PHYSICAL_EXECUTE_METRIC_NAME).timer().takeSnapshot().percentileValues().length, is(0));
+    }
+    
+    @Test
+    public void assertPercentilesEnabled() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        SQLExecutionMetrics metrics = new SQLExecutionMetrics(true);
+        metrics.bindTo(registry);
+        metrics.onFinished(new SQLExecutionEvent(SQLExecutionPhase.PHYSICAL_EXECUTE, "ds_0", "SELECT 1", Collections.<String>emptyList(), 1000000L, true));
+        assertThat(registry.get(SQLExecutionMetrics.PHYSICAL_EXECUTE_METRIC_NAME).timer().takeSnapshot().percentileValues().length, is(3));
+    }
+}
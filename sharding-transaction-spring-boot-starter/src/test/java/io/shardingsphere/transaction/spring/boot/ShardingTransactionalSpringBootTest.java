@@ -117,7 +117,7 @@ public class ShardingTransactionalSpringBootTest {
         when(statement.execute(anyString())).thenReturn(true);
         TransactionManagerMockUtil.testChangeProxyTransactionTypeToLOCAL(testService, aspect, dataSourceTransactionManager);
         TransactionManagerMockUtil.testChangeProxyTransactionTypeToLOCAL(testService, aspect, jpaTransactionManager);
-        verify(statement, times(2)).execute("SCTL:SET TRANSACTION_TYPE=LOCAL");
+        verify(statement).execute("SCTL:SET TRANSACTION_TYPE=LOCAL");
     }
     
     @Test
@@ -19,9 +19,13 @@ package io.shardingsphere.transaction;
 
 /**
  * Target environment of switch the transaction type.
+ * 
+ * <p>
+ * {@code AUTO} means environment is not specified, configured or detected environment is used instead.
+ * </p>
  *
  * @author yangyi
  */
 public enum ShardingEnvironment {
-    JDBC, PROXY
+    JDBC, PROXY, AUTO
 }
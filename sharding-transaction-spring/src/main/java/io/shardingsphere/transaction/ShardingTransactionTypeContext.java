@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.transaction;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.shardingsphere.transaction.core.TransactionType;
+
+import java.util.Arrays;
+
+/**
+ * Sharding transaction type context of current thread.
+ * 
+ * <p>
+ * Advised transaction types are pushed by sharding transaction aspect for nested advised calls,
+ * propagated transaction type is set when a task submitted by an advised call runs on another thread.
+ * </p>
+ *
+ * @author yangyi
+ */
+public final class ShardingTransactionTypeContext {
+    
+    private static final ThreadLocal<ShardingTransactionTypeContext> CONTEXT = new ThreadLocal<ShardingTransactionTypeContext>() {
+        
+        @Override
+        protected ShardingTransactionTypeContext initialValue() {
+            return new ShardingTransactionTypeContext();
+        }
+    };
+    
+    private TransactionType[] advisedTransactionTypes = new TransactionType[4];
+    
+    private int depth;
+    
+    @Getter
+    @Setter
+    private TransactionType propagatedTransactionType;
+    
+    private ShardingTransactionTypeContext() {
+    }
+    
+    /**
+     * Get sharding transaction type context of current thread.
+     *
+     * @return sharding transaction type context
+     */
+    public static ShardingTransactionTypeContext get() {
+        return CONTEXT.get();
+    }
+    
+    /**
+     * Clear sharding transaction type context of current thread.
+     */
+    public static void clear() {
+        CONTEXT.remove();
+    }
+    
+    /**
+     * Judge whether current thread is neither in advised call nor running propagated task.
+     *
+     * @return is empty or not
+     */
+    public boolean isEmpty() {
+        return 0 == depth && null == propagatedTransactionType;
+    }
+    
+    /**
+     * Get transaction type of innermost advised call.
+     *
+     * @return transaction type, or null if current thread is not in advised call
+     */
+    public TransactionType peekAdvisedTransactionType() {
+        return 0 == depth ? null : advisedTransactionTypes[depth - 1];
+    }
+    
+    /**
+     * Push transaction type of advised call.
+     *
+     * @param transactionType transaction type
+     */
+    public void pushAdvisedTransactionType(final TransactionType transactionType) {
+        if (depth == advisedTransactionTypes.length) {
+            advisedTransactionTypes = Arrays.copyOf(advisedTransactionTypes, depth << 1);
+        }
+        advisedTransactionTypes[depth++] = transactionType;
+    }
+    
+    /**
+     * Pop transaction type of advised call.
+     */
+    public void popAdvisedTransactionType() {
+        advisedTransactionTypes[--depth] = null;
+    }
+    
+    /**
+     * Get current transaction type.
+     *
+     * @return transaction type of innermost advised call, or propagated transaction type if current thread is not in advised call
+     */
+    public TransactionType getCurrentTransactionType() {
+        TransactionType result = peekAdvisedTransactionType();
+        return null == result ? propagatedTransactionType : result;
+    }
+}
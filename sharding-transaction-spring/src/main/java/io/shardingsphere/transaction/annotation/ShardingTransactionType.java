@@ -17,6 +17,7 @@
 
 package io.shardingsphere.transaction.annotation;
 
+import io.shardingsphere.transaction.ShardingEnvironment;
 import org.apache.shardingsphere.transaction.core.TransactionType;
 
 import java.lang.annotation.ElementType;
@@ -43,4 +44,11 @@ public @interface ShardingTransactionType {
      */
     TransactionType value() default TransactionType.LOCAL;
     
+    /**
+     * Environment of sharding sphere, overrides configured and detected environment.
+     * default AUTO, which uses configured or detected environment.
+     *
+     * @return environment of sharding sphere
+     */
+    ShardingEnvironment environment() default ShardingEnvironment.AUTO;
 }
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.transaction.aspect;
+
+import io.shardingsphere.transaction.ShardingEnvironment;
+import io.shardingsphere.transaction.annotation.ShardingTransactionType;
+import lombok.RequiredArgsConstructor;
+import org.apache.shardingsphere.transaction.core.TransactionType;
+import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Sharding transaction type resolver.
+ * 
+ * <p>
+ * Resolve {@code ShardingTransactionType} of advised method only once for each method and target class,
+ * both transaction type and environment attributes are resolved,
+ * annotations declared on interfaces, bridged methods and meta-annotations are supported.
+ * The same resolved attributes decide whether a method is advised, so matching and resolving never disagree.
+ * </p>
+ *
+ * @author yangyi
+ */
+public final class ShardingTransactionTypeResolver {
+    
+    private final ConcurrentMap<MethodClassKey, ResolvedAttributes> resolvedAttributes = new ConcurrentHashMap<>();
+    
+    /**
+     * Judge whether method is annotated with {@code ShardingTransactionType}.
+     *
+     * @param method method
+     * @param targetClass target class of method, can be null
+     * @return is annotated or not
+     */
+    public boolean isAnnotated(final Method method, final Class<?> targetClass) {
+        return getResolvedAttributes(method, targetClass).annotated;
+    }
+    
+    /**
+     * Resolve transaction type of advised method.
+     *
+     * @param method advised method
+     * @param targetClass target class of advised method, can be null
+     * @return transaction type
+     */
+    public TransactionType resolve(final Method method, final Class<?> targetClass) {
+        return getResolvedAttributes(method, targetClass).transactionType;
+    }
+    
+    /**
+     * Resolve environment of sharding sphere specified by annotation of advised method.
+     *
+     * @param method advised method
+     * @param targetClass target class of advised method, can be null
+     * @return environment of sharding sphere, null if not specified
+     */
+    public ShardingEnvironment resolveEnvironment(final Method method, final Class<?> targetClass) {
+        return getResolvedAttributes(method, targetClass).environment;
+    }
+    
+    private ResolvedAttributes getResolvedAttributes(final Method method, final Class<?> targetClass) {
+        MethodClassKey key = new MethodClassKey(method, targetClass);
+        ResolvedAttributes result = resolvedAttributes.get(key);
+        if (null != result) {
+            return result;
+        }
+        result = createResolvedAttributes(findAnnotation(method, targetClass));
+        ResolvedAttributes cached = resolvedAttributes.putIfAbsent(key, result);
+        return null == cached ? result : cached;
+    }
+    
+    private ResolvedAttributes createResolvedAttributes(final ShardingTransactionType annotation) {
+        if (null == annotation) {
+            return new ResolvedAttributes(false, TransactionType.LOCAL, null);
+        }
+        return new ResolvedAttributes(true, annotation.value(), ShardingEnvironment.AUTO == annotation.environment() ? null : annotation.environment());
+    }
+    
+    private ShardingTransactionType findAnnotation(final Method method, final Class<?> targetClass) {
+        Method specificMethod = BridgeMethodResolver.findBridgedMethod(ClassUtils.getMostSpecificMethod(method, targetClass));
+        ShardingTransactionType result = AnnotatedElementUtils.findMergedAnnotation(specificMethod, ShardingTransactionType.class);
+        if (null == result && specificMethod != method) {
+            result = AnnotatedElementUtils.findMergedAnnotation(method, ShardingTransactionType.class);
+        }
+        if (null == result && null != targetClass) {
+            result = AnnotatedElementUtils.findMergedAnnotation(targetClass, ShardingTransactionType.class);
+        }
+        if (null == result) {
+            result = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), ShardingTransactionType.class);
+        }
+        return result;
+    }
+    
+    @RequiredArgsConstructor
+    private static final class ResolvedAttributes {
+        
+        private final boolean annotated;
+        
+        private final TransactionType transactionType;
+        
+        private final ShardingEnvironment environment;
+    }
+}
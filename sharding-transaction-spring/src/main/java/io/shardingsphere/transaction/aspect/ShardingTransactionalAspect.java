@@ -18,170 +18,341 @@
 package io.shardingsphere.transaction.aspect;
 
 import io.shardingsphere.transaction.ShardingEnvironment;
-import io.shardingsphere.transaction.annotation.ShardingTransactionType;
-import io.shardingsphere.transaction.handler.DataSourceTransactionManagerHandler;
-import io.shardingsphere.transaction.handler.JpaTransactionManagerHandler;
+import io.shardingsphere.transaction.ShardingTransactionTypeContext;
+import io.shardingsphere.transaction.async.ShardingTransactionTypeAsyncPropagator;
 import io.shardingsphere.transaction.handler.TransactionManagerHandler;
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import io.shardingsphere.transaction.handler.TransactionManagerHandlerLoader;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
 import org.apache.shardingsphere.core.exception.ShardingException;
+import org.apache.shardingsphere.transaction.core.TransactionType;
 import org.apache.shardingsphere.transaction.core.TransactionTypeHolder;
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.After;
-import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
-import org.aspectj.lang.annotation.Pointcut;
-import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.core.Ordered;
-import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
 
 import javax.sql.DataSource;
 import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Sharding transaction aspect.
+ * 
+ * <p>
+ * Advised methods are matched by {@code ShardingTransactionTypeResolver}, which is the same resolver deciding the transaction type,
+ * so methods annotated on interfaces, bridged methods and meta-annotations are advised as well as directly annotated ones.
+ * This aspect is a pointcut advisor, any auto proxy creator such as {@code <aop:aspectj-autoproxy/>} or spring boot AOP auto configuration applies it.
+ * Transaction manager and custom transaction manager handlers are looked up from bean factory on first advised call unless set explicitly,
+ * so that creating this advisor does not create them before other advisors are ready.
+ * </p>
+ * 
+ * <p>
+ * Environment of sharding sphere can be configured by {@code environment} attribute of {@code ShardingTransactionType} for advised call,
+ * or by {@code sharding.transaction.environment} property for all advised calls.
+ * If absent or {@code AUTO}, data source of transaction manager is detected lazily on first advised call, and detected result is cached per data source.
+ * If transaction manager handler exposes no data source, JDBC environment is used and a warning is logged.
+ * </p>
+ * 
+ * <p>
+ * Transaction types of nested advised calls are kept in a per-thread stack, type of outer call is restored when inner call finished,
+ * and inner call which has same type with outer call does nothing.
+ * Transaction type can be propagated to other threads by {@code ShardingTransactionTypeTaskDecorator} or {@code ShardingTransactionTypeExecutor}.
+ * Transaction type of advised call which returns {@code CompletableFuture}, {@code ListenableFuture}, {@code Mono} or {@code Flux}
+ * is applied to the result by {@code ShardingTransactionTypeAsyncPropagator} until the result completes,
+ * transaction type of calling thread is still restored when the call returns.
+ * Other {@code Future} results are only covered until the call returns, a warning is logged once for such call.
+ * Asynchronous calls are rejected for Sharding-Proxy, because the connection bound to calling thread is released when the call returns.
+ * </p>
  *
  * @author yangyi
  */
-@Aspect
 @Component
-@Order(Ordered.LOWEST_PRECEDENCE - 1)
-public final class ShardingTransactionalAspect {
+@Slf4j
+public final class ShardingTransactionalAspect extends StaticMethodMatcherPointcutAdvisor implements MethodInterceptor, EnvironmentAware, BeanFactoryAware {
+    
+    public static final String ENVIRONMENT_PROPERTY_KEY = "sharding.transaction.environment";
     
     private static final String PROXY_TAG = "Sharding-Proxy";
     
-    private TransactionManagerHandler transactionManagerHandler;
+    private final ShardingTransactionTypeResolver transactionTypeResolver = new ShardingTransactionTypeResolver();
+    
+    private final ConcurrentMap<DataSource, ShardingEnvironment> detectedEnvironments = new ConcurrentHashMap<>();
+    
+    private final Set<Method> asyncReturnTypeWarnedMethods = Collections.newSetFromMap(new ConcurrentHashMap<Method, Boolean>());
+    
+    private BeanFactory beanFactory;
+    
+    private PlatformTransactionManager transactionManager;
+    
+    private Collection<TransactionManagerHandler> customTransactionManagerHandlers;
+    
+    private volatile TransactionManagerHandler transactionManagerHandler;
+    
+    private volatile boolean transactionManagerHandlerResolved;
+    
+    private volatile ShardingEnvironment environment;
     
-    private ShardingEnvironment environment;
+    private volatile boolean undetectableEnvironmentWarned;
+    
+    public ShardingTransactionalAspect() {
+        setAdvice(this);
+        setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+    }
     
     /**
-     * Inject spring transaction manager.
-     * This transaction manager required when Switch transaction type for Sharding-Proxy.
+     * Set spring transaction manager.
+     * This transaction manager required when Switch transaction type for Sharding-Proxy,
+     * the only transaction manager bean is used if not set.
      *
      * @param transactionManager spring transaction manager
      */
-    @Autowired
-    public void setTransactionManager(final PlatformTransactionManager transactionManager) {
-        setTransactionManagerHandler(transactionManager);
+    public synchronized void setTransactionManager(final PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+        transactionManagerHandlerResolved = false;
+    }
+    
+    /**
+     * Set custom transaction manager handlers.
+     * Custom handlers take precedence over handlers loaded by {@code ServiceLoader},
+     * transaction manager handler beans are used if not set.
+     *
+     * @param transactionManagerHandlers custom transaction manager handlers
+     */
+    public synchronized void setTransactionManagerHandlers(final Collection<TransactionManagerHandler> transactionManagerHandlers) {
+        customTransactionManagerHandlers = transactionManagerHandlers;
+        transactionManagerHandlerResolved = false;
+    }
+    
+    @Override
+    public synchronized void setBeanFactory(final BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+        transactionManagerHandlerResolved = false;
+    }
+    
+    /**
+     * Read explicit environment of sharding sphere from {@code sharding.transaction.environment} property.
+     *
+     * @param environment spring environment
+     */
+    @Override
+    public void setEnvironment(final Environment environment) {
+        String value = environment.getProperty(ENVIRONMENT_PROPERTY_KEY);
+        if (StringUtils.hasText(value)) {
+            ShardingEnvironment configuredEnvironment = ShardingEnvironment.valueOf(value.trim().toUpperCase());
+            this.environment = ShardingEnvironment.AUTO == configuredEnvironment ? null : configuredEnvironment;
+        }
     }
     
     /**
-     * Analyze data source type to judge environment of sharding sphere.
+     * Analyze data source type to judge environment of sharding sphere eagerly.
+     * 
+     * <p>
+     * This method is no longer autowired, because probing every data source bean opens a connection to each of them at startup.
+     * Call it explicitly to keep eager probing, or configure environment by property or annotation instead.
+     * </p>
      *
      * @param dataSources data sources array
      */
-    @Autowired
     public void setEnvironment(final DataSource[] dataSources) {
         environment = null != dataSources && isConnectToProxy(dataSources) ? ShardingEnvironment.PROXY : ShardingEnvironment.JDBC;
     }
     
     /**
-     * Sharding transactional AOP pointcut.
+     * Match method annotated with {@code ShardingTransactionType} directly, on its class, on its interfaces or by meta-annotation.
+     * Methods declared by {@code Object} are never matched.
+     *
+     * @param method method
+     * @param targetClass target class
+     * @return matches or not
      */
-    @Pointcut("@annotation(io.shardingsphere.transaction.annotation.ShardingTransactionType) || @within(io.shardingsphere.transaction.annotation.ShardingTransactionType)")
-    public void shardingTransactionalPointCut() {
+    @Override
+    public boolean matches(final Method method, final Class<?> targetClass) {
+        return Object.class != method.getDeclaringClass() && transactionTypeResolver.isAnnotated(method, targetClass);
+    }
     
+    /**
+     * Switch transaction type around advised call.
+     *
+     * @param invocation advised call
+     * @return return value of advised call
+     * @throws Throwable exception thrown by advised call
+     */
+    @Override
+    public Object invoke(final MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Class<?> targetClass = null == invocation.getThis() ? null : AopUtils.getTargetClass(invocation.getThis());
+        TransactionType transactionType = transactionTypeResolver.resolve(method, targetClass);
+        ShardingTransactionTypeContext transactionTypeContext = ShardingTransactionTypeContext.get();
+        TransactionType outerTransactionType = transactionTypeContext.peekAdvisedTransactionType();
+        if (transactionType == outerTransactionType) {
+            return propagateToAsyncResult(method, invocation.proceed(), transactionType);
+        }
+        ShardingEnvironment specifiedEnvironment = transactionTypeResolver.resolveEnvironment(method, targetClass);
+        ShardingEnvironment shardingEnvironment = null == specifiedEnvironment ? getShardingEnvironment() : specifiedEnvironment;
+        checkAsyncReturnType(shardingEnvironment, method);
+        switchTransactionType(shardingEnvironment, transactionType);
+        transactionTypeContext.pushAdvisedTransactionType(transactionType);
+        try {
+            return propagateToAsyncResult(method, invocation.proceed(), transactionType);
+        } finally {
+            transactionTypeContext.popAdvisedTransactionType();
+            restoreTransactionType(shardingEnvironment, outerTransactionType);
+            if (transactionTypeContext.isEmpty()) {
+                ShardingTransactionTypeContext.clear();
+            }
+        }
     }
     
-    @Before(value = "shardingTransactionalPointCut()")
-    public void setTransactionTypeBeforeTransaction(final JoinPoint joinPoint) {
-        ShardingTransactionType shardingTransactionType = getAnnotation(joinPoint);
-        switch (environment) {
+    private void switchTransactionType(final ShardingEnvironment shardingEnvironment, final TransactionType transactionType) {
+        switch (shardingEnvironment) {
             case JDBC:
-                TransactionTypeHolder.set(shardingTransactionType.value());
+                TransactionTypeHolder.set(transactionType);
                 break;
             case PROXY:
-                transactionManagerHandler.switchTransactionType(shardingTransactionType.value());
+                getTransactionManagerHandler().switchTransactionType(transactionType);
                 break;
             default:
         }
     }
     
-    @After(value = "shardingTransactionalPointCut()")
-    public void cleanTransactionTypeAfterTransaction(final JoinPoint joinPoint) {
-        switch (environment) {
+    private void restoreTransactionType(final ShardingEnvironment shardingEnvironment, final TransactionType outerTransactionType) {
+        switch (shardingEnvironment) {
             case JDBC:
-                TransactionTypeHolder.clear();
+                TransactionType currentTransactionType = ShardingTransactionTypeContext.get().getCurrentTransactionType();
+                if (null == currentTransactionType) {
+                    TransactionTypeHolder.clear();
+                } else {
+                    TransactionTypeHolder.set(currentTransactionType);
+                }
                 break;
             case PROXY:
-                transactionManagerHandler.unbindResource();
+                TransactionManagerHandler handler = getTransactionManagerHandler();
+                handler.unbindResource();
+                if (null != outerTransactionType) {
+                    handler.switchTransactionType(outerTransactionType);
+                    handler.unbindResource();
+                }
                 break;
             default:
         }
     }
     
-    private void setTransactionManagerHandler(final PlatformTransactionManager transactionManager) {
-        switch (TransactionManagerType.getTransactionManagerTypeByClassName(transactionManager.getClass().getName())) {
-            case DATASOURCE:
-                transactionManagerHandler = new DataSourceTransactionManagerHandler(transactionManager);
-                break;
-            case JPA:
-                transactionManagerHandler = new JpaTransactionManagerHandler(transactionManager);
-                break;
-            case UNSUPPORTED:
-            default:
-                throw new ShardingException(String.format("Switching transaction Type is unsupported for transaction manager %s", transactionManager.getClass().getName()));
+    private TransactionManagerHandler getTransactionManagerHandler() {
+        TransactionManagerHandler result = findTransactionManagerHandler();
+        if (null == result) {
+            throw new ShardingException(String.format("Switching transaction Type is unsupported for transaction manager %s", null == transactionManager ? null : transactionManager.getClass().getName()));
         }
+        return result;
     }
     
-    private boolean isConnectToProxy(final DataSource[] dataSources) {
-        for (DataSource each : dataSources) {
-            try (Connection connection = each.getConnection()) {
-                DatabaseMetaData databaseMetaData = connection.getMetaData();
-                if (databaseMetaData.getDatabaseProductVersion().contains(PROXY_TAG)) {
-                    return true;
+    private TransactionManagerHandler findTransactionManagerHandler() {
+        if (!transactionManagerHandlerResolved) {
+            synchronized (this) {
+                if (!transactionManagerHandlerResolved) {
+                    lookupTransactionManager();
+                    transactionManagerHandler = null == transactionManager ? null : TransactionManagerHandlerLoader.load(transactionManager, customTransactionManagerHandlers);
+                    transactionManagerHandlerResolved = true;
                 }
-            } catch (SQLException ex) {
-                throw new ShardingException("Get databaseMetaData failed: ", ex);
             }
         }
-        return false;
+        return transactionManagerHandler;
     }
     
-    private ShardingTransactionType getAnnotation(final JoinPoint joinPoint) {
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        Method method = methodSignature.getMethod();
-        ShardingTransactionType result = method.getAnnotation(ShardingTransactionType.class);
+    private void lookupTransactionManager() {
+        ListableBeanFactory listableBeanFactory = beanFactory instanceof ListableBeanFactory ? (ListableBeanFactory) beanFactory : null;
+        if (null == transactionManager && null != listableBeanFactory && 0 < listableBeanFactory.getBeanNamesForType(PlatformTransactionManager.class).length) {
+            transactionManager = listableBeanFactory.getBean(PlatformTransactionManager.class);
+        }
+        if (null == customTransactionManagerHandlers) {
+            customTransactionManagerHandlers = null == listableBeanFactory
+                    ? Collections.<TransactionManagerHandler>emptyList() : listableBeanFactory.getBeansOfType(TransactionManagerHandler.class).values();
+        }
+    }
+    
+    private ShardingEnvironment getShardingEnvironment() {
+        ShardingEnvironment result = environment;
+        if (null != result) {
+            return result;
+        }
+        TransactionManagerHandler handler = findTransactionManagerHandler();
+        DataSource dataSource = null == handler ? null : handler.getDataSource();
+        if (null == dataSource) {
+            warnUndetectableEnvironment(handler);
+            return ShardingEnvironment.JDBC;
+        }
+        result = detectedEnvironments.get(dataSource);
         if (null == result) {
-            result = method.getDeclaringClass().getAnnotation(ShardingTransactionType.class);
+            result = isConnectToProxy(dataSource) ? ShardingEnvironment.PROXY : ShardingEnvironment.JDBC;
+            ShardingEnvironment detected = detectedEnvironments.putIfAbsent(dataSource, result);
+            if (null != detected) {
+                result = detected;
+            }
         }
         return result;
     }
     
-    @RequiredArgsConstructor
-    private enum TransactionManagerType {
-        
-        /**
-         * Spring {@code DataSourceTransactionManager}.
-         */
-        DATASOURCE("org.springframework.jdbc.datasource.DataSourceTransactionManager"),
-    
-        /**
-         * Spring {@code JpaTransactionManager}.
-         */
-        JPA("org.springframework.orm.jpa.JpaTransactionManager"),
-    
-        /**
-         * Other spring {@code PlatformTransactionManager}.
-         */
-        UNSUPPORTED("");
-        
-        @Getter
-        private final String className;
-        
-        private static TransactionManagerType getTransactionManagerTypeByClassName(final String className) {
-            for (TransactionManagerType each : TransactionManagerType.values()) {
-                if (each.getClassName().equals(className)) {
-                    return each;
-                }
+    private void checkAsyncReturnType(final ShardingEnvironment shardingEnvironment, final Method method) {
+        if (ShardingEnvironment.PROXY == shardingEnvironment && ShardingTransactionTypeAsyncPropagator.isAsyncReturnType(method.getReturnType())) {
+            throw new ShardingException(String.format("Switching transaction type of Sharding-Proxy is unsupported for asynchronous method %s, "
+                    + "because the connection bound to calling thread is released when the method returns", method));
+        }
+    }
+    
+    private Object propagateToAsyncResult(final Method method, final Object returnValue, final TransactionType transactionType) {
+        if (null == returnValue || !ShardingTransactionTypeAsyncPropagator.isAsyncReturnType(method.getReturnType())) {
+            return returnValue;
+        }
+        if (ShardingTransactionTypeAsyncPropagator.canPropagate(returnValue, method.getReturnType())) {
+            return ShardingTransactionTypeAsyncPropagator.propagate(returnValue, method.getReturnType(), transactionType);
+        }
+        if (asyncReturnTypeWarnedMethods.add(method)) {
+            log.warn("Transaction type of {} is only applied until it returns, because {} can not be composed, "
+                    + "submit tasks which complete the future by ShardingTransactionTypeExecutor or ShardingTransactionTypeTaskDecorator to keep the transaction type.",
+                    method, returnValue.getClass().getName());
+        }
+        return returnValue;
+    }
+    
+    private void warnUndetectableEnvironment(final TransactionManagerHandler handler) {
+        if (!undetectableEnvironmentWarned) {
+            undetectableEnvironmentWarned = true;
+            log.warn("Can't detect environment of sharding sphere, because {} exposes no data source. "
+                    + "JDBC environment is used, configure `{}` or environment of @ShardingTransactionType if Sharding-Proxy is used.",
+                    null == handler ? "transaction manager" : handler.getClass().getSimpleName(), ENVIRONMENT_PROPERTY_KEY);
+        }
+    }
+    
+    private boolean isConnectToProxy(final DataSource[] dataSources) {
+        for (DataSource each : dataSources) {
+            if (isConnectToProxy(each)) {
+                return true;
             }
-            return UNSUPPORTED;
+        }
+        return false;
+    }
+    
+    private boolean isConnectToProxy(final DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData databaseMetaData = connection.getMetaData();
+            return databaseMetaData.getDatabaseProductVersion().contains(PROXY_TAG);
+        } catch (SQLException ex) {
+            throw new ShardingException("Get databaseMetaData failed: ", ex);
         }
     }
 }
@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.shardingsphere.transaction.async;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.apache.shardingsphere.transaction.core.TransactionType;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+import org.springframework.util.concurrent.SettableListenableFuture;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * Propagator of sharding transaction type to asynchronous result of advised call.
+ * 
+ * <p>
+ * {@code CompletableFuture} (or {@code CompletionStage}), {@code ListenableFuture}, {@code Mono} and {@code Flux} results are composed,
+ * the transaction type is applied on the thread which completes the result while it completes, and is reset right after that.
+ * So dependent stages and callbacks registered before completion run with the transaction type,
+ * the work which completes the result should be submitted by {@link ShardingTransactionTypeExecutor} to run with it as well.
+ * Cancelling the composed future cancels the original one.
+ * </p>
+ * 
+ * <p>
+ * {@code Mono} and {@code Flux} apply the transaction type when they are subscribed, requested and signalled,
+ * and put it into reactor context by {@link #REACTOR_CONTEXT_KEY}, so operators running on other schedulers can read it.
+ * {@code CompletableFuture} and reactor are only used if present.
+ * </p>
+ *
+ * @author yangyi
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ShardingTransactionTypeAsyncPropagator {
+    
+    public static final String REACTOR_CONTEXT_KEY = "sharding.transaction.type";
+    
+    private static final boolean COMPLETABLE_FUTURE_PRESENT = ClassUtils.isPresent("java.util.concurrent.CompletableFuture", ShardingTransactionTypeAsyncPropagator.class.getClassLoader());
+    
+    private static final boolean REACTOR_PRESENT = ClassUtils.isPresent("reactor.core.publisher.Mono", ShardingTransactionTypeAsyncPropagator.class.getClassLoader());
+    
+    /**
+     * Judge whether return type is asynchronous.
+     *
+     * @param returnType declared return type of advised method
+     * @return is asynchronous or not
+     */
+    public static boolean isAsyncReturnType(final Class<?> returnType) {
+        return Future.class.isAssignableFrom(returnType)
+                || COMPLETABLE_FUTURE_PRESENT && CompletionStage.class.isAssignableFrom(returnType) || REACTOR_PRESENT && Publisher.class.isAssignableFrom(returnType);
+    }
+    
+    /**
+     * Judge whether transaction type can be propagated to return value.
+     *
+     * @param returnValue return value of advised call
+     * @param returnType declared return type of advised method
+     * @return can be propagated or not
+     */
+    public static boolean canPropagate(final Object returnValue, final Class<?> returnType) {
+        return COMPLETABLE_FUTURE_PRESENT && CompletionStagePropagator.canPropagate(returnValue, returnType)
+                || ListenableFuturePropagator.canPropagate(returnValue, returnType) || REACTOR_PRESENT && ReactorPropagator.canPropagate(returnValue, returnType);
+    }
+    
+    /**
+     * Propagate transaction type to return value.
+     *
+     * @param returnValue return value of advised call
+     * @param returnType declared return type of advised method
+     * @param transactionType transaction type
+     * @return composed return value, or the return value itself if it can not be propagated
+     */
+    public static Object propagate(final Object returnValue, final Class<?> returnType, final TransactionType transactionType) {
+        if (COMPLETABLE_FUTURE_PRESENT && CompletionStagePropagator.canPropagate(returnValue, returnType)) {
+            return CompletionStagePropagator.propagate((CompletionStage<?>) returnValue, transactionType);
+        }
+        if (ListenableFuturePropagator.canPropagate(returnValue, returnType)) {
+            return ListenableFuturePropagator.propagate((ListenableFuture<?>) returnValue, transactionType);
+        }
+        if (REACTOR_PRESENT && ReactorPropagator.canPropagate(returnValue, returnType)) {
+            return ReactorPropagator.propagate(returnValue, transactionType);
+        }
+        return returnValue;
+    }
+    
+    private static void runWithTransactionType(final Runnable runnable, final TransactionType transactionType) {
+        new TransactionTypePropagatedRunnable(runnable, transactionType).run();
+    }
+    
+    private static final class CompletionStagePropagator {
+        
+        private static boolean canPropagate(final Object returnValue, final Class<?> returnType) {
+            return returnValue instanceof CompletionStage && returnType.isAssignableFrom(CompletableFuture.class);
+        }
+        
+        @SuppressWarnings("unchecked")
+        private static Object propagate(final CompletionStage<?> completionStage, final TransactionType transactionType) {
+            final CompletableFuture<Object> result = new CompletableFuture<>();
+            ((CompletionStage<Object>) completionStage).whenComplete(new BiConsumer<Object, Throwable>() {
+                
+                @Override
+                public void accept(final Object value, final Throwable cause) {
+                    runWithTransactionType(new Runnable() {
+                        
+                        @Override
+                        public void run() {
+                            if (null == cause) {
+                                result.complete(value);
+                            } else {
+                                result.completeExceptionally(cause);
+                            }
+                        }
+                    }, transactionType);
+                }
+            });
+            result.whenComplete(new BiConsumer<Object, Throwable>() {
+                
+                @Override
+                public void accept(final Object value, final Throwable cause) {
+                    if (result.isCancelled() && completionStage instanceof Future) {
+                        ((Future<?>) completionStage).cancel(true);
+                    }
+                }
+            });
+            return result;
+        }
+    }
+    
+    private static final class ListenableFuturePropagator {
+        
+        private static boolean canPropagate(final Object returnValue, final Class<?> returnType) {
+            return returnValue instanceof ListenableFuture && returnType.isAssignableFrom(SettableListenableFuture.class);
+        }
+        
+        @SuppressWarnings("unchecked")
+        private static Object propagate(final ListenableFuture<?> listenableFuture, final TransactionType transactionType) {
+            final SettableListenableFuture<Object> result = new SettableListenableFuture<>();
+            ((ListenableFuture<Object>) listenableFuture).addCallback(new ListenableFutureCallback<Object>() {
+                
+                @Override
+                public void onSuccess(final Object value) {
+                    runWithTransactionType(new Runnable() {
+                        
+                        @Override
+                        public void run() {
+                            result.set(value);
+                        }
+                    }, transactionType);
+                }
+                
+                @Override
+                public void onFailure(final Throwable cause) {
+                    runWithTransactionType(new Runnable() {
+                        
+                        @Override
+                        public void run() {
+                            result.setException(cause);
+                        }
+                    }, transactionType);
+                }
+            });
+            result.addCallback(new ListenableFutureCallback<Object>() {
+                
+                @Override
+                public void onSuccess(final Object value) {
+                }
+                
+                @Override
+                public void onFailure(final Throwable cause) {
+                    if (result.isCancelled()) {
+                        listenableFuture.cancel(true);
+                    }
+                }
+            });
+            return result;
+        }
+    }
+    
+    private static final class ReactorPropagator {
+        
+        private static boolean canPropagate(final Object returnValue, final Class<?> returnType) {
+            return returnValue instanceof Mono && returnType.isAssignableFrom(Mono.class) || returnValue instanceof Flux && returnType.isAssignableFrom(Flux.class);
+        }
+        
+        @SuppressWarnings("unchecked")
+        private static Object propagate(final Object returnValue, final TransactionType transactionType) {
+            Context context = Context.of(REACTOR_CONTEXT_KEY, transactionType);
+            if (returnValue instanceof Mono) {
+                return new TransactionTypePropagatedMono<>((Mono<Object>) returnValue, transactionType).subscriberContext(context);
+            }
+            return new TransactionTypePropagatedFlux<>((Flux<Object>) returnValue, transactionType).subscriberContext(context);
+        }
+    }
+    
+    @RequiredArgsConstructor
+    private static final class TransactionTypePropagatedMono<T> extends Mono<T> {
+        
+        private final Mono<T> mono;
+        
+        private final TransactionType transactionType;
+        
+        @Override
+        public void subscribe(final CoreSubscriber<? super T> actual) {
+            runWithTransactionType(new Runnable() {
+                
+                @Override
+                public void run() {
+                    mono.subscribe(new TransactionTypePropagatedSubscriber<>(actual, transactionType));
+                }
+            }, transactionType);
+        }
+    }
+    
+    @RequiredArgsConstructor
+    private static final class TransactionTypePropagatedFlux<T> extends Flux<T> {
+        
+        private final Flux<T> flux;
+        
+        private final TransactionType transactionType;
+        
+        @Override
+        public void subscribe(final CoreSubscriber<? super T> actual) {
+            runWithTransactionType(new Runnable() {
+                
+                @Override
+                public void run() {
+                    flux.subscribe(new TransactionTypePropagatedSubscriber<>(actual, transactionType));
+                }
+            }, transactionType);
+        }
+    }
+    
+    @RequiredArgsConstructor
+    private static final class TransactionTypePropagatedSubscriber<T> implements CoreSubscriber<T>, Subscription {
+        
+        private final CoreSubscriber<? super T> actual;
+        
+        private final TransactionType transactionType;
+        
+        private volatile Subscription subscription;
+        
+        @Override
+        public Context currentContext() {
+            return actual.currentContext();
+        }
+        
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.subscription = subscription;
+            final Subscription self = this;
+            runWithTransactionType(new Runnable() {
+                
+                @Override
+                public void run() {
+                    actual.onSubscribe(self);
+                }
+            }, transactionType);
+        }
+        
+        @Override
+        public void onNext(final T value) {
+            runWithTransactionType(new Runnable() {
+                
+                @Override
+                public void run() {
+                    actual.onNext(value);
+                }
+            }, transactionType);
+        }
+        
+        @Override
+        public void onError(final Throwable cause) {
+            runWithTransactionType(new Runnable() {
+                
+                @Override
+                public void run() {
+                    actual.onError(cause);
+                }
+            }, transactionType);
+        }
+        
+        @Override
+        public void onComplete() {
+            runWithTransactionType(new Runnable() {
+                
+                @Override
+                public void run() {
+                    actual.onComplete();
+                }
+            }, transactionType);
+        }
+        
+        @Override
+        public void request(final long count) {
+            runWithTransactionType(new Runnable() {
+                
+                @Override
+                public void run() {
+                    subscription.request(count);
+                }
+            }, transactionType);
+        }
+        
+        @Override
+        public void cancel() {
+            subscription.cancel();
+        }
+    }
+}
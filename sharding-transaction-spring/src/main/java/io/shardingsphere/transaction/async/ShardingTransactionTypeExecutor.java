@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.transaction.async;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executor to propagate sharding transaction type to the thread which runs the task.
+ * 
+ * <p>
+ * For example, pass it to {@code CompletableFuture.supplyAsync} inside method annotated by {@code ShardingTransactionType}.
+ * </p>
+ *
+ * @author yangyi
+ */
+@RequiredArgsConstructor
+public final class ShardingTransactionTypeExecutor implements Executor {
+    
+    private final ShardingTransactionTypeTaskDecorator taskDecorator = new ShardingTransactionTypeTaskDecorator();
+    
+    private final Executor executor;
+    
+    @Override
+    public void execute(final Runnable command) {
+        executor.execute(taskDecorator.decorate(command));
+    }
+}
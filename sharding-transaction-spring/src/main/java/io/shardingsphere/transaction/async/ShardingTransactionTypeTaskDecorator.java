@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.transaction.async;
+
+import io.shardingsphere.transaction.ShardingTransactionTypeContext;
+import org.apache.shardingsphere.transaction.core.TransactionType;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Task decorator to propagate sharding transaction type to the thread which runs the task.
+ * 
+ * <p>
+ * Transaction type is captured when the task is submitted, and is cleared on the thread which runs the task when the task finished,
+ * the context of that thread is removed as well if nothing else is left in it.
+ * Work which completes a future returned by advised call later should be submitted by this decorator too,
+ * {@code ShardingTransactionalAspect} only applies the transaction type to dependent stages of that future.
+ * Register it by {@code ThreadPoolTaskExecutor.setTaskDecorator} for {@code @Async} methods and {@code ListenableFuture} results,
+ * or use {@link ShardingTransactionTypeExecutor} for {@code CompletableFuture}.
+ * </p>
+ *
+ * @author yangyi
+ */
+public final class ShardingTransactionTypeTaskDecorator implements TaskDecorator {
+    
+    @Override
+    public Runnable decorate(final Runnable runnable) {
+        TransactionType transactionType = ShardingTransactionTypeContext.get().getCurrentTransactionType();
+        return null == transactionType ? runnable : new TransactionTypePropagatedRunnable(runnable, transactionType);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.shardingsphere.transaction.async;
+
+import io.shardingsphere.transaction.ShardingTransactionTypeContext;
+import lombok.RequiredArgsConstructor;
+import org.apache.shardingsphere.transaction.core.TransactionType;
+import org.apache.shardingsphere.transaction.core.TransactionTypeHolder;
+
+/**
+ * Runnable which runs with propagated sharding transaction type.
+ * 
+ * <p>
+ * Transaction type is cleared on current thread when the runnable finished,
+ * the context of current thread is removed as well if nothing else is left in it.
+ * </p>
+ *
+ * @author yangyi
+ */
+@RequiredArgsConstructor
+final class TransactionTypePropagatedRunnable implements Runnable {
+    
+    private final Runnable runnable;
+    
+    private final TransactionType transactionType;
+    
+    @Override
+    public void run() {
+        ShardingTransactionTypeContext transactionTypeContext = ShardingTransactionTypeContext.get();
+        TransactionType previousTransactionType = transactionTypeContext.getPropagatedTransactionType();
+        transactionTypeContext.setPropagatedTransactionType(transactionType);
+        TransactionTypeHolder.set(transactionTypeContext.getCurrentTransactionType());
+        try {
+            runnable.run();
+        } finally {
+            transactionTypeContext.setPropagatedTransactionType(previousTransactionType);
+            if (transactionTypeContext.isEmpty()) {
+                ShardingTransactionTypeContext.clear();
+                TransactionTypeHolder.clear();
+            } else {
+                TransactionTypeHolder.set(transactionTypeContext.getCurrentTransactionType());
+            }
+        }
+    }
+}
@@ -17,15 +17,30 @@
 
 package io.shardingsphere.transaction.handler;
 
+import com.google.common.collect.MapMaker;
 import org.apache.shardingsphere.core.exception.ShardingException;
 import org.apache.shardingsphere.transaction.core.TransactionType;
+import org.springframework.util.ClassUtils;
 
+import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Abstract transaction manager handler.
+ * 
+ * <p>
+ * Transaction type applied to each physical connection of Sharding-Proxy is tracked,
+ * and switching to LOCAL is skipped if LOCAL is already applied to the physical connection.
+ * The saving is small: only a LOCAL to LOCAL switch is skipped, other transaction types are always sent,
+ * because session of Sharding-Proxy falls back to LOCAL when the driver reconnects transparently or the session is reset,
+ * which can not be observed here.
+ * Physical connection is resolved by {@code unwrap} (e.g. HikariCP) or by innermost delegate of DBCP2,
+ * tracking is dropped when switch failed, or when the physical connection is garbage collected.
+ * Tracked types are kept in a concurrent map with weak identity keys, so advised calls on different connections never contend on a lock.
+ * </p>
  *
  * @author yangyi
  */
@@ -33,16 +48,64 @@ public abstract class AbstractTransactionManagerHandler implements TransactionMa
     
     private static final String SET_TRANSACTION_TYPE_SQL = "SCTL:SET TRANSACTION_TYPE=%s";
     
+    private static final TransactionType DEFAULT_TRANSACTION_TYPE = TransactionType.LOCAL;
+    
+    private static final String INNERMOST_DELEGATE_METHOD_NAME = "getInnermostDelegateInternal";
+    
+    private static final ConcurrentMap<Connection, TransactionType> APPLIED_TRANSACTION_TYPES = new MapMaker().weakKeys().makeMap();
+    
     @Override
     public final void switchTransactionType(final TransactionType transactionType) {
         Connection connection = getConnectionFromTransactionManager();
+        Connection physicalConnection = getPhysicalConnection(connection);
+        if (DEFAULT_TRANSACTION_TYPE == transactionType && DEFAULT_TRANSACTION_TYPE == APPLIED_TRANSACTION_TYPES.get(physicalConnection)) {
+            return;
+        }
+        try {
+            executeSwitchTransactionType(connection, physicalConnection, transactionType);
+        } catch (final ShardingException ex) {
+            unbindResource();
+            throw ex;
+        }
+    }
+    
+    private void executeSwitchTransactionType(final Connection connection, final Connection physicalConnection, final TransactionType transactionType) {
         try (Statement statement = connection.createStatement()) {
             statement.execute(String.format(SET_TRANSACTION_TYPE_SQL, transactionType.name()));
+            APPLIED_TRANSACTION_TYPES.put(physicalConnection, transactionType);
         } catch (final SQLException ex) {
+            APPLIED_TRANSACTION_TYPES.remove(physicalConnection);
             throw new ShardingException("Switch transaction type for sharding-proxy failed: ", ex);
         }
     }
     
+    private Connection getPhysicalConnection(final Connection connection) {
+        Connection result = getInnermostDelegate(connection);
+        if (null != result) {
+            return result;
+        }
+        try {
+            if (connection.isWrapperFor(Connection.class)) {
+                result = connection.unwrap(Connection.class);
+                return null == result ? connection : result;
+            }
+        } catch (final SQLException ignored) {
+        }
+        return connection;
+    }
+    
+    private Connection getInnermostDelegate(final Connection connection) {
+        Method method = ClassUtils.getMethodIfAvailable(connection.getClass(), INNERMOST_DELEGATE_METHOD_NAME);
+        if (null == method || !Connection.class.isAssignableFrom(method.getReturnType())) {
+            return null;
+        }
+        try {
+            return (Connection) method.invoke(connection);
+        } catch (final ReflectiveOperationException ignored) {
+            return null;
+        }
+    }
+    
     /**
      * Get physical connection which transaction manager will use.
      *
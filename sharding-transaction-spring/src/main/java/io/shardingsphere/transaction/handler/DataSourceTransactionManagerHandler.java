@@ -24,36 +24,72 @@ import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 
 /**
  * Datasource transaction manager handler.
+ * 
+ * <p>
+ * Connection holder already bound to current thread is reused, otherwise a new connection is bound until the outermost advised call finished.
+ * </p>
  *
  * @author yangyi
  */
 public final class DataSourceTransactionManagerHandler extends AbstractTransactionManagerHandler {
     
-    private final DataSourceTransactionManager transactionManager;
+    private DataSourceTransactionManager transactionManager;
     
-    public DataSourceTransactionManagerHandler(final PlatformTransactionManager transactionManager) {
+    @Override
+    public Class<? extends PlatformTransactionManager> getTransactionManagerType() {
+        return DataSourceTransactionManager.class;
+    }
+    
+    @Override
+    public void init(final PlatformTransactionManager transactionManager) {
         this.transactionManager = (DataSourceTransactionManager) transactionManager;
     }
     
     @Override
     public void unbindResource() {
-        ConnectionHolder holder = (ConnectionHolder) TransactionSynchronizationManager.unbindResource(transactionManager.getDataSource());
-        DataSourceUtils.releaseConnection(holder.getConnection(), transactionManager.getDataSource());
+        DataSource dataSource = transactionManager.getDataSource();
+        ConnectionHolder connectionHolder = (ConnectionHolder) TransactionSynchronizationManager.getResource(dataSource);
+        if (null == connectionHolder) {
+            return;
+        }
+        connectionHolder.released();
+        if (connectionHolder instanceof ShardingConnectionHolder && !connectionHolder.isOpen()) {
+            TransactionSynchronizationManager.unbindResource(dataSource);
+            DataSourceUtils.releaseConnection(connectionHolder.getConnection(), dataSource);
+        }
+    }
+    
+    @Override
+    public DataSource getDataSource() {
+        return transactionManager.getDataSource();
     }
     
     @Override
     protected Connection getConnectionFromTransactionManager() {
-        try {
-            Connection result = transactionManager.getDataSource().getConnection();
-            TransactionSynchronizationManager.bindResource(transactionManager.getDataSource(), new ConnectionHolder(result));
-            return result;
-        } catch (final SQLException ex) {
-            throw new ShardingException("Could not open JDBC Connection before transaction", ex);
+        DataSource dataSource = transactionManager.getDataSource();
+        ConnectionHolder connectionHolder = (ConnectionHolder) TransactionSynchronizationManager.getResource(dataSource);
+        if (null == connectionHolder) {
+            try {
+                connectionHolder = new ShardingConnectionHolder(dataSource.getConnection());
+            } catch (final SQLException ex) {
+                throw new ShardingException("Could not open JDBC Connection before transaction", ex);
+            }
+            TransactionSynchronizationManager.bindResource(dataSource, connectionHolder);
+        }
+        connectionHolder.requested();
+        return connectionHolder.getConnection();
+    }
+    
+    private static final class ShardingConnectionHolder extends ConnectionHolder {
+        
+        ShardingConnectionHolder(final Connection connection) {
+            super(connection);
         }
     }
 }
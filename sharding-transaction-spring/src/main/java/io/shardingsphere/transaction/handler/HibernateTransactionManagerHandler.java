@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.transaction.handler;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.orm.hibernate5.HibernateTransactionManager;
+import org.springframework.orm.hibernate5.SessionFactoryUtils;
+import org.springframework.orm.hibernate5.SessionHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Hibernate transaction manager handler.
+ * 
+ * <p>
+ * Session already bound to current thread is reused, otherwise a new session is opened and bound until the outermost advised call finished.
+ * </p>
+ * 
+ * <p>
+ * The bound session stays open for the whole outermost advised call, not only for its transaction,
+ * which is the same as open session in view for that call:
+ * transactions started inside the call share one session, and lazy loading still works after they committed.
+ * Annotate the transactional method itself, rather than its caller, to keep the session scoped to the transaction.
+ * </p>
+ *
+ * @author yangyi
+ */
+public final class HibernateTransactionManagerHandler extends AbstractTransactionManagerHandler {
+    
+    private HibernateTransactionManager transactionManager;
+    
+    @Override
+    public Class<? extends PlatformTransactionManager> getTransactionManagerType() {
+        return HibernateTransactionManager.class;
+    }
+    
+    @Override
+    public void init(final PlatformTransactionManager transactionManager) {
+        this.transactionManager = (HibernateTransactionManager) transactionManager;
+    }
+    
+    @Override
+    public void unbindResource() {
+        SessionFactory sessionFactory = transactionManager.getSessionFactory();
+        SessionHolder sessionHolder = (SessionHolder) TransactionSynchronizationManager.getResource(sessionFactory);
+        if (null == sessionHolder) {
+            return;
+        }
+        sessionHolder.released();
+        if (sessionHolder instanceof ShardingSessionHolder && !sessionHolder.isOpen()) {
+            TransactionSynchronizationManager.unbindResource(sessionFactory);
+            SessionFactoryUtils.closeSession(sessionHolder.getSession());
+        }
+    }
+    
+    @Override
+    public DataSource getDataSource() {
+        return transactionManager.getDataSource();
+    }
+    
+    @Override
+    protected Connection getConnectionFromTransactionManager() {
+        SessionFactory sessionFactory = transactionManager.getSessionFactory();
+        SessionHolder sessionHolder = (SessionHolder) TransactionSynchronizationManager.getResource(sessionFactory);
+        if (null == sessionHolder) {
+            sessionHolder = new ShardingSessionHolder(sessionFactory.openSession());
+            TransactionSynchronizationManager.bindResource(sessionFactory, sessionHolder);
+        }
+        sessionHolder.requested();
+        return sessionHolder.getSession().unwrap(SessionImplementor.class).connection();
+    }
+    
+    private static final class ShardingSessionHolder extends SessionHolder {
+        
+        ShardingSessionHolder(final Session session) {
+            super(session);
+        }
+    }
+}
@@ -28,34 +28,74 @@ import org.springframework.util.CollectionUtils;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.util.Map;
 
 /**
  * Jpa transaction manager handler.
+ * 
+ * <p>
+ * Entity manager holder already bound to current thread is reused, otherwise a new entity manager is bound until the outermost advised call finished.
+ * The new entity manager is picked up by {@code JpaTransactionManager} for the transaction of advised call, instead of creating another one.
+ * So only nested advised calls, and calls inside an already bound entity manager such as open entity manager in view, save creating an entity manager,
+ * every outermost advised call still creates one.
+ * A plain JDBC connection borrowed from the data source can not be used instead,
+ * because transaction type of Sharding-Proxy is applied per connection, and {@code JpaTransactionManager} rejects a pre-bound JDBC connection.
+ * </p>
+ * 
+ * <p>
+ * The bound entity manager stays open for the whole outermost advised call, not only for its transaction,
+ * which is the same as open entity manager in view for that call:
+ * transactions started inside the call share one persistence context, and lazy loading still works after they committed.
+ * Annotate the transactional method itself, rather than its caller, to keep the entity manager scoped to the transaction.
+ * </p>
  *
  * @author yangyi
  */
 public final class JpaTransactionManagerHandler extends AbstractTransactionManagerHandler {
     
-    private final JpaTransactionManager transactionManager;
+    private JpaTransactionManager transactionManager;
     
-    public JpaTransactionManagerHandler(final PlatformTransactionManager transactionManager) {
+    @Override
+    public Class<? extends PlatformTransactionManager> getTransactionManagerType() {
+        return JpaTransactionManager.class;
+    }
+    
+    @Override
+    public void init(final PlatformTransactionManager transactionManager) {
         this.transactionManager = (JpaTransactionManager) transactionManager;
     }
     
     @Override
     public void unbindResource() {
-        EntityManagerHolder entityManagerHolder = (EntityManagerHolder) TransactionSynchronizationManager.unbindResourceIfPossible(transactionManager.getEntityManagerFactory());
-        EntityManagerFactoryUtils.closeEntityManager(entityManagerHolder.getEntityManager());
+        EntityManagerFactory entityManagerFactory = transactionManager.getEntityManagerFactory();
+        EntityManagerHolder entityManagerHolder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+        if (null == entityManagerHolder) {
+            return;
+        }
+        entityManagerHolder.released();
+        if (entityManagerHolder instanceof ShardingEntityManagerHolder && !entityManagerHolder.isOpen()) {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(entityManagerHolder.getEntityManager());
+        }
+    }
+    
+    @Override
+    public DataSource getDataSource() {
+        return transactionManager.getDataSource();
     }
     
     @Override
     protected Connection getConnectionFromTransactionManager() {
-        EntityManager entityManager = createEntityManager();
-        Connection result = entityManager.unwrap(SessionImplementor.class).connection();
-        TransactionSynchronizationManager.bindResource(transactionManager.getEntityManagerFactory(), new EntityManagerHolder(entityManager));
-        return result;
+        EntityManagerFactory entityManagerFactory = transactionManager.getEntityManagerFactory();
+        EntityManagerHolder entityManagerHolder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+        if (null == entityManagerHolder) {
+            entityManagerHolder = new ShardingEntityManagerHolder(createEntityManager());
+            TransactionSynchronizationManager.bindResource(entityManagerFactory, entityManagerHolder);
+        }
+        entityManagerHolder.requested();
+        return entityManagerHolder.getEntityManager().unwrap(SessionImplementor.class).connection();
     }
     
     private EntityManager createEntityManager() {
@@ -66,4 +106,11 @@ public final class JpaTransactionManagerHandler extends AbstractTransactionManag
         Map<String, Object> properties = transactionManager.getJpaPropertyMap();
         return !CollectionUtils.isEmpty(properties) ? entityManagerFactory.createEntityManager(properties) : entityManagerFactory.createEntityManager();
     }
+    
+    private static final class ShardingEntityManagerHolder extends EntityManagerHolder {
+        
+        ShardingEntityManagerHolder(final EntityManager entityManager) {
+            super(entityManager);
+        }
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.transaction.handler;
+
+import lombok.Setter;
+import org.apache.shardingsphere.core.exception.ShardingException;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.jta.JtaTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * JTA transaction manager handler.
+ * 
+ * <p>
+ * JTA transaction manager is not bound to a data source, so data source of Sharding-Proxy should be set to this handler,
+ * for example by registering this handler as a spring bean.
+ * Connection holder already bound to the data source is reused, otherwise a new connection is bound until the outermost advised call finished,
+ * and is picked up by {@code DataSourceUtils} inside the JTA transaction.
+ * </p>
+ *
+ * @author yangyi
+ */
+public final class JtaTransactionManagerHandler extends AbstractTransactionManagerHandler {
+    
+    @Setter
+    private volatile DataSource dataSource;
+    
+    @Override
+    public Class<? extends PlatformTransactionManager> getTransactionManagerType() {
+        return JtaTransactionManager.class;
+    }
+    
+    @Override
+    public void init(final PlatformTransactionManager transactionManager) {
+    }
+    
+    @Override
+    public void unbindResource() {
+        if (null == dataSource) {
+            return;
+        }
+        ConnectionHolder connectionHolder = (ConnectionHolder) TransactionSynchronizationManager.getResource(dataSource);
+        if (null == connectionHolder) {
+            return;
+        }
+        connectionHolder.released();
+        if (connectionHolder instanceof ShardingConnectionHolder && !connectionHolder.isOpen()) {
+            TransactionSynchronizationManager.unbindResource(dataSource);
+            DataSourceUtils.releaseConnection(connectionHolder.getConnection(), dataSource);
+        }
+    }
+    
+    @Override
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+    
+    @Override
+    protected Connection getConnectionFromTransactionManager() {
+        if (null == dataSource) {
+            throw new ShardingException("Data source of Sharding-Proxy is not set to JTA transaction manager handler");
+        }
+        ConnectionHolder connectionHolder = (ConnectionHolder) TransactionSynchronizationManager.getResource(dataSource);
+        if (null == connectionHolder) {
+            try {
+                connectionHolder = new ShardingConnectionHolder(dataSource.getConnection());
+            } catch (final SQLException ex) {
+                throw new ShardingException("Could not open JDBC Connection before transaction", ex);
+            }
+            TransactionSynchronizationManager.bindResource(dataSource, connectionHolder);
+        }
+        connectionHolder.requested();
+        return connectionHolder.getConnection();
+    }
+    
+    private static final class ShardingConnectionHolder extends ConnectionHolder {
+        
+        ShardingConnectionHolder(final Connection connection) {
+            super(connection);
+        }
+    }
+}
@@ -18,14 +18,36 @@
 package io.shardingsphere.transaction.handler;
 
 import org.apache.shardingsphere.transaction.core.TransactionType;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
 
 /**
  * Transaction manager handler interface.
+ * 
+ * <p>
+ * Implementations are loaded by {@code java.util.ServiceLoader} or registered as spring beans,
+ * and are chosen by the most specific {@link #getTransactionManagerType()} assignable from transaction manager.
+ * </p>
  *
  * @author yangyi
  */
 public interface TransactionManagerHandler {
     
+    /**
+     * Get type of transaction manager which can be handled.
+     *
+     * @return type of transaction manager
+     */
+    Class<? extends PlatformTransactionManager> getTransactionManagerType();
+    
+    /**
+     * Initialize transaction manager handler.
+     *
+     * @param transactionManager spring transaction manager
+     */
+    void init(PlatformTransactionManager transactionManager);
+    
     /**
      * Send switch transaction type SQL to Sharding-Proxy.
      *
@@ -37,4 +59,11 @@ public interface TransactionManagerHandler {
      * Unbind resource.
      */
     void unbindResource();
+    
+    /**
+     * Get data source which transaction manager obtains connections from.
+     *
+     * @return data source, or null if transaction manager is not bound to a data source
+     */
+    DataSource getDataSource();
 }
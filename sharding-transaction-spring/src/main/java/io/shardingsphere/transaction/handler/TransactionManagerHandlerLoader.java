@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.transaction.handler;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Transaction manager handler loader.
+ *
+ * @author yangyi
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TransactionManagerHandlerLoader {
+    
+    /**
+     * Load transaction manager handler for spring transaction manager.
+     * 
+     * <p>
+     * Custom handlers take precedence over handlers loaded by {@code ServiceLoader} when their types are equally specific.
+     * </p>
+     *
+     * @param transactionManager spring transaction manager
+     * @param customHandlers custom transaction manager handlers, for example spring beans
+     * @return initialized transaction manager handler, or null if no handler can handle the transaction manager
+     */
+    public static TransactionManagerHandler load(final PlatformTransactionManager transactionManager, final Collection<TransactionManagerHandler> customHandlers) {
+        Collection<TransactionManagerHandler> candidates = new LinkedList<>(customHandlers);
+        candidates.addAll(loadServices());
+        TransactionManagerHandler result = null;
+        Class<?> resultType = null;
+        for (TransactionManagerHandler each : candidates) {
+            Class<?> handledType = getTransactionManagerType(each);
+            if (null != handledType && handledType.isAssignableFrom(transactionManager.getClass()) && (null == resultType || resultType != handledType && resultType.isAssignableFrom(handledType))) {
+                result = each;
+                resultType = handledType;
+            }
+        }
+        if (null != result) {
+            result.init(transactionManager);
+        }
+        return result;
+    }
+    
+    private static Collection<TransactionManagerHandler> loadServices() {
+        Collection<TransactionManagerHandler> result = new LinkedList<>();
+        Iterator<TransactionManagerHandler> iterator = ServiceLoader.load(TransactionManagerHandler.class).iterator();
+        while (hasNext(iterator)) {
+            try {
+                result.add(iterator.next());
+            } catch (final ServiceConfigurationError | LinkageError ignored) {
+            }
+        }
+        return result;
+    }
+    
+    private static boolean hasNext(final Iterator<TransactionManagerHandler> iterator) {
+        try {
+            return iterator.hasNext();
+        } catch (final ServiceConfigurationError ignored) {
+            return false;
+        }
+    }
+    
+    private static Class<?> getTransactionManagerType(final TransactionManagerHandler handler) {
+        try {
+            return handler.getTransactionManagerType();
+        } catch (final LinkageError ignored) {
+            return null;
+        }
+    }
+}
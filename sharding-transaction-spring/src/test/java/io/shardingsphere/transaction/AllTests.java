@@ -17,6 +17,10 @@
 
 package io.shardingsphere.transaction;
 
+import io.shardingsphere.transaction.aspect.ShardingTransactionTypeResolverTest;
+import io.shardingsphere.transaction.aspect.ShardingTransactionalAspectTest;
+import io.shardingsphere.transaction.async.ShardingTransactionTypeAsyncPropagatorTest;
+import io.shardingsphere.transaction.async.ShardingTransactionTypeTaskDecoratorTest;
 import io.shardingsphere.transaction.handler.AllHandlerTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -25,6 +29,10 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
     AllHandlerTests.class,
+    ShardingTransactionTypeResolverTest.class,
+    ShardingTransactionalAspectTest.class,
+    ShardingTransactionTypeTaskDecoratorTest.class,
+    ShardingTransactionTypeAsyncPropagatorTest.class,
     ShardingTransactionalNameSpaceTest.class
 })
 public class AllTests {
@@ -18,6 +18,7 @@
 package io.shardingsphere.transaction;
 
 import io.shardingsphere.transaction.aspect.ShardingTransactionalAspect;
+import io.shardingsphere.transaction.fixture.ShardingTransactionalInterfaceService;
 import io.shardingsphere.transaction.fixture.ShardingTransactionalTestService;
 import io.shardingsphere.transaction.util.TransactionManagerMockUtil;
 import org.apache.shardingsphere.core.exception.ShardingException;
@@ -51,6 +52,9 @@ public class ShardingTransactionalNameSpaceTest extends AbstractJUnit4SpringCont
     @Autowired
     private ShardingTransactionalTestService testService;
     
+    @Autowired
+    private ShardingTransactionalInterfaceService interfaceService;
+    
     @Autowired
     private ShardingTransactionalAspect aspect;
     
@@ -95,6 +99,18 @@ public class ShardingTransactionalNameSpaceTest extends AbstractJUnit4SpringCont
         assertThat(TransactionTypeHolder.get(), is(TransactionType.LOCAL));
     }
     
+    @Test
+    public void assertChangeTransactionTypeAnnotatedOnInterface() {
+        assertThat(interfaceService.getTransactionTypeInBASE(), is(TransactionType.BASE));
+        assertThat(TransactionTypeHolder.get(), is(TransactionType.LOCAL));
+    }
+    
+    @Test
+    public void assertChangeTransactionTypeByMetaAnnotation() {
+        assertThat(interfaceService.getTransactionTypeInXA(), is(TransactionType.XA));
+        assertThat(TransactionTypeHolder.get(), is(TransactionType.LOCAL));
+    }
+    
     @Test(expected = ShardingException.class)
     public void assertChangeTransactionTypeForProxyWithIllegalTransactionManager() throws SQLException {
         TransactionManagerMockUtil.testChangeProxyTransactionTypeToLOCAL(testService, aspect, mock(PlatformTransactionManager.class));
@@ -111,7 +127,7 @@ public class ShardingTransactionalNameSpaceTest extends AbstractJUnit4SpringCont
         when(statement.execute(anyString())).thenReturn(true);
         TransactionManagerMockUtil.testChangeProxyTransactionTypeToLOCAL(testService, aspect, dataSourceTransactionManager);
         TransactionManagerMockUtil.testChangeProxyTransactionTypeToLOCAL(testService, aspect, jpaTransactionManager);
-        verify(statement, times(2)).execute("SCTL:SET TRANSACTION_TYPE=LOCAL");
+        verify(statement).execute("SCTL:SET TRANSACTION_TYPE=LOCAL");
     }
     
     @Test
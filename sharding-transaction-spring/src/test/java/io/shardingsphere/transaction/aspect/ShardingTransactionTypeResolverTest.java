@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.transaction.aspect;
+
+import io.shardingsphere.transaction.ShardingEnvironment;
+import io.shardingsphere.transaction.annotation.ShardingTransactionType;
+import io.shardingsphere.transaction.fixture.ShardingTransactionalTestService;
+import org.apache.shardingsphere.transaction.core.TransactionType;
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+public final class ShardingTransactionTypeResolverTest {
+    
+    private final ShardingTransactionTypeResolver resolver = new ShardingTransactionTypeResolver();
+    
+    @Test
+    public void assertResolveFromMethod() throws NoSuchMethodException {
+        Method method = ShardingTransactionalTestService.class.getMethod("testChangeTransactionTypeToBASE");
+        assertThat(resolver.resolve(method, ShardingTransactionalTestService.class), is(TransactionType.BASE));
+    }
+    
+    @Test
+    public void assertResolveFromClass() throws NoSuchMethodException {
+        Method method = ShardingTransactionalTestService.class.getMethod("testChangeTransactionTypeInClass");
+        assertThat(resolver.resolve(method, ShardingTransactionalTestService.class), is(TransactionType.XA));
+    }
+    
+    @Test
+    public void assertResolveFromInterface() throws NoSuchMethodException {
+        Method method = InterfaceAnnotatedService.class.getMethod("execute", Object.class);
+        assertThat(resolver.resolve(method, InterfaceAnnotatedServiceImpl.class), is(TransactionType.BASE));
+    }
+    
+    @Test
+    public void assertResolveFromBridgeMethod() throws NoSuchMethodException {
+        Method bridgeMethod = InterfaceAnnotatedServiceImpl.class.getMethod("execute", Object.class);
+        assertThat(bridgeMethod.isBridge(), is(true));
+        assertThat(resolver.resolve(bridgeMethod, InterfaceAnnotatedServiceImpl.class), is(TransactionType.BASE));
+    }
+    
+    @Test
+    public void assertResolveFromMetaAnnotation() throws NoSuchMethodException {
+        Method method = MetaAnnotatedService.class.getMethod("execute");
+        assertThat(resolver.resolve(method, MetaAnnotatedService.class), is(TransactionType.XA));
+    }
+    
+    @Test
+    public void assertResolveWithoutAnnotation() throws NoSuchMethodException {
+        Method method = Object.class.getMethod("toString");
+        assertThat(resolver.resolve(method, Object.class), is(TransactionType.LOCAL));
+    }
+    
+    @Test
+    public void assertResolveFromCache() throws NoSuchMethodException {
+        Method method = ShardingTransactionalTestService.class.getMethod("testChangeTransactionTypeToXA");
+        assertThat(resolver.resolve(method, ShardingTransactionalTestService.class), is(TransactionType.XA));
+        assertThat(resolver.resolve(method, ShardingTransactionalTestService.class), is(TransactionType.XA));
+    }
+    
+    @Test
+    public void assertResolveEnvironment() throws NoSuchMethodException {
+        Method method = ShardingTransactionalTestService.class.getMethod("testChangeTransactionTypeToXAInJDBC");
+        assertThat(resolver.resolve(method, ShardingTransactionalTestService.class), is(TransactionType.XA));
+        assertThat(resolver.resolveEnvironment(method, ShardingTransactionalTestService.class), is(ShardingEnvironment.JDBC));
+    }
+    
+    @Test
+    public void assertResolveEnvironmentWithoutSpecified() throws NoSuchMethodException {
+        Method method = ShardingTransactionalTestService.class.getMethod("testChangeTransactionTypeToXA");
+        assertNull(resolver.resolveEnvironment(method, ShardingTransactionalTestService.class));
+    }
+    
+    @Test
+    public void assertResolveAutoEnvironment() throws NoSuchMethodException {
+        Method method = AutoEnvironmentService.class.getMethod("execute");
+        assertThat(resolver.resolve(method, AutoEnvironmentService.class), is(TransactionType.BASE));
+        assertNull(resolver.resolveEnvironment(method, AutoEnvironmentService.class));
+    }
+    
+    @Target({ElementType.METHOD, ElementType.TYPE})
+    @Retention(RetentionPolicy.RUNTIME)
+    @ShardingTransactionType(TransactionType.XA)
+    public @interface XATransactional {
+    }
+    
+    public interface InterfaceAnnotatedService<T> {
+        
+        /**
+         * Execute.
+         *
+         * @param parameter parameter
+         */
+        @ShardingTransactionType(TransactionType.BASE)
+        void execute(T parameter);
+    }
+    
+    public static class InterfaceAnnotatedServiceImpl implements InterfaceAnnotatedService<String> {
+        
+        @Override
+        public void execute(final String parameter) {
+        }
+    }
+    
+    public static class MetaAnnotatedService {
+        
+        /**
+         * Execute.
+         */
+        @XATransactional
+        public void execute() {
+        }
+    }
+    
+    public static class AutoEnvironmentService {
+        
+        /**
+         * Execute.
+         */
+        @ShardingTransactionType(value = TransactionType.BASE, environment = ShardingEnvironment.AUTO)
+        public void execute() {
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.transaction.aspect;
+
+import io.shardingsphere.transaction.fixture.ShardingTransactionalInterfaceServiceImpl;
+import io.shardingsphere.transaction.fixture.ShardingTransactionalTestService;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.shardingsphere.core.exception.ShardingException;
+import org.apache.shardingsphere.transaction.core.TransactionType;
+import org.apache.shardingsphere.transaction.core.TransactionTypeHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class ShardingTransactionalAspectTest {
+    
+    @Mock
+    private DataSourceTransactionManager transactionManager;
+    
+    @Mock
+    private DataSource dataSource;
+    
+    @Mock
+    private Connection connection;
+    
+    @Mock
+    private DatabaseMetaData databaseMetaData;
+    
+    @Mock
+    private Statement statement;
+    
+    private final ShardingTransactionalAspect aspect = new ShardingTransactionalAspect();
+    
+    @Before
+    public void setUp() {
+        aspect.setTransactionManager(transactionManager);
+    }
+    
+    @After
+    public void tearDown() {
+        TransactionTypeHolder.clear();
+    }
+    
+    @Test
+    public void assertMatchAnnotatedMethods() throws NoSuchMethodException {
+        assertTrue(aspect.matches(ShardingTransactionalTestService.class.getMethod("testChangeTransactionTypeToXA"), ShardingTransactionalTestService.class));
+        assertTrue(aspect.matches(ShardingTransactionalTestService.class.getMethod("testChangeTransactionTypeInClass"), ShardingTransactionalTestService.class));
+        assertTrue(aspect.matches(ShardingTransactionalInterfaceServiceImpl.class.getMethod("getTransactionTypeInBASE"), ShardingTransactionalInterfaceServiceImpl.class));
+        assertTrue(aspect.matches(ShardingTransactionalInterfaceServiceImpl.class.getMethod("getTransactionTypeInXA"), ShardingTransactionalInterfaceServiceImpl.class));
+    }
+    
+    @Test
+    public void assertNotMatchMethodsWithoutAnnotation() throws NoSuchMethodException {
+        assertFalse(aspect.matches(Object.class.getMethod("toString"), Object.class));
+        assertFalse(aspect.matches(Object.class.getMethod("hashCode"), ShardingTransactionalTestService.class));
+    }
+    
+    @Test
+    public void assertDetectEnvironmentLazilyAndOnlyOnce() throws Throwable {
+        mockProxyConnection();
+        mockProxyMetaData();
+        verify(dataSource, never()).getConnection();
+        invokeAdvice(mockInvocation("testChangeTransactionTypeToXA"));
+        invokeAdvice(mockInvocation("testChangeTransactionTypeToXA"));
+        verify(connection, times(1)).getMetaData();
+        verify(statement, times(2)).execute("SCTL:SET TRANSACTION_TYPE=XA");
+    }
+    
+    @Test
+    public void assertUseConfiguredJDBCEnvironment() throws Throwable {
+        aspect.setEnvironment(new MockEnvironment().withProperty(ShardingTransactionalAspect.ENVIRONMENT_PROPERTY_KEY, "jdbc"));
+        invokeAdvice(mockInvocation("testChangeTransactionTypeToXA"));
+        verify(dataSource, never()).getConnection();
+        verify(statement, never()).execute(anyString());
+    }
+    
+    @Test
+    public void assertUseConfiguredProxyEnvironment() throws Throwable {
+        mockProxyConnection();
+        aspect.setEnvironment(new MockEnvironment().withProperty(ShardingTransactionalAspect.ENVIRONMENT_PROPERTY_KEY, "PROXY"));
+        invokeAdvice(mockInvocation("testChangeTransactionTypeToXA"));
+        verify(connection, never()).getMetaData();
+        verify(statement).execute("SCTL:SET TRANSACTION_TYPE=XA");
+    }
+    
+    @Test
+    public void assertDetectEnvironmentWithoutPropertyConfigured() throws Throwable {
+        mockProxyConnection();
+        mockProxyMetaData();
+        aspect.setEnvironment(new MockEnvironment());
+        invokeAdvice(mockInvocation("testChangeTransactionTypeToXA"));
+        verify(connection).getMetaData();
+        verify(statement).execute("SCTL:SET TRANSACTION_TYPE=XA");
+    }
+    
+    @Test
+    public void assertUseEnvironmentOfAnnotation() throws Throwable {
+        aspect.setEnvironment(new MockEnvironment().withProperty(ShardingTransactionalAspect.ENVIRONMENT_PROPERTY_KEY, "PROXY"));
+        MethodInvocation methodInvocation = mockInvocation("testChangeTransactionTypeToXAInJDBC");
+        when(methodInvocation.proceed()).thenAnswer(new Answer<Object>() {
+            
+            @Override
+            public Object answer(final InvocationOnMock invocation) {
+                assertThat(TransactionTypeHolder.get(), is(TransactionType.XA));
+                return null;
+            }
+        });
+        invokeAdvice(methodInvocation);
+        verify(dataSource, never()).getConnection();
+    }
+    
+    @Test
+    public void assertUseJDBCEnvironmentWithoutDataSource() throws Throwable {
+        MethodInvocation methodInvocation = mockInvocation("testChangeTransactionTypeToXA");
+        when(methodInvocation.proceed()).thenAnswer(new Answer<Object>() {
+            
+            @Override
+            public Object answer(final InvocationOnMock invocation) {
+                assertThat(TransactionTypeHolder.get(), is(TransactionType.XA));
+                return null;
+            }
+        });
+        invokeAdvice(methodInvocation);
+        verify(dataSource, never()).getConnection();
+    }
+    
+    @Test
+    public void assertRestoreOuterTransactionTypeForJDBC() throws Throwable {
+        aspect.setEnvironment(new MockEnvironment().withProperty(ShardingTransactionalAspect.ENVIRONMENT_PROPERTY_KEY, "JDBC"));
+        final MethodInvocation innerInvocation = mockInvocation("testChangeTransactionTypeToBASE");
+        when(innerInvocation.proceed()).thenAnswer(new Answer<Object>() {
+            
+            @Override
+            public Object answer(final InvocationOnMock invocation) {
+                assertThat(TransactionTypeHolder.get(), is(TransactionType.BASE));
+                return null;
+            }
+        });
+        MethodInvocation outerInvocation = mockInvocation("testChangeTransactionTypeToXA");
+        when(outerInvocation.proceed()).thenAnswer(new Answer<Object>() {
+            
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable {
+                assertThat(TransactionTypeHolder.get(), is(TransactionType.XA));
+                aspect.invoke(innerInvocation);
+                assertThat(TransactionTypeHolder.get(), is(TransactionType.XA));
+                return null;
+            }
+        });
+        aspect.invoke(outerInvocation);
+        assertThat(TransactionTypeHolder.get(), is(TransactionType.LOCAL));
+    }
+    
+    @Test
+    public void assertSkipNestedCallWithSameTransactionTypeForProxy() throws Throwable {
+        mockProxyConnection();
+        aspect.setEnvironment(new MockEnvironment().withProperty(ShardingTransactionalAspect.ENVIRONMENT_PROPERTY_KEY, "PROXY"));
+        final MethodInvocation innerInvocation = mockInvocation("testChangeTransactionTypeToXA");
+        MethodInvocation outerInvocation = mockInvocation("testChangeTransactionTypeToXA");
+        when(outerInvocation.proceed()).thenAnswer(new Answer<Object>() {
+            
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable {
+                return aspect.invoke(innerInvocation);
+            }
+        });
+        invokeAdvice(outerInvocation);
+        verify(innerInvocation).proceed();
+        verify(dataSource).getConnection();
+        verify(statement).execute("SCTL:SET TRANSACTION_TYPE=XA");
+    }
+    
+    @Test
+    public void assertRestoreOuterTransactionTypeForProxy() throws Throwable {
+        mockProxyConnection();
+        aspect.setEnvironment(new MockEnvironment().withProperty(ShardingTransactionalAspect.ENVIRONMENT_PROPERTY_KEY, "PROXY"));
+        final MethodInvocation innerInvocation = mockInvocation("testChangeTransactionTypeToBASE");
+        MethodInvocation outerInvocation = mockInvocation("testChangeTransactionTypeToXA");
+        when(outerInvocation.proceed()).thenAnswer(new Answer<Object>() {
+            
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable {
+                return aspect.invoke(innerInvocation);
+            }
+        });
+        invokeAdvice(outerInvocation);
+        verify(dataSource).getConnection();
+        verify(statement, times(2)).execute("SCTL:SET TRANSACTION_TYPE=XA");
+        verify(statement).execute("SCTL:SET TRANSACTION_TYPE=BASE");
+    }
+    
+    @Test(expected = ShardingException.class)
+    public void assertRejectAsyncMethodForProxy() throws Throwable {
+        aspect.setEnvironment(new MockEnvironment().withProperty(ShardingTransactionalAspect.ENVIRONMENT_PROPERTY_KEY, "PROXY"));
+        aspect.invoke(mockInvocation("testChangeTransactionTypeToBASEAsync"));
+    }
+    
+    @Test
+    public void assertPropagateTransactionTypeToCompletableFuture() throws Throwable {
+        aspect.setEnvironment(new MockEnvironment().withProperty(ShardingTransactionalAspect.ENVIRONMENT_PROPERTY_KEY, "JDBC"));
+        MethodInvocation methodInvocation = mockInvocation("testChangeTransactionTypeToBASEAsync");
+        CompletableFuture<TransactionType> future = new CompletableFuture<>();
+        when(methodInvocation.proceed()).thenReturn(future);
+        @SuppressWarnings("unchecked")
+        CompletableFuture<TransactionType> actual = (CompletableFuture<TransactionType>) aspect.invoke(methodInvocation);
+        assertThat(TransactionTypeHolder.get(), is(TransactionType.LOCAL));
+        CompletableFuture<TransactionType> dependent = actual.thenApply(new Function<TransactionType, TransactionType>() {
+            
+            @Override
+            public TransactionType apply(final TransactionType value) {
+                return TransactionTypeHolder.get();
+            }
+        });
+        future.complete(null);
+        assertThat(dependent.get(), is(TransactionType.BASE));
+        assertThat(TransactionTypeHolder.get(), is(TransactionType.LOCAL));
+    }
+    
+    private MethodInvocation mockInvocation(final String methodName) throws NoSuchMethodException {
+        MethodInvocation result = mock(MethodInvocation.class);
+        when(result.getMethod()).thenReturn(ShardingTransactionalTestService.class.getMethod(methodName));
+        return result;
+    }
+    
+    private void mockProxyConnection() throws SQLException {
+        when(transactionManager.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+    }
+    
+    private void mockProxyMetaData() throws SQLException {
+        when(connection.getMetaData()).thenReturn(databaseMetaData);
+        when(databaseMetaData.getDatabaseProductVersion()).thenReturn("5.6.0-Sharding-Proxy x.x.x");
+    }
+    
+    private void invokeAdvice(final MethodInvocation invocation) throws Throwable {
+        aspect.invoke(invocation);
+        assertFalse(TransactionSynchronizationManager.hasResource(dataSource));
+    }
+}
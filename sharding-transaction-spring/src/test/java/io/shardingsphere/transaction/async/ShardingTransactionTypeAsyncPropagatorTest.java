@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.shardingsphere.transaction.async;
+
+import org.apache.shardingsphere.transaction.core.TransactionType;
+import org.apache.shardingsphere.transaction.core.TransactionTypeHolder;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+import org.springframework.util.concurrent.SettableListenableFuture;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class ShardingTransactionTypeAsyncPropagatorTest {
+    
+    @After
+    public void tearDown() {
+        TransactionTypeHolder.clear();
+    }
+    
+    @Test
+    public void assertIsAsyncReturnType() {
+        assertTrue(ShardingTransactionTypeAsyncPropagator.isAsyncReturnType(Future.class));
+        assertTrue(ShardingTransactionTypeAsyncPropagator.isAsyncReturnType(CompletionStage.class));
+        assertTrue(ShardingTransactionTypeAsyncPropagator.isAsyncReturnType(CompletableFuture.class));
+        assertTrue(ShardingTransactionTypeAsyncPropagator.isAsyncReturnType(ListenableFuture.class));
+        assertTrue(ShardingTransactionTypeAsyncPropagator.isAsyncReturnType(Mono.class));
+        assertTrue(ShardingTransactionTypeAsyncPropagator.isAsyncReturnType(Flux.class));
+        assertFalse(ShardingTransactionTypeAsyncPropagator.isAsyncReturnType(Object.class));
+        assertFalse(ShardingTransactionTypeAsyncPropagator.isAsyncReturnType(void.class));
+    }
+    
+    @Test
+    public void assertCanNotPropagateToPlainFuture() {
+        FutureTask<TransactionType> future = new FutureTask<>(new CurrentTransactionTypeCallable());
+        assertFalse(ShardingTransactionTypeAsyncPropagator.canPropagate(future, Future.class));
+        assertThat(ShardingTransactionTypeAsyncPropagator.propagate(future, Future.class, TransactionType.XA), sameInstance((Object) future));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertPropagateToCompletableFuture() throws ExecutionException, InterruptedException {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        assertTrue(ShardingTransactionTypeAsyncPropagator.canPropagate(future, CompletableFuture.class));
+        CompletableFuture<Object> actual = (CompletableFuture<Object>) ShardingTransactionTypeAsyncPropagator.propagate(future, CompletableFuture.class, TransactionType.XA);
+        CompletableFuture<TransactionType> dependent = actual.thenApply(new CurrentTransactionTypeFunction());
+        assertThat(TransactionTypeHolder.get(), is(TransactionType.LOCAL));
+        future.complete("value");
+        assertThat(dependent.get(), is(TransactionType.XA));
+        assertThat(actual.get(), is((Object) "value"));
+        assertThat(TransactionTypeHolder.get(), is(TransactionType.LOCAL));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertCancelOriginalCompletableFuture() {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> actual = (CompletableFuture<Object>) ShardingTransactionTypeAsyncPropagator.propagate(future, CompletableFuture.class, TransactionType.XA);
+        actual.cancel(true);
+        assertTrue(future.isCancelled());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertPropagateToListenableFuture() {
+        SettableListenableFuture<Object> future = new SettableListenableFuture<>();
+        assertTrue(ShardingTransactionTypeAsyncPropagator.canPropagate(future, ListenableFuture.class));
+        ListenableFuture<Object> actual = (ListenableFuture<Object>) ShardingTransactionTypeAsyncPropagator.propagate(future, ListenableFuture.class, TransactionType.BASE);
+        final AtomicReference<TransactionType> transactionType = new AtomicReference<>();
+        actual.addCallback(new ListenableFutureCallback<Object>() {
+            
+            @Override
+            public void onSuccess(final Object value) {
+                transactionType.set(TransactionTypeHolder.get());
+            }
+            
+            @Override
+            public void onFailure(final Throwable cause) {
+            }
+        });
+        future.set("value");
+        assertThat(transactionType.get(), is(TransactionType.BASE));
+        assertThat(TransactionTypeHolder.get(), is(TransactionType.LOCAL));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertPropagateToMono() {
+        Mono<TransactionType> mono = Mono.fromCallable(new CurrentTransactionTypeCallable());
+        assertTrue(ShardingTransactionTypeAsyncPropagator.canPropagate(mono, Mono.class));
+        Mono<TransactionType> actual = (Mono<TransactionType>) ShardingTransactionTypeAsyncPropagator.propagate(mono, Mono.class, TransactionType.XA);
+        assertThat(TransactionTypeHolder.get(), is(TransactionType.LOCAL));
+        assertThat(actual.block(), is(TransactionType.XA));
+        assertThat(TransactionTypeHolder.get(), is(TransactionType.LOCAL));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertPutTransactionTypeIntoReactorContext() {
+        Mono<Object> mono = Mono.subscriberContext().map(new Function<Context, Object>() {
+            
+            @Override
+            public Object apply(final Context context) {
+                return context.get(ShardingTransactionTypeAsyncPropagator.REACTOR_CONTEXT_KEY);
+            }
+        });
+        Mono<Object> actual = (Mono<Object>) ShardingTransactionTypeAsyncPropagator.propagate(mono, Mono.class, TransactionType.BASE);
+        assertThat(actual.block(), is((Object) TransactionType.BASE));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertPropagateToFlux() {
+        Flux<TransactionType> flux = Flux.just(1, 2).map(new Function<Integer, TransactionType>() {
+            
+            @Override
+            public TransactionType apply(final Integer value) {
+                return TransactionTypeHolder.get();
+            }
+        });
+        assertTrue(ShardingTransactionTypeAsyncPropagator.canPropagate(flux, Flux.class));
+        Flux<TransactionType> actual = (Flux<TransactionType>) ShardingTransactionTypeAsyncPropagator.propagate(flux, Flux.class, TransactionType.XA);
+        List<TransactionType> expected = Arrays.asList(TransactionType.XA, TransactionType.XA);
+        assertThat(actual.collectList().block(), is(expected));
+        assertThat(TransactionTypeHolder.get(), is(TransactionType.LOCAL));
+        assertThat(flux.collectList().block(), is(Collections.nCopies(2, TransactionType.LOCAL)));
+    }
+    
+    private static final class CurrentTransactionTypeCallable implements Callable<TransactionType> {
+        
+        @Override
+        public TransactionType call() {
+            return TransactionTypeHolder.get();
+        }
+    }
+    
+    private static final class CurrentTransactionTypeFunction implements Function<Object, TransactionType> {
+        
+        @Override
+        public TransactionType apply(final Object value) {
+            return TransactionTypeHolder.get();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.transaction.async;
+
+import io.shardingsphere.transaction.ShardingTransactionTypeContext;
+import org.apache.shardingsphere.transaction.core.TransactionType;
+import org.apache.shardingsphere.transaction.core.TransactionTypeHolder;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class ShardingTransactionTypeTaskDecoratorTest {
+    
+    private final ShardingTransactionTypeTaskDecorator taskDecorator = new ShardingTransactionTypeTaskDecorator();
+    
+    @After
+    public void tearDown() {
+        TransactionTypeHolder.clear();
+    }
+    
+    @Test
+    public void assertDecorateWithoutTransactionType() {
+        Runnable runnable = new FutureTask<>(new CurrentTransactionTypeCallable());
+        assertThat(taskDecorator.decorate(runnable), sameInstance(runnable));
+    }
+    
+    @Test
+    public void assertPropagateTransactionTypeToAnotherThread() throws ExecutionException, InterruptedException {
+        ShardingTransactionTypeContext.get().pushAdvisedTransactionType(TransactionType.XA);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            FutureTask<TransactionType> task = new FutureTask<>(new CurrentTransactionTypeCallable());
+            new ShardingTransactionTypeExecutor(executorService).execute(task);
+            assertThat(task.get(), is(TransactionType.XA));
+            FutureTask<TransactionType> nextTask = new FutureTask<>(new CurrentTransactionTypeCallable());
+            executorService.execute(nextTask);
+            assertThat(nextTask.get(), is(TransactionType.LOCAL));
+            FutureTask<TransactionType> propagatedTask = new FutureTask<>(new PropagatedTransactionTypeCallable());
+            executorService.execute(propagatedTask);
+            assertThat(propagatedTask.get(), nullValue());
+        } finally {
+            executorService.shutdown();
+            ShardingTransactionTypeContext.get().popAdvisedTransactionType();
+        }
+    }
+    
+    @Test
+    public void assertClearContextOfAnotherThreadWhenTaskFinished() throws ExecutionException, InterruptedException {
+        ShardingTransactionTypeContext.get().pushAdvisedTransactionType(TransactionType.XA);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            FutureTask<ShardingTransactionTypeContext> task = new FutureTask<>(new TransactionTypeContextCallable());
+            new ShardingTransactionTypeExecutor(executorService).execute(task);
+            FutureTask<ShardingTransactionTypeContext> nextTask = new FutureTask<>(new TransactionTypeContextCallable());
+            executorService.execute(nextTask);
+            assertThat(nextTask.get(), not(sameInstance(task.get())));
+            assertTrue(nextTask.get().isEmpty());
+        } finally {
+            executorService.shutdown();
+            ShardingTransactionTypeContext.get().popAdvisedTransactionType();
+        }
+    }
+    
+    @Test
+    public void assertRunInSameThread() {
+        ShardingTransactionTypeContext.get().pushAdvisedTransactionType(TransactionType.BASE);
+        TransactionTypeHolder.set(TransactionType.BASE);
+        try {
+            taskDecorator.decorate(new FutureTask<>(new CurrentTransactionTypeCallable())).run();
+            assertThat(TransactionTypeHolder.get(), is(TransactionType.BASE));
+            assertThat(ShardingTransactionTypeContext.get().getPropagatedTransactionType(), nullValue());
+        } finally {
+            ShardingTransactionTypeContext.get().popAdvisedTransactionType();
+        }
+    }
+    
+    private static final class CurrentTransactionTypeCallable implements Callable<TransactionType> {
+        
+        @Override
+        public TransactionType call() {
+            return TransactionTypeHolder.get();
+        }
+    }
+    
+    private static final class PropagatedTransactionTypeCallable implements Callable<TransactionType> {
+        
+        @Override
+        public TransactionType call() {
+            return ShardingTransactionTypeContext.get().getPropagatedTransactionType();
+        }
+    }
+    
+    private static final class TransactionTypeContextCallable implements Callable<ShardingTransactionTypeContext> {
+        
+        @Override
+        public ShardingTransactionTypeContext call() {
+            return ShardingTransactionTypeContext.get();
+        }
+    }
+}
@@ -17,11 +17,14 @@
 
 package io.shardingsphere.transaction.fixture;
 
+import io.shardingsphere.transaction.ShardingEnvironment;
 import io.shardingsphere.transaction.annotation.ShardingTransactionType;
 import org.apache.shardingsphere.transaction.core.TransactionType;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @Component
 @ShardingTransactionType(TransactionType.XA)
@@ -39,6 +42,15 @@ public class ShardingTransactionalTestService {
     public void testChangeTransactionTypeToBASE() {
     }
     
+    @ShardingTransactionType(value = TransactionType.XA, environment = ShardingEnvironment.JDBC)
+    public void testChangeTransactionTypeToXAInJDBC() {
+    }
+    
     public void testChangeTransactionTypeInClass() {
     }
+    
+    @ShardingTransactionType(TransactionType.BASE)
+    public CompletableFuture<TransactionType> testChangeTransactionTypeToBASEAsync() {
+        return new CompletableFuture<>();
+    }
 }
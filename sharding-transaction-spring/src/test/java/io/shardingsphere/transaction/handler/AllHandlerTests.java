@@ -24,7 +24,10 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
     DataSourceTransactionManagerHandlerTest.class,
-    JpaTransactionManagerHandlerTest.class
+    JpaTransactionManagerHandlerTest.class,
+    HibernateTransactionManagerHandlerTest.class,
+    JtaTransactionManagerHandlerTest.class,
+    TransactionManagerHandlerLoaderTest.class
 })
 public class AllHandlerTests {
 }
@@ -17,6 +17,7 @@
 
 package io.shardingsphere.transaction.handler;
 
+import io.shardingsphere.transaction.fixture.DelegatingConnectionFixture;
 import org.apache.shardingsphere.core.exception.ShardingException;
 import org.apache.shardingsphere.transaction.core.TransactionType;
 import org.junit.Before;
@@ -33,9 +34,15 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -53,7 +60,8 @@ public final class DataSourceTransactionManagerHandlerTest {
     @Before
     public void setUp() {
         when(transactionManager.getDataSource()).thenReturn(dataSource);
-        dataSourceTransactionManagerHandler = new DataSourceTransactionManagerHandler(transactionManager);
+        dataSourceTransactionManagerHandler = new DataSourceTransactionManagerHandler();
+        dataSourceTransactionManagerHandler.init(transactionManager);
     }
     
     @Test
@@ -67,6 +75,52 @@ public final class DataSourceTransactionManagerHandlerTest {
         TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
     }
     
+    @Test
+    public void assertSwitchToLocalOnlyWhenChanged() throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        switchTransactionTypeAndUnbind(TransactionType.LOCAL);
+        switchTransactionTypeAndUnbind(TransactionType.LOCAL);
+        switchTransactionTypeAndUnbind(TransactionType.XA);
+        switchTransactionTypeAndUnbind(TransactionType.XA);
+        switchTransactionTypeAndUnbind(TransactionType.LOCAL);
+        verify(statement, times(2)).execute("SCTL:SET TRANSACTION_TYPE=LOCAL");
+        verify(statement, times(2)).execute("SCTL:SET TRANSACTION_TYPE=XA");
+    }
+    
+    @Test
+    public void assertTrackInnermostDelegateOfPooledConnection() throws SQLException {
+        Connection physicalConnection = mock(Connection.class);
+        DelegatingConnectionFixture firstConnection = mock(DelegatingConnectionFixture.class);
+        DelegatingConnectionFixture secondConnection = mock(DelegatingConnectionFixture.class);
+        Statement statement = mock(Statement.class);
+        when(firstConnection.getInnermostDelegateInternal()).thenReturn(physicalConnection);
+        when(secondConnection.getInnermostDelegateInternal()).thenReturn(physicalConnection);
+        when(firstConnection.createStatement()).thenReturn(statement);
+        when(dataSource.getConnection()).thenReturn(firstConnection, secondConnection);
+        switchTransactionTypeAndUnbind(TransactionType.LOCAL);
+        switchTransactionTypeAndUnbind(TransactionType.LOCAL);
+        verify(statement).execute("SCTL:SET TRANSACTION_TYPE=LOCAL");
+        verify(secondConnection, never()).createStatement();
+    }
+    
+    @Test
+    public void assertSwitchTransactionTypeAgainAfterFailure() throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.execute(anyString())).thenThrow(new SQLException("Mock send switch transaction type SQL failed")).thenReturn(false);
+        try {
+            switchTransactionTypeAndUnbind(TransactionType.XA);
+        } catch (final ShardingException ignored) {
+        }
+        switchTransactionTypeAndUnbind(TransactionType.XA);
+        verify(statement, times(2)).execute("SCTL:SET TRANSACTION_TYPE=XA");
+    }
+    
     @Test(expected = ShardingException.class)
     public void assertSwitchTransactionTypeFailExecute() throws SQLException {
         Connection connection = mock(Connection.class);
@@ -92,12 +146,55 @@ public final class DataSourceTransactionManagerHandlerTest {
     }
     
     @Test
-    public void assertUnbindResource() {
-        ConnectionHolder holder = mock(ConnectionHolder.class);
+    public void assertUnbindResource() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        dataSourceTransactionManagerHandler.switchTransactionType(TransactionType.XA);
+        dataSourceTransactionManagerHandler.unbindResource();
+        assertNull(TransactionSynchronizationManager.getResource(dataSource));
+        verify(connection).close();
+    }
+    
+    @Test
+    public void assertReuseBoundConnectionHolder() throws SQLException {
         Connection connection = mock(Connection.class);
-        when(holder.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        ConnectionHolder holder = new ConnectionHolder(connection);
         TransactionSynchronizationManager.bindResource(dataSource, holder);
+        try {
+            dataSourceTransactionManagerHandler.switchTransactionType(TransactionType.XA);
+            assertTrue(holder.isOpen());
+            dataSourceTransactionManagerHandler.unbindResource();
+            assertFalse(holder.isOpen());
+            assertThat(TransactionSynchronizationManager.getResource(dataSource), is((Object) holder));
+            verify(dataSource, never()).getConnection();
+            verify(connection, never()).close();
+        } finally {
+            TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+        }
+    }
+    
+    @Test
+    public void assertUnbindResourceWithNestedCalls() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        dataSourceTransactionManagerHandler.switchTransactionType(TransactionType.XA);
+        dataSourceTransactionManagerHandler.switchTransactionType(TransactionType.LOCAL);
+        dataSourceTransactionManagerHandler.unbindResource();
+        verify(connection, never()).close();
         dataSourceTransactionManagerHandler.unbindResource();
         assertNull(TransactionSynchronizationManager.getResource(dataSource));
+        verify(dataSource).getConnection();
+        verify(connection).close();
+    }
+    
+    private void switchTransactionTypeAndUnbind(final TransactionType transactionType) {
+        try {
+            dataSourceTransactionManagerHandler.switchTransactionType(transactionType);
+        } finally {
+            TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+        }
     }
 }
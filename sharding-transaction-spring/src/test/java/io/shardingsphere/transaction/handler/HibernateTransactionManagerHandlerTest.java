@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.transaction.handler;
+
+import org.apache.shardingsphere.transaction.core.TransactionType;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.orm.hibernate5.HibernateTransactionManager;
+import org.springframework.orm.hibernate5.SessionHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class HibernateTransactionManagerHandlerTest {
+    
+    @Mock
+    private HibernateTransactionManager transactionManager;
+    
+    @Mock
+    private SessionFactory sessionFactory;
+    
+    @Mock
+    private Session session;
+    
+    @Mock
+    private SessionImplementor sessionImplementor;
+    
+    @Mock
+    private Connection connection;
+    
+    @Mock
+    private Statement statement;
+    
+    private final HibernateTransactionManagerHandler hibernateTransactionManagerHandler = new HibernateTransactionManagerHandler();
+    
+    @Before
+    public void setUp() throws SQLException {
+        when(transactionManager.getSessionFactory()).thenReturn(sessionFactory);
+        when(session.unwrap(SessionImplementor.class)).thenReturn(sessionImplementor);
+        when(sessionImplementor.connection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        hibernateTransactionManagerHandler.init(transactionManager);
+    }
+    
+    @Test
+    public void assertSwitchTransactionTypeWithNewSession() throws SQLException {
+        when(sessionFactory.openSession()).thenReturn(session);
+        hibernateTransactionManagerHandler.switchTransactionType(TransactionType.XA);
+        verify(statement).execute("SCTL:SET TRANSACTION_TYPE=XA");
+        hibernateTransactionManagerHandler.unbindResource();
+        assertNull(TransactionSynchronizationManager.getResource(sessionFactory));
+        verify(session).close();
+    }
+    
+    @Test
+    public void assertSwitchTransactionTypeWithBoundSession() throws SQLException {
+        SessionHolder sessionHolder = new SessionHolder(session);
+        TransactionSynchronizationManager.bindResource(sessionFactory, sessionHolder);
+        try {
+            hibernateTransactionManagerHandler.switchTransactionType(TransactionType.BASE);
+            verify(statement).execute(anyString());
+            hibernateTransactionManagerHandler.unbindResource();
+            assertThat(TransactionSynchronizationManager.getResource(sessionFactory), is((Object) sessionHolder));
+            verify(sessionFactory, never()).openSession();
+            verify(session, never()).close();
+        } finally {
+            TransactionSynchronizationManager.unbindResourceIfPossible(sessionFactory);
+        }
+    }
+    
+    @Test
+    public void assertUnbindResourceWithNestedCalls() {
+        when(sessionFactory.openSession()).thenReturn(session);
+        hibernateTransactionManagerHandler.switchTransactionType(TransactionType.LOCAL);
+        hibernateTransactionManagerHandler.switchTransactionType(TransactionType.LOCAL);
+        hibernateTransactionManagerHandler.unbindResource();
+        verify(session, never()).close();
+        hibernateTransactionManagerHandler.unbindResource();
+        assertNull(TransactionSynchronizationManager.getResource(sessionFactory));
+        verify(session).close();
+    }
+}
@@ -35,9 +35,13 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -65,7 +69,8 @@ public final class JpaTransactionManagerHandlerTest {
         when(entityManager.unwrap(SessionImplementor.class)).thenReturn(sessionImplementor);
         when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
         when(transactionManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
-        jpaTransactionManagerHandler = new JpaTransactionManagerHandler(transactionManager);
+        jpaTransactionManagerHandler = new JpaTransactionManagerHandler();
+        jpaTransactionManagerHandler.init(transactionManager);
     }
     
     @Test
@@ -87,11 +92,40 @@ public final class JpaTransactionManagerHandlerTest {
     
     @Test
     public void assertUnbindResource() {
-        EntityManagerHolder holder = mock(EntityManagerHolder.class);
+        jpaTransactionManagerHandler.switchTransactionType(TransactionType.XA);
         EntityManager entityManager = entityManagerFactory.createEntityManager();
-        when(holder.getEntityManager()).thenReturn(entityManager);
+        when(entityManager.isOpen()).thenReturn(true);
+        jpaTransactionManagerHandler.unbindResource();
+        assertNull(TransactionSynchronizationManager.getResource(entityManagerFactory));
+        verify(entityManager).close();
+    }
+    
+    @Test
+    public void assertReuseBoundEntityManagerHolder() throws SQLException {
+        EntityManagerHolder holder = new EntityManagerHolder(entityManagerFactory.createEntityManager());
         TransactionSynchronizationManager.bindResource(entityManagerFactory, holder);
+        try {
+            jpaTransactionManagerHandler.switchTransactionType(TransactionType.XA);
+            verify(statement).execute(anyString());
+            jpaTransactionManagerHandler.unbindResource();
+            assertThat(TransactionSynchronizationManager.getResource(entityManagerFactory), is((Object) holder));
+            verify(entityManagerFactory, times(1)).createEntityManager();
+            verify(holder.getEntityManager(), never()).close();
+        } finally {
+            TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        }
+    }
+    
+    @Test
+    public void assertUnbindResourceWithNestedCalls() {
+        jpaTransactionManagerHandler.switchTransactionType(TransactionType.XA);
+        jpaTransactionManagerHandler.switchTransactionType(TransactionType.XA);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        when(entityManager.isOpen()).thenReturn(true);
+        jpaTransactionManagerHandler.unbindResource();
+        verify(entityManager, never()).close();
         jpaTransactionManagerHandler.unbindResource();
         assertNull(TransactionSynchronizationManager.getResource(entityManagerFactory));
+        verify(entityManager).close();
     }
 }
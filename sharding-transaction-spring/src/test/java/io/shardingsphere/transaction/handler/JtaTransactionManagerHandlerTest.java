@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.transaction.handler;
+
+import org.apache.shardingsphere.core.exception.ShardingException;
+import org.apache.shardingsphere.transaction.core.TransactionType;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class JtaTransactionManagerHandlerTest {
+    
+    @Mock
+    private DataSource dataSource;
+    
+    @Mock
+    private Connection connection;
+    
+    @Mock
+    private Statement statement;
+    
+    private final JtaTransactionManagerHandler jtaTransactionManagerHandler = new JtaTransactionManagerHandler();
+    
+    @Test
+    public void assertSwitchTransactionTypeWithoutBoundConnection() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        jtaTransactionManagerHandler.setDataSource(dataSource);
+        try {
+            jtaTransactionManagerHandler.switchTransactionType(TransactionType.XA);
+            verify(statement).execute("SCTL:SET TRANSACTION_TYPE=XA");
+            assertThat(((ConnectionHolder) TransactionSynchronizationManager.getResource(dataSource)).getConnection(), is(connection));
+            jtaTransactionManagerHandler.unbindResource();
+            assertNull(TransactionSynchronizationManager.getResource(dataSource));
+            verify(connection).close();
+        } finally {
+            TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+        }
+    }
+    
+    @Test
+    public void assertSwitchTransactionTypeWithBoundConnection() throws SQLException {
+        when(connection.createStatement()).thenReturn(statement);
+        ConnectionHolder connectionHolder = new ConnectionHolder(connection);
+        TransactionSynchronizationManager.bindResource(dataSource, connectionHolder);
+        jtaTransactionManagerHandler.setDataSource(dataSource);
+        try {
+            jtaTransactionManagerHandler.switchTransactionType(TransactionType.XA);
+            verify(statement).execute("SCTL:SET TRANSACTION_TYPE=XA");
+            assertTrue(connectionHolder.isOpen());
+            jtaTransactionManagerHandler.unbindResource();
+            assertFalse(connectionHolder.isOpen());
+            assertTrue(TransactionSynchronizationManager.hasResource(dataSource));
+            verify(dataSource, never()).getConnection();
+            verify(connection, never()).close();
+        } finally {
+            TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+        }
+    }
+    
+    @Test
+    public void assertIgnoreConnectionBoundToOtherDataSource() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource otherDataSource = mock(DataSource.class);
+        Connection otherConnection = mock(Connection.class);
+        TransactionSynchronizationManager.bindResource(otherDataSource, new ConnectionHolder(otherConnection));
+        jtaTransactionManagerHandler.setDataSource(dataSource);
+        try {
+            jtaTransactionManagerHandler.switchTransactionType(TransactionType.BASE);
+            verify(statement).execute("SCTL:SET TRANSACTION_TYPE=BASE");
+            verify(otherConnection, never()).createStatement();
+            jtaTransactionManagerHandler.unbindResource();
+        } finally {
+            TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+            TransactionSynchronizationManager.unbindResourceIfPossible(otherDataSource);
+        }
+    }
+    
+    @Test(expected = ShardingException.class)
+    public void assertSwitchTransactionTypeWithoutDataSource() {
+        jtaTransactionManagerHandler.switchTransactionType(TransactionType.XA);
+    }
+    
+    @Test
+    public void assertGetDataSource() {
+        assertNull(jtaTransactionManagerHandler.getDataSource());
+        jtaTransactionManagerHandler.setDataSource(dataSource);
+        assertThat(jtaTransactionManagerHandler.getDataSource(), is(dataSource));
+    }
+}
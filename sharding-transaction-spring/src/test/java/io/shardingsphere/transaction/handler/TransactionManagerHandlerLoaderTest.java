@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.shardingsphere.transaction.handler;
+
+import org.junit.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.hibernate5.HibernateTransactionManager;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.jta.JtaTransactionManager;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public final class TransactionManagerHandlerLoaderTest {
+    
+    @Test
+    public void assertLoadBuiltInHandlers() {
+        assertThat(load(mock(DataSourceTransactionManager.class)), instanceOf(DataSourceTransactionManagerHandler.class));
+        assertThat(load(mock(JpaTransactionManager.class)), instanceOf(JpaTransactionManagerHandler.class));
+        assertThat(load(mock(HibernateTransactionManager.class)), instanceOf(HibernateTransactionManagerHandler.class));
+        assertThat(load(mock(JtaTransactionManager.class)), instanceOf(JtaTransactionManagerHandler.class));
+    }
+    
+    @Test
+    public void assertLoadForSubclassOfTransactionManager() {
+        assertThat(load(new DataSourceTransactionManager() {
+        }), instanceOf(DataSourceTransactionManagerHandler.class));
+    }
+    
+    @Test
+    public void assertLoadUnsupportedTransactionManager() {
+        assertNull(load(mock(PlatformTransactionManager.class)));
+    }
+    
+    @Test
+    public void assertLoadCustomHandlerWithSameType() {
+        PlatformTransactionManager transactionManager = mock(DataSourceTransactionManager.class);
+        TransactionManagerHandler customHandler = mock(TransactionManagerHandler.class);
+        doReturn(DataSourceTransactionManager.class).when(customHandler).getTransactionManagerType();
+        assertThat(TransactionManagerHandlerLoader.load(transactionManager, Collections.singletonList(customHandler)), is(customHandler));
+        verify(customHandler).init(transactionManager);
+    }
+    
+    @Test
+    public void assertLoadMostSpecificHandler() {
+        PlatformTransactionManager transactionManager = mock(DataSourceTransactionManager.class);
+        TransactionManagerHandler customHandler = mock(TransactionManagerHandler.class);
+        doReturn(PlatformTransactionManager.class).when(customHandler).getTransactionManagerType();
+        assertThat(TransactionManagerHandlerLoader.load(transactionManager, Collections.singletonList(customHandler)), instanceOf(DataSourceTransactionManagerHandler.class));
+    }
+    
+    private TransactionManagerHandler load(final PlatformTransactionManager transactionManager) {
+        return TransactionManagerHandlerLoader.load(transactionManager, Collections.<TransactionManagerHandler>emptyList());
+    }
+}